@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.webauthn.impl.CBOR;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.vertx.ext.auth.impl.Codec.base64UrlDecode;
+
+/**
+ * Measures the decoding of a WebAuthn attestation object (a CBOR map holding the attestation format, statement and
+ * the authenticator data), which happens on every registration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CBORBenchmark {
+
+  private static final String ATTESTATION_OBJECT =
+    "o2NmbXRkbm9uZWdhdHRTdG10oGhhdXRoRGF0YVjEfxV8VVBPmz66RLzscHpg5yjRhO28Y_fPwYO5AVwzBEJBAAAAAwAAAAAAAAAAAAAAAAAAAAAAQEPj" +
+      "Bz9F6ttAijOS1t6gbfYLub3TmCzWXN4wnIMsi53EWr-SL3e09XWr93lqyOwk_B5s1P8gGCa5o2uIp_DhS9ylAQIDJiABIVggN_D3u-03a0GzONOHfaML" +
+      "881QZtOCc5oTNRB2wlyqUEUiWCD3878XoO_bIJf0mEPDILODFhVmkc4QeR6hOIDvwvXzYQ";
+
+  private byte[] attestationObject;
+
+  @Setup
+  public void setup() {
+    attestationObject = base64UrlDecode(ATTESTATION_OBJECT);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Map<String, Object> decode() throws IOException {
+    try (CBOR decoder = new CBOR(attestationObject)) {
+      return decoder.read();
+    }
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Map<String, Object> decodeContended() throws IOException {
+    try (CBOR decoder = new CBOR(attestationObject)) {
+      return decoder.read();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.impl.Codec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoders and decoders used for keys, hashes and tokens. The default size matches a SHA-256 digest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+  @Param({"32", "1024"})
+  public int size;
+
+  private byte[] data;
+  private String base16;
+  private String base32;
+  private String base64;
+  private String base64Url;
+
+  @Setup
+  public void setup() {
+    data = new byte[size];
+    new Random(42).nextBytes(data);
+    base16 = Codec.base16Encode(data);
+    base32 = Codec.base32Encode(data);
+    base64 = Codec.base64Encode(data);
+    base64Url = Codec.base64UrlEncode(data);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String base16Encode() {
+    return Codec.base16Encode(data);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] base16Decode() {
+    return Codec.base16Decode(base16);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] base16DecodeContended() {
+    return Codec.base16Decode(base16);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String base32Encode() {
+    return Codec.base32Encode(data);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] base32Decode() {
+    return Codec.base32Decode(base32);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] base32DecodeContended() {
+    return Codec.base32Decode(base32);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String base64Encode() {
+    return Codec.base64Encode(data);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] base64Decode() {
+    return Codec.base64Decode(base64);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String base64UrlEncode() {
+    return Codec.base64UrlEncode(data);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] base64UrlDecode() {
+    return Codec.base64UrlDecode(base64Url);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] base64UrlDecodeContended() {
+    return Codec.base64UrlDecode(base64Url);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.HashingStrategy;
+import io.vertx.ext.auth.impl.Codec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HashingStrategy#verify(String, String)} throughput for the password hashing algorithms available
+ * to the providers, including the htpasswd ones. All threads share the same strategy, like all logins of a provider
+ * do, so the contended variant shows whether the algorithms scale with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashingBenchmark {
+
+  private static final String PASSWORD = "password";
+
+  @Param({"pbkdf2", "sha1", "sha256", "sha512", "apr1", "crypt"})
+  public String id;
+
+  private HashingStrategy strategy;
+  private String hash;
+
+  @Setup
+  public void setup() {
+    strategy = HashingStrategy.load();
+
+    switch (id) {
+      // the htpasswd algorithms only verify hashes created by the apache tools
+      case "apr1":
+        hash = "$apr1$vm2xls13$Rk6E1Pqoep3Ze9fvQMDBU/";
+        break;
+      case "crypt":
+        hash = "b5R8K8YXZaSq2";
+        break;
+      default:
+        hash = strategy.hash(id, null, Codec.base64Encode("keyboard.cat".getBytes(StandardCharsets.UTF_8)), PASSWORD);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean verify() {
+    return strategy.verify(hash, PASSWORD);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean verifyContended() {
+    return strategy.verify(hash, PASSWORD);
+  }
+}
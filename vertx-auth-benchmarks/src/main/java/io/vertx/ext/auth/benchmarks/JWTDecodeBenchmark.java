@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.impl.jose.JWT;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JWT#decode(String)} throughput when all threads share the same key, which is the common case for a
+ * server validating tokens issued by a single authority. The contended variant runs one thread per core and shows
+ * whether the signature verification scales or serializes on shared state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTDecodeBenchmark {
+
+  @Param({
+    "HS256", "HS384", "HS512",
+    "RS256", "RS384", "RS512",
+    "PS256", "PS384", "PS512",
+    "ES256", "ES384", "ES512",
+    "EdDSA"})
+  public String alg;
+
+  private JWT jwt;
+  private String token;
+
+  @Setup
+  public void setup() throws Exception {
+    jwt = Keys.jwt(alg);
+    token = jwt.sign(
+      new JsonObject()
+        .put("sub", "paulo")
+        .put("iss", "vertx")
+        .put("scope", "read write"),
+      new JWTOptions().setAlgorithm(alg));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public JsonObject decode() throws Exception {
+    return jwt.decode(token);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public JsonObject decodeContended() throws Exception {
+    return jwt.decode(token);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.impl.jose.JWT;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JWT#sign(JsonObject, JWTOptions)} throughput for every algorithm supported by the JWS
+ * implementation, on a single thread and with one thread per core sharing the same key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTSignBenchmark {
+
+  @Param({
+    "HS256", "HS384", "HS512",
+    "RS256", "RS384", "RS512",
+    "PS256", "PS384", "PS512",
+    "ES256", "ES384", "ES512",
+    "EdDSA"})
+  public String alg;
+
+  private JWT jwt;
+  private JsonObject payload;
+  private JWTOptions options;
+
+  @Setup
+  public void setup() throws Exception {
+    jwt = Keys.jwt(alg);
+    payload = new JsonObject()
+      .put("sub", "paulo")
+      .put("iss", "vertx")
+      .put("scope", "read write");
+    options = new JWTOptions().setAlgorithm(alg);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String sign() {
+    return jwt.sign(payload, options);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String signContended() {
+    return jwt.sign(payload, options);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.PubSecKeyOptions;
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.impl.jose.JWT;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+/**
+ * Generates throw away key material for the benchmarks.
+ */
+final class Keys {
+
+  private Keys() {
+  }
+
+  /**
+   * Creates a {@link JWT} able to sign and verify tokens with the given algorithm, using freshly generated keys.
+   */
+  static JWT jwt(String alg) throws Exception {
+    final JWT jwt = new JWT();
+
+    switch (alg) {
+      case "HS256":
+      case "HS384":
+      case "HS512":
+        jwt.addJWK(new JWK(new PubSecKeyOptions()
+          .setAlgorithm(alg)
+          .setBuffer("notasecret-but-long-enough-for-" + alg)));
+        return jwt;
+      default:
+        final KeyPair keyPair = keyPair(alg);
+        jwt
+          .addJWK(new JWK(new PubSecKeyOptions()
+            .setAlgorithm(alg)
+            .setBuffer(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()))))
+          .addJWK(new JWK(new PubSecKeyOptions()
+            .setAlgorithm(alg)
+            .setBuffer(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()))));
+        return jwt;
+    }
+  }
+
+  private static KeyPair keyPair(String alg) throws Exception {
+    final KeyPairGenerator generator;
+
+    switch (alg) {
+      case "RS256":
+      case "RS384":
+      case "RS512":
+      case "PS256":
+      case "PS384":
+      case "PS512":
+        generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        break;
+      case "ES256":
+        generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        break;
+      case "ES384":
+        generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp384r1"));
+        break;
+      case "ES512":
+        generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp521r1"));
+        break;
+      case "EdDSA":
+        generator = KeyPairGenerator.getInstance("Ed25519");
+        break;
+      default:
+        throw new NoSuchAlgorithmException(alg);
+    }
+
+    return generator.generateKeyPair();
+  }
+
+  private static String pem(String kind, byte[] der) {
+    return
+      "-----BEGIN " + kind + "-----\n" +
+        new String(Base64.getMimeEncoder().encode(der), StandardCharsets.US_ASCII) +
+        "\n-----END " + kind + "-----\n";
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.impl.Codec;
+import io.vertx.ext.auth.otp.OtpKey;
+import io.vertx.ext.auth.otp.impl.OtpMacs;
+import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the generation of one time passwords, as done by the HOTP and TOTP providers on every authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OTPBenchmark {
+
+  private final AtomicLong counter = new AtomicLong();
+  private byte[] secret;
+  private OtpKey otpKey;
+
+  @Setup
+  public void setup() {
+    // 160 bits, as recommended by RFC4226
+    secret = new byte[20];
+    new Random(42).nextBytes(secret);
+    otpKey = new OtpKey()
+      .setKey(Codec.base32Encode(secret))
+      .setAlgorithm("SHA1");
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String generateOTP() throws NoSuchAlgorithmException, InvalidKeyException {
+    return OneTimePasswordAlgorithm.generateOTP(secret, counter.incrementAndGet(), 6, false, -1);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String generateOTPContended() throws NoSuchAlgorithmException, InvalidKeyException {
+    return OneTimePasswordAlgorithm.generateOTP(secret, counter.incrementAndGet(), 6, false, -1);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String generateOTPCachedMac() throws GeneralSecurityException {
+    return OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(otpKey), counter.incrementAndGet(), 6, false, -1);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String generateOTPCachedMacContended() throws GeneralSecurityException {
+    return OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(otpKey), counter.incrementAndGet(), 6, false, -1);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures wildcard permission checks. A wildcard is checked either against another (already parsed) wildcard or
+ * against a plain permission string, which has to be parsed on every check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildcardBenchmark {
+
+  private Authorization granted;
+  private Authorization wildcard;
+  private Authorization permission;
+
+  @Setup
+  public void setup() {
+    granted = WildcardPermissionBasedAuthorization.create("newsletter:view,create,edit:*");
+    wildcard = WildcardPermissionBasedAuthorization.create("newsletter:edit:13");
+    permission = PermissionBasedAuthorization.create("newsletter:edit:13");
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean impliesWildcard() {
+    return granted.verify(wildcard);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean impliesWildcardContended() {
+    return granted.verify(wildcard);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean impliesPermission() {
+    return granted.verify(permission);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean impliesPermissionContended() {
+    return granted.verify(permission);
+  }
+}
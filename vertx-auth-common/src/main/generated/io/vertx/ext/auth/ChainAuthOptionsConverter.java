@@ -0,0 +1,51 @@
+package io.vertx.ext.auth;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.ChainAuthOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.ChainAuthOptions} original class using Vert.x codegen.
+ */
+public class ChainAuthOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ChainAuthOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "hedgeDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgeDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "parallel":
+          if (member.getValue() instanceof Boolean) {
+            obj.setParallel((Boolean)member.getValue());
+          }
+          break;
+        case "timeout":
+          if (member.getValue() instanceof Number) {
+            obj.setTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(ChainAuthOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(ChainAuthOptions obj, java.util.Map<String, Object> json) {
+    json.put("hedgeDelay", obj.getHedgeDelay());
+    json.put("parallel", obj.isParallel());
+    json.put("timeout", obj.getTimeout());
+  }
+}
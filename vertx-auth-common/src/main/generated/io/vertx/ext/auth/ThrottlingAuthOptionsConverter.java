@@ -0,0 +1,57 @@
+package io.vertx.ext.auth;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.ThrottlingAuthOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.ThrottlingAuthOptions} original class using Vert.x codegen.
+ */
+public class ThrottlingAuthOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ThrottlingAuthOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxFailures":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxFailures(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "sketchDepth":
+          if (member.getValue() instanceof Number) {
+            obj.setSketchDepth(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "sketchWidth":
+          if (member.getValue() instanceof Number) {
+            obj.setSketchWidth(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "windowInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setWindowInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(ThrottlingAuthOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(ThrottlingAuthOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxFailures", obj.getMaxFailures());
+    json.put("sketchDepth", obj.getSketchDepth());
+    json.put("sketchWidth", obj.getSketchWidth());
+    json.put("windowInSeconds", obj.getWindowInSeconds());
+  }
+}
@@ -121,4 +121,29 @@ public class AuthCommonExamples {
       String sub = user.get("sub");
     }
   }
+
+  public void example10(Vertx vertx, AuthenticationProvider ldapAuthProvider, AuthenticationProvider propertiesAuthProvider) {
+    // both providers are tried at the same time, a provider
+    // taking more than 2 seconds is considered failed
+    ChainAuth.any(vertx, new ChainAuthOptions()
+        .setParallel(true)
+        .setTimeout(2000))
+      .add(ldapAuthProvider)
+      .add(propertiesAuthProvider);
+  }
+
+  public void example11(AuthenticationProvider sqlAuthProvider, String remoteAddress) {
+    // after 5 failed attempts in a minute for a username or for a
+    // remote address, attempts fail without checking the password
+    ThrottlingAuth auth = ThrottlingAuth.create(
+      sqlAuthProvider,
+      new ThrottlingAuthOptions()
+        .setMaxFailures(5)
+        .setWindowInSeconds(60));
+
+    auth.authenticate(new UsernamePasswordCredentials("paulo", "secret"), remoteAddress)
+      .onSuccess(user -> {
+        // ...
+      });
+  }
 }
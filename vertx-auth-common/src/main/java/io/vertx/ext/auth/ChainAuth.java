@@ -17,6 +17,7 @@ package io.vertx.ext.auth;
 
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.impl.ChainAuthImpl;
 
@@ -45,6 +46,28 @@ public interface ChainAuth extends AuthenticationProvider {
     return new ChainAuthImpl(false);
   }
 
+  /**
+   * Create a Chainable Auth Provider auth provider that will resolve if all auth providers are successful.
+   *
+   * @param vertx   the vertx instance, used for the provider timeouts
+   * @param options how providers are executed, e.g.: concurrently
+   * @return the auth provider
+   */
+  static ChainAuth all(Vertx vertx, ChainAuthOptions options) {
+    return new ChainAuthImpl(vertx, true, options);
+  }
+
+  /**
+   * Create a Chainable Auth Provider auth provider that will resolve on the first success.
+   *
+   * @param vertx   the vertx instance, used for the provider timeouts and the hedge delay
+   * @param options how providers are executed, e.g.: concurrently
+   * @return the auth provider
+   */
+  static ChainAuth any(Vertx vertx, ChainAuthOptions options) {
+    return new ChainAuthImpl(vertx, false, options);
+  }
+
   /**
    * Appends a auth provider to the chain.
    *
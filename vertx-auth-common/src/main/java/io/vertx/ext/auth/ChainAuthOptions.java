@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options describing how a {@link ChainAuth} executes its providers.
+ */
+@DataObject(generateConverter = true)
+public class ChainAuthOptions {
+
+  private static final boolean DEFAULT_PARALLEL = false;
+  private static final long DEFAULT_HEDGE_DELAY = 0L;
+  private static final long DEFAULT_TIMEOUT = 0L;
+
+  private boolean parallel;
+  private long hedgeDelay;
+  private long timeout;
+
+  public ChainAuthOptions() {
+    parallel = DEFAULT_PARALLEL;
+    hedgeDelay = DEFAULT_HEDGE_DELAY;
+    timeout = DEFAULT_TIMEOUT;
+  }
+
+  public ChainAuthOptions(ChainAuthOptions other) {
+    this.parallel = other.parallel;
+    this.hedgeDelay = other.hedgeDelay;
+    this.timeout = other.timeout;
+  }
+
+  public ChainAuthOptions(JsonObject json) {
+    this();
+    ChainAuthOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    final JsonObject json = new JsonObject();
+    ChainAuthOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Run the providers concurrently instead of one after the other. In {@code any} mode the chain completes with the
+   * first provider to succeed (which is not necessarily the first one in the chain), in {@code all} mode the users are
+   * still merged in the order of the chain.
+   *
+   * @param parallel {@code true} to run the providers concurrently
+   * @return self
+   */
+  public ChainAuthOptions setParallel(boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
+
+  public long getHedgeDelay() {
+    return hedgeDelay;
+  }
+
+  /**
+   * In parallel {@code any} mode, the delay in milliseconds before the next provider is started while the previous ones
+   * have not completed yet. A failure starts the next provider right away. Default to 0, all providers start at once.
+   *
+   * @param hedgeDelay the delay in milliseconds
+   * @return self
+   */
+  public ChainAuthOptions setHedgeDelay(long hedgeDelay) {
+    if (hedgeDelay < 0) {
+      throw new IllegalArgumentException("hedgeDelay must be >= 0");
+    }
+    this.hedgeDelay = hedgeDelay;
+    return this;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * The time in milliseconds a single provider is given to authenticate, after which it is considered failed.
+   * Default to 0, no timeout.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return self
+   */
+  public ChainAuthOptions setTimeout(long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout must be >= 0");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+}
@@ -61,4 +61,14 @@ public interface HashingAlgorithm {
   default boolean needsSeparator() {
     return true;
   }
+
+  /**
+   * Is this algorithm slow by design (key stretching, e.g.: PBKDF2). Slow algorithms should not be
+   * executed on an event loop thread, see {@link HashingStrategy#verify(io.vertx.core.Vertx, String, String)}.
+   *
+   * @return false by default.
+   */
+  default boolean isSlow() {
+    return false;
+  }
 }
@@ -17,6 +17,8 @@ package io.vertx.ext.auth;
 
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.impl.HashingStrategyImpl;
 
 import java.util.Map;
@@ -69,6 +71,42 @@ public interface HashingStrategy {
    */
   boolean verify(String hash, String password);
 
+  /**
+   * Asynchronous variant of {@link #verify(String, String)}. Algorithms that are slow by design
+   * ({@link HashingAlgorithm#isSlow()}) are verified on a worker thread of the current context, so the event loop
+   * is never blocked. The number of concurrent verifications is bounded by the size of that worker pool, which
+   * can be configured with {@link io.vertx.core.VertxOptions#setWorkerPoolSize(int)}, or dedicated to a verticle
+   * with {@link io.vertx.core.DeploymentOptions#setWorkerPoolName(String)} and
+   * {@link io.vertx.core.DeploymentOptions#setWorkerPoolSize(int)}.
+   *
+   * @param vertx    the vertx instance
+   * @param hash     the hash to verify
+   * @param password the password to test against
+   * @return future result.
+   */
+  default Future<Boolean> verify(Vertx vertx, String hash, String password) {
+    return vertx.getOrCreateContext()
+      .executeBlocking(() -> verify(hash, password), false);
+  }
+
+  /**
+   * Remembers successful verifications for a short time, so a client presenting the same correct password on every
+   * request (e.g.: HTTP Basic) does not pay for a slow hashing algorithm each time. Verifications are remembered as a
+   * HMAC of the hash and password under a random per process key, the password itself is never stored. Failed
+   * verifications are always computed.
+   * <p>
+   * The stored hash is part of the key, so changing a password implicitly invalidates its entries. This trades memory
+   * for CPU and is disabled by default. Strategies that do not support it ignore this call.
+   *
+   * @param maxSize      the maximum number of remembered verifications, 0 disables the cache
+   * @param ttlInSeconds the time a verification is remembered
+   * @return self
+   */
+  @Fluent
+  default HashingStrategy verificationCache(int maxSize, int ttlInSeconds) {
+    return this;
+  }
+
   /**
    * Get an algorithm interface by its Id
    *
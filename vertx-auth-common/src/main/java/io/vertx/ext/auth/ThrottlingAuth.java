@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.impl.ThrottlingAuthImpl;
+
+/**
+ * An authentication provider decorator that limits the failed attempts per username and per client (e.g.: the remote
+ * address). Once a limit is reached, attempts fail right away without reaching the decorated provider, so a credential
+ * stuffing burst does not turn into as many (expensive) password hash computations.
+ * <p>
+ * Failures are counted in a fixed size sketch, so the memory used does not depend on the number of distinct usernames
+ * or clients. The counts are approximate and can only be over estimated, two keys sharing all their counters would be
+ * throttled together.
+ */
+@VertxGen
+public interface ThrottlingAuth extends AuthenticationProvider {
+
+  /**
+   * Decorate an authentication provider with throttling.
+   *
+   * @param provider the provider performing the authentication
+   * @param options  the throttling options
+   * @return the auth provider
+   */
+  static ThrottlingAuth create(AuthenticationProvider provider, ThrottlingAuthOptions options) {
+    return new ThrottlingAuthImpl(provider, options);
+  }
+
+  /**
+   * Authenticate a user, counting failed attempts against both the username (when the credentials carry one) and
+   * the given client key.
+   *
+   * @param credentials the credentials
+   * @param clientKey   a key identifying the client, e.g.: the remote address, or {@code null}
+   * @return the authenticated user, or a failure when the credentials are invalid or the attempt was throttled
+   */
+  Future<User> authenticate(Credentials credentials, @Nullable String clientKey);
+}
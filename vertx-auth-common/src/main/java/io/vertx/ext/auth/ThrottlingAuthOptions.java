@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a {@link ThrottlingAuth}.
+ */
+@DataObject(generateConverter = true)
+public class ThrottlingAuthOptions {
+
+  private static final int DEFAULT_MAX_FAILURES = 10;
+  private static final int DEFAULT_WINDOW = 60;
+  private static final int DEFAULT_SKETCH_WIDTH = 65536;
+  private static final int DEFAULT_SKETCH_DEPTH = 4;
+
+  private int maxFailures;
+  private int window;
+  private int sketchWidth;
+  private int sketchDepth;
+
+  public ThrottlingAuthOptions() {
+    maxFailures = DEFAULT_MAX_FAILURES;
+    window = DEFAULT_WINDOW;
+    sketchWidth = DEFAULT_SKETCH_WIDTH;
+    sketchDepth = DEFAULT_SKETCH_DEPTH;
+  }
+
+  public ThrottlingAuthOptions(ThrottlingAuthOptions other) {
+    this.maxFailures = other.maxFailures;
+    this.window = other.window;
+    this.sketchWidth = other.sketchWidth;
+    this.sketchDepth = other.sketchDepth;
+  }
+
+  public ThrottlingAuthOptions(JsonObject json) {
+    this();
+    ThrottlingAuthOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    final JsonObject json = new JsonObject();
+    ThrottlingAuthOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  public int getMaxFailures() {
+    return maxFailures;
+  }
+
+  /**
+   * The number of failed attempts allowed for a username, or a client key, within the window. Once reached, further
+   * attempts fail without reaching the authentication provider. Default to 10.
+   *
+   * @param maxFailures the number of failed attempts
+   * @return self
+   */
+  public ThrottlingAuthOptions setMaxFailures(int maxFailures) {
+    if (maxFailures <= 0) {
+      throw new IllegalArgumentException("maxFailures must be > 0");
+    }
+    this.maxFailures = maxFailures;
+    return this;
+  }
+
+  public int getWindowInSeconds() {
+    return window;
+  }
+
+  /**
+   * The time window in which failures are counted. Failures are forgotten after one to two windows. Default to 60
+   * seconds.
+   *
+   * @param windowInSeconds the window in seconds
+   * @return self
+   */
+  public ThrottlingAuthOptions setWindowInSeconds(int windowInSeconds) {
+    if (windowInSeconds <= 0) {
+      throw new IllegalArgumentException("windowInSeconds must be > 0");
+    }
+    this.window = windowInSeconds;
+    return this;
+  }
+
+  public int getSketchWidth() {
+    return sketchWidth;
+  }
+
+  /**
+   * The number of counters per row of the sketch counting failures, rounded up to a power of two. The memory used is
+   * fixed regardless of the number of distinct keys, a wider sketch makes unrelated keys less likely to share
+   * counters. Default to 65536.
+   *
+   * @param sketchWidth the sketch width
+   * @return self
+   */
+  public ThrottlingAuthOptions setSketchWidth(int sketchWidth) {
+    if (sketchWidth <= 0) {
+      throw new IllegalArgumentException("sketchWidth must be > 0");
+    }
+    this.sketchWidth = sketchWidth;
+    return this;
+  }
+
+  public int getSketchDepth() {
+    return sketchDepth;
+  }
+
+  /**
+   * The number of rows of the sketch counting failures. A key is only throttled when all its counters reached the
+   * limit, more rows mean less false positives. Default to 4.
+   *
+   * @param sketchDepth the sketch depth
+   * @return self
+   */
+  public ThrottlingAuthOptions setSketchDepth(int sketchDepth) {
+    if (sketchDepth <= 0) {
+      throw new IllegalArgumentException("sketchDepth must be > 0");
+    }
+    this.sketchDepth = sketchDepth;
+    return this;
+  }
+}
@@ -36,4 +36,21 @@ public interface Authorizations {
 
   Set<String> getProviderIds();
 
+  /**
+   * Verifies if any of the authorizations, from any provider, verifies the given authorization.
+   *
+   * @param resolvedAuthorization the authorization to verify, with its variables already resolved
+   * @return true if it is granted.
+   */
+  default boolean verify(Authorization resolvedAuthorization) {
+    for (String providerId : getProviderIds()) {
+      for (Authorization authorization : get(providerId)) {
+        if (authorization.verify(resolvedAuthorization)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
 }
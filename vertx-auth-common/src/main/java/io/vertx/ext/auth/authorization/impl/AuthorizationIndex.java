@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of the authorizations granted to a user, so checking a required authorization does not need to verify it
+ * against every granted one.
+ * <p>
+ * Roles and permissions are kept in hash sets, wildcard permissions in a trie of their parts. The index only narrows
+ * down the candidates, the final decision is always taken by {@link Authorization#verify(Authorization)} so the
+ * semantics are the same as a linear scan. Authorizations of other types (logical, custom, ...) are always scanned.
+ * <p>
+ * Additions are expected to be serialized by the caller, lookups may run concurrently with them.
+ */
+final class AuthorizationIndex {
+
+  private static final class Key {
+    final String value;
+    final String resource;
+
+    Key(String value, String resource) {
+      this.value = value;
+      this.resource = resource;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return value.equals(other.value) && Objects.equals(resource, other.resource);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * value.hashCode() + Objects.hashCode(resource);
+    }
+  }
+
+  private static final class Node {
+    final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+    // wildcards whose last part is at this depth
+    final Queue<Authorization> wildcards = new ConcurrentLinkedQueue<>();
+  }
+
+  private final Set<Key> roles = ConcurrentHashMap.newKeySet();
+  private final Set<Key> permissions = ConcurrentHashMap.newKeySet();
+  private final Node wildcards = new Node();
+  private final Queue<Authorization> wildcardList = new ConcurrentLinkedQueue<>();
+  private final Queue<Authorization> others = new ConcurrentLinkedQueue<>();
+
+  void add(Authorization authorization) {
+    // subclasses may override verify, so only the exact types are indexed
+    final Class<?> type = authorization.getClass();
+
+    if (type == RoleBasedAuthorizationImpl.class) {
+      final RoleBasedAuthorization role = (RoleBasedAuthorization) authorization;
+      roles.add(new Key(role.getRole(), role.getResource()));
+    } else if (type == PermissionBasedAuthorizationImpl.class) {
+      final PermissionBasedAuthorization permission = (PermissionBasedAuthorization) authorization;
+      permissions.add(new Key(permission.getPermission(), permission.getResource()));
+    } else if (type == WildcardPermissionBasedAuthorizationImpl.class) {
+      insert(wildcards, ((WildcardPermissionBasedAuthorizationImpl) authorization).wildcardPermission().parts(), 0, authorization);
+      wildcardList.add(authorization);
+    } else {
+      others.add(authorization);
+    }
+  }
+
+  boolean verify(Authorization required) {
+    if (required instanceof RoleBasedAuthorization) {
+      final RoleBasedAuthorization role = (RoleBasedAuthorization) required;
+      // granted roles match on role and resource equality
+      if (roles.contains(new Key(role.getRole(), role.getResource()))) {
+        return true;
+      }
+    }
+
+    if (required instanceof PermissionBasedAuthorization) {
+      final PermissionBasedAuthorization permission = (PermissionBasedAuthorization) required;
+      // granted permissions match on permission and resource equality
+      if (permissions.contains(new Key(permission.getPermission(), permission.getResource()))) {
+        return true;
+      }
+      if (verifyWildcards(permission.getPermission(), required)) {
+        return true;
+      }
+    }
+
+    if (required instanceof WildcardPermissionBasedAuthorization) {
+      final WildcardPermissionBasedAuthorization permission = (WildcardPermissionBasedAuthorization) required;
+      // granted permissions match on permission and resource equality
+      if (permissions.contains(new Key(permission.getPermission(), permission.getResource()))) {
+        return true;
+      }
+      if (verifyWildcards(permission.getPermission(), required)) {
+        return true;
+      }
+    }
+
+    for (Authorization authorization : others) {
+      if (authorization.verify(required)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private boolean verifyWildcards(String permission, Authorization required) {
+    if (wildcardList.isEmpty()) {
+      return false;
+    }
+
+    final List<Set<String>> parts;
+    try {
+      parts = WildcardExpression.parse(permission).parts();
+    } catch (IllegalArgumentException e) {
+      // not a valid expression, let the granted wildcards decide
+      for (Authorization authorization : wildcardList) {
+        if (authorization.verify(required)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    return verifyWildcards(wildcards, parts, 0, required);
+  }
+
+  private static void insert(Node node, List<Set<String>> parts, int depth, Authorization authorization) {
+    if (depth == parts.size()) {
+      node.wildcards.add(authorization);
+      return;
+    }
+
+    final Set<String> part = parts.get(depth);
+    if (part.contains(WildcardExpression.WILDCARD_TOKEN)) {
+      // the other subparts are irrelevant
+      insert(node.children.computeIfAbsent(WildcardExpression.WILDCARD_TOKEN, k -> new Node()), parts, depth + 1, authorization);
+    } else {
+      // a part implies another if it contains all of its subparts, index it under each of them
+      for (String subpart : part) {
+        insert(node.children.computeIfAbsent(subpart, k -> new Node()), parts, depth + 1, authorization);
+      }
+    }
+  }
+
+  private static boolean verifyWildcards(Node node, List<Set<String>> parts, int depth, Authorization required) {
+    // wildcards ending here have no more parts than required (everything after them is implied), or have extra
+    // parts that are all wildcards
+    for (Authorization authorization : node.wildcards) {
+      if (authorization.verify(required)) {
+        return true;
+      }
+    }
+
+    final Node wildcard = node.children.get(WildcardExpression.WILDCARD_TOKEN);
+    if (wildcard != null && verifyWildcards(wildcard, parts, depth + 1, required)) {
+      return true;
+    }
+
+    if (depth < parts.size()) {
+      // any subpart leads to the granted parts containing all of them
+      final Node next = node.children.get(parts.get(depth).iterator().next());
+      return next != null && next != wildcard && verifyWildcards(next, parts, depth + 1, required);
+    }
+
+    return false;
+  }
+}
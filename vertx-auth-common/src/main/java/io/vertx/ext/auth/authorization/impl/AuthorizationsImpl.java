@@ -15,7 +15,9 @@ package io.vertx.ext.auth.authorization.impl;
 import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.Authorizations;
 
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -24,6 +26,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class AuthorizationsImpl implements Authorizations {
 
   private final Map<String, Set<Authorization>> authorizations;
+  // lazily built, mutations keep it up to date or drop it
+  private volatile AuthorizationIndex index;
 
   public AuthorizationsImpl() {
     // store the authorizations as a concurrent hash map, mainly because this
@@ -46,8 +50,10 @@ public class AuthorizationsImpl implements Authorizations {
     ConcurrentHashMap.KeySetView<Authorization, Boolean> concurrentAuthorizations = ConcurrentHashMap.newKeySet();
     concurrentAuthorizations.addAll(authorizations);
 
-    getOrCreateAuthorizations(providerId)
-      .addAll(concurrentAuthorizations);
+    synchronized (this) {
+      getOrCreateAuthorizations(providerId)
+        .addAll(concurrentAuthorizations);
+    }
     return this;
   }
 
@@ -55,13 +61,19 @@ public class AuthorizationsImpl implements Authorizations {
   public Authorizations clear(String providerId) {
     Objects.requireNonNull(providerId);
 
-    authorizations.remove(providerId);
+    synchronized (this) {
+      authorizations.remove(providerId);
+      index = null;
+    }
     return this;
   }
 
   @Override
   public Authorizations clear() {
-    authorizations.clear();
+    synchronized (this) {
+      authorizations.clear();
+      index = null;
+    }
     return this;
   }
 
@@ -89,7 +101,30 @@ public class AuthorizationsImpl implements Authorizations {
   }
 
   private Set<Authorization> getOrCreateAuthorizations(String providerId) {
-    return authorizations.computeIfAbsent(providerId, k -> ConcurrentHashMap.newKeySet());
+    return authorizations.computeIfAbsent(providerId, ProviderAuthorizations::new);
+  }
+
+  @Override
+  public boolean verify(Authorization resolvedAuthorization) {
+    Objects.requireNonNull(resolvedAuthorization);
+
+    AuthorizationIndex index = this.index;
+    if (index == null) {
+      synchronized (this) {
+        index = this.index;
+        if (index == null) {
+          index = new AuthorizationIndex();
+          for (Set<Authorization> set : authorizations.values()) {
+            for (Authorization authorization : set) {
+              index.add(authorization);
+            }
+          }
+          this.index = index;
+        }
+      }
+    }
+
+    return index.verify(resolvedAuthorization);
   }
 
   @Override
@@ -105,4 +140,89 @@ public class AuthorizationsImpl implements Authorizations {
     return result;
   }
 
+  /**
+   * The authorizations of a provider. The set is handed out by {@link #get(String)}, so any mutation has to be
+   * reflected in the index.
+   */
+  private final class ProviderAuthorizations extends AbstractSet<Authorization> {
+
+    private final String providerId;
+    private final Set<Authorization> delegate = ConcurrentHashMap.newKeySet();
+
+    ProviderAuthorizations(String providerId) {
+      this.providerId = providerId;
+    }
+
+    @Override
+    public boolean add(Authorization authorization) {
+      synchronized (AuthorizationsImpl.this) {
+        if (delegate.add(authorization)) {
+          if (index != null) {
+            if (authorizations.get(providerId) == this) {
+              index.add(authorization);
+            } else {
+              // this set was cleared from the user
+              index = null;
+            }
+          }
+          return true;
+        }
+        return false;
+      }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      synchronized (AuthorizationsImpl.this) {
+        if (delegate.remove(o)) {
+          index = null;
+          return true;
+        }
+        return false;
+      }
+    }
+
+    @Override
+    public void clear() {
+      synchronized (AuthorizationsImpl.this) {
+        delegate.clear();
+        index = null;
+      }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return delegate.contains(o);
+    }
+
+    @Override
+    public int size() {
+      return delegate.size();
+    }
+
+    @Override
+    public Iterator<Authorization> iterator() {
+      final Iterator<Authorization> it = delegate.iterator();
+
+      return new Iterator<Authorization>() {
+        @Override
+        public boolean hasNext() {
+          return it.hasNext();
+        }
+
+        @Override
+        public Authorization next() {
+          return it.next();
+        }
+
+        @Override
+        public void remove() {
+          synchronized (AuthorizationsImpl.this) {
+            it.remove();
+            index = null;
+          }
+        }
+      };
+    }
+  }
 }
@@ -53,14 +53,7 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
     User user = context.user();
     if (user != null) {
       final Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      final Authorizations authorizations = user.authorizations();
-      for (String providerId : authorizations.getProviderIds()) {
-        for (Authorization authorization : authorizations.get(providerId)) {
-          if (authorization.verify(resolvedAuthorization)) {
-            return true;
-          }
-        }
-      }
+      return user.authorizations().verify(resolvedAuthorization);
     }
     return false;
   }
@@ -55,13 +55,7 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
     User user = context.user();
     if (user != null) {
       Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      for (String providerId : user.authorizations().getProviderIds()) {
-        for (Authorization authorization : user.authorizations().get(providerId)) {
-          if (authorization.verify(resolvedAuthorization)) {
-            return true;
-          }
-        }
-      }
+      return user.authorizations().verify(resolvedAuthorization);
     }
     return false;
   }
@@ -18,6 +18,8 @@
  */
 package io.vertx.ext.auth.authorization.impl;
 
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
+
 import java.util.*;
 
 /**
@@ -123,11 +125,19 @@ class WildcardExpression {
   protected static final String SUBPART_DIVIDER_TOKEN = ",";
   protected static final String WILDCARD_TOKEN = "*";
 
+  // parsed expressions are immutable, so they are shared. The cache is bounded, when full only a fraction of the
+  // entries is dropped, so the hot expressions stay cached
+  private static final int CACHE_MAX_SIZE = 4096;
+  private static final ExpiringCache<String, WildcardExpression> CACHE = new ExpiringCache<>(CACHE_MAX_SIZE);
+
   /*--------------------------------------------
   |    I N S T A N C E   V A R I A B L E S    |
   ============================================*/
-  private List<Set<String>> parts;
+  private final List<Set<String>> parts;
   private final String value;
+  // compiled form of the parts, matched without allocations
+  private final String[][] tokens;
+  private final boolean[] wildcards;
 
   /*--------------------------------------------
   |         C O N S T R U C T O R S           |
@@ -139,7 +149,32 @@ class WildcardExpression {
     if (value.isEmpty()) {
       throw new IllegalArgumentException("Wildcard value cannot be empty");
     }
-    setParts(value);
+    this.parts = parseParts(value);
+
+    // compile the parts
+    tokens = new String[parts.size()][];
+    wildcards = new boolean[parts.size()];
+
+    for (int i = 0; i < parts.size(); i++) {
+      final Set<String> part = parts.get(i);
+      tokens[i] = part.toArray(new String[0]);
+      wildcards[i] = part.contains(WILDCARD_TOKEN);
+    }
+  }
+
+  /**
+   * Returns the parsed expression for the given value, parsing it only if it isn't cached yet.
+   */
+  static WildcardExpression parse(String value) {
+    WildcardExpression expression = CACHE.get(value);
+
+    if (expression == null) {
+      expression = new WildcardExpression(value);
+      // expressions never expire, they are only evicted by size
+      CACHE.putIfAbsent(value, expression, Long.MAX_VALUE);
+    }
+
+    return expression;
   }
 
   @Override
@@ -176,7 +211,7 @@ class WildcardExpression {
       return true;
     }
     // slightly slower path where we've got to convert 'p' to a wildcard
-    return implies(new WildcardExpression(p));
+    return implies(parse(p));
   }
 
   public boolean implies(WildcardExpression p) {
@@ -185,56 +220,74 @@ class WildcardExpression {
     }
 
     // By default only supports comparisons with other WildcardPermissions
-    List<Set<String>> otherParts = p.parts;
+    final String[][] otherTokens = p.tokens;
 
     int i = 0;
-    for (Set<String> otherPart : otherParts) {
+    for (; i < otherTokens.length; i++) {
       // If this permission has less parts than the other permission, everything after
       // the number of parts contained
       // in this permission is automatically implied, so return true
-      if (parts.size() - 1 < i) {
+      if (tokens.length - 1 < i) {
         return true;
-      } else {
-        Set<String> part = parts.get(i);
-        if (!part.contains(WILDCARD_TOKEN) && !part.containsAll(otherPart)) {
-          return false;
-        }
-        i++;
+      }
+      if (!wildcards[i] && !containsAll(tokens[i], otherTokens[i])) {
+        return false;
       }
     }
 
     // If this permission has more parts than the other parts, only imply it if all
     // of the other parts are wildcards
-    for (; i < parts.size(); i++) {
-      Set<String> part = parts.get(i);
-      if (!part.contains(WILDCARD_TOKEN)) {
+    for (; i < tokens.length; i++) {
+      if (!wildcards[i]) {
         return false;
       }
     }
     return true;
   }
 
-  protected void setParts(String wildcardString) {
+  private static boolean containsAll(String[] part, String[] otherPart) {
+    // parts are tiny, a linear scan beats hashing
+    for (String token : otherPart) {
+      boolean found = false;
+      for (String candidate : part) {
+        if (candidate.equals(token)) {
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  List<Set<String>> parts() {
+    return parts;
+  }
+
+  private static List<Set<String>> parseParts(String wildcardString) {
     wildcardString = wildcardString.trim();
 
     if (wildcardString.isEmpty()) {
       throw new IllegalArgumentException("Wildcard string cannot be empty");
     }
 
-    this.parts = new ArrayList<>();
+    final List<Set<String>> parts = new ArrayList<>();
     for (String part : wildcardString.split(PART_DIVIDER_TOKEN)) {
       Set<String> subparts = new LinkedHashSet<>(Arrays.asList(part.split(SUBPART_DIVIDER_TOKEN)));
       if (subparts.isEmpty()) {
         throw new IllegalArgumentException(
           "Wildcard string cannot contain parts with only dividers. Make sure permission strings are properly formatted.");
       }
-      this.parts.add(subparts);
+      parts.add(subparts);
     }
 
-    if (this.parts.isEmpty()) {
+    if (parts.isEmpty()) {
       throw new IllegalArgumentException(
         "Wildcard string cannot contain only dividers. Make sure permission strings are properly formatted.");
     }
+    return parts;
   }
 
   public String toString() {
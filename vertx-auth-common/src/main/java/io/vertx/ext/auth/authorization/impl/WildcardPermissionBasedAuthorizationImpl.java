@@ -28,7 +28,7 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
 
   public WildcardPermissionBasedAuthorizationImpl(String permission) {
     this.permission = Objects.requireNonNull(permission);
-    this.wildcardPermission = new WildcardExpression(permission);
+    this.wildcardPermission = WildcardExpression.parse(permission);
   }
 
   @Override
@@ -46,6 +46,10 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
     return permission;
   }
 
+  WildcardExpression wildcardPermission() {
+    return wildcardPermission;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(permission, resource);
@@ -58,13 +62,7 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
     User user = context.user();
     if (user != null) {
       Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      for (String providerId : user.authorizations().getProviderIds()) {
-        for (Authorization authorization : user.authorizations().get(providerId)) {
-          if (authorization.verify(resolvedAuthorization)) {
-            return true;
-          }
-        }
-      }
+      return user.authorizations().verify(resolvedAuthorization);
     }
     return false;
   }
@@ -18,25 +18,67 @@ package io.vertx.ext.auth.impl;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
 
 import javax.naming.InvalidNameException;
 import javax.naming.ldap.LdapName;
 import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.SignatureException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public final class CertificateHelper {
 
   private static final Logger LOG = LoggerFactory.getLogger(CertificateHelper.class);
 
+  // a successfully validated chain is valid until a certificate or a CRL expires, re-validate at least hourly anyway
+  static final long MAX_VALIDATION_AGE = 60 * 60 * 1000L;
+  private static final ExpiringCache<String, Boolean> VALID_CHAINS = new ExpiringCache<>(4096);
+  private static final ExpiringCache<String, CrlIndex> CRL_INDEXES = new ExpiringCache<>(16);
+
+  /**
+   * The revoked serial numbers of a list of CRLs, by certificate issuer.
+   */
+  private static final class CrlIndex {
+
+    private final Map<X500Principal, Set<BigInteger>> revoked = new HashMap<>();
+
+    CrlIndex(List<X509CRL> crls) {
+      for (X509CRL crl : crls) {
+        final Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+        if (entries == null) {
+          continue;
+        }
+        for (X509CRLEntry entry : entries) {
+          // indirect CRLs name the issuer of the revoked certificate on the entry
+          final X500Principal issuer = entry.getCertificateIssuer() == null ? crl.getIssuerX500Principal() : entry.getCertificateIssuer();
+          revoked
+            .computeIfAbsent(issuer, k -> new HashSet<>())
+            .add(entry.getSerialNumber());
+        }
+      }
+    }
+
+    boolean isRevoked(X509Certificate certificate) {
+      return revoked
+        .getOrDefault(certificate.getIssuerX500Principal(), Collections.emptySet())
+        .contains(certificate.getSerialNumber());
+    }
+  }
+
   public final static class CertInfo {
 
     private final Map<String, String> subject;
@@ -95,23 +137,39 @@ public final class CertificateHelper {
 
     final long now = System.currentTimeMillis();
 
+    final String crlsId = crls == null || crls.isEmpty() ? "" : fingerprint(crls);
+    final String chainId = fingerprint(certificates, withRootCA, crlsId);
+
+    if (VALID_CHAINS.get(chainId) != null) {
+      // same certificates and CRLs, and none of them expired since they were checked
+      return;
+    }
+
+    CrlIndex crlIndex = null;
+    if (crls != null && !crls.isEmpty()) {
+      for (X509CRL crl : crls) {
+        if (crl.getNextUpdate() != null && crl.getNextUpdate().getTime() < now) {
+          LOG.warn("CRL is out of date nextUpdate < now");
+        }
+      }
+      crlIndex = CRL_INDEXES.get(crlsId);
+      if (crlIndex == null) {
+        crlIndex = new CrlIndex(crls);
+        CRL_INDEXES.put(crlsId, crlIndex, now + MAX_VALIDATION_AGE);
+      }
+    }
+
     for (int i = 0; i < certificates.size(); i++) {
       final X509Certificate subjectCert = certificates.get(i);
       subjectCert.checkValidity();
       // check if the certificate is revoked
-      if (crls != null) {
-        for (X509CRL crl : crls) {
-          if (crl.getNextUpdate().getTime() < now) {
-            LOG.warn("CRL is out of date nextUpdate < now");
-          }
-          if (crl.isRevoked(subjectCert)) {
-            throw new CertificateException("Certificate is revoked");
-          }
-        }
+      if (crlIndex != null && crlIndex.isRevoked(subjectCert)) {
+        throw new CertificateException("Certificate is revoked");
       }
 
       // single certificate nothing else to be checked
       if (certificates.size() == 1) {
+        VALID_CHAINS.put(chainId, Boolean.TRUE, validUntil(now, certificates, crls));
         return;
       }
 
@@ -133,6 +191,55 @@ public final class CertificateHelper {
       X509Certificate root = certificates.get(certificates.size() - 1);
       root.verify(root.getPublicKey());
     }
+
+    VALID_CHAINS.put(chainId, Boolean.TRUE, validUntil(now, certificates, crls));
+  }
+
+  /**
+   * @return the time until a validation result holds: the earliest certificate notAfter or CRL nextUpdate, but no
+   * longer than {@link #MAX_VALIDATION_AGE}.
+   */
+  static long validUntil(long now, List<X509Certificate> certificates, List<X509CRL> crls) {
+    long expiresAt = now + MAX_VALIDATION_AGE;
+
+    for (X509Certificate certificate : certificates) {
+      expiresAt = Math.min(expiresAt, certificate.getNotAfter().getTime());
+    }
+    if (crls != null) {
+      for (X509CRL crl : crls) {
+        if (crl.getNextUpdate() != null) {
+          expiresAt = Math.min(expiresAt, crl.getNextUpdate().getTime());
+        }
+      }
+    }
+    return expiresAt;
+  }
+
+  /**
+   * @return {@code true} if a successful validation of the chain, against the same CRLs, is cached.
+   */
+  static boolean isCached(List<X509Certificate> certificates, boolean withRootCA, List<X509CRL> crls) throws NoSuchAlgorithmException, CertificateException {
+    final String crlsId = crls == null || crls.isEmpty() ? "" : fingerprint(crls);
+    return VALID_CHAINS.get(fingerprint(certificates, withRootCA, crlsId)) != null;
+  }
+
+  private static String fingerprint(List<X509Certificate> certificates, boolean withRootCA, String crlsId) throws NoSuchAlgorithmException, CertificateException {
+    final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+    for (X509Certificate certificate : certificates) {
+      // the whole encoding, anything less could let a forged certificate reuse a validation result
+      sha256.update(certificate.getEncoded());
+    }
+    return Codec.base64Encode(sha256.digest()) + (withRootCA ? ":ca:" : "::") + crlsId;
+  }
+
+  private static String fingerprint(List<X509CRL> crls) throws NoSuchAlgorithmException {
+    final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+    for (X509CRL crl : crls) {
+      // CRLs are trusted configuration, their signature is enough to tell them apart and avoids hashing large lists
+      sha256.update(crl.getIssuerX500Principal().getEncoded());
+      sha256.update(crl.getSignature());
+    }
+    return Codec.base64Encode(sha256.digest());
   }
 
   public static CertInfo getCertInfo(X509Certificate cert) {
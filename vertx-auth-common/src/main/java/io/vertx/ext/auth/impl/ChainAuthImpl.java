@@ -16,7 +16,10 @@
 package io.vertx.ext.auth.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.ChainAuth;
+import io.vertx.ext.auth.ChainAuthOptions;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
@@ -24,14 +27,31 @@ import io.vertx.ext.auth.authentication.Credentials;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class ChainAuthImpl implements ChainAuth {
 
   private final List<AuthenticationProvider> providers = new ArrayList<>();
+  private final Vertx vertx;
   private final boolean all;
+  private final boolean parallel;
+  private final long hedgeDelay;
+  private final long timeout;
 
   public ChainAuthImpl(boolean all) {
+    this.vertx = null;
     this.all = all;
+    this.parallel = false;
+    this.hedgeDelay = 0L;
+    this.timeout = 0L;
+  }
+
+  public ChainAuthImpl(Vertx vertx, boolean all, ChainAuthOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.all = all;
+    this.parallel = options.isParallel();
+    this.hedgeDelay = options.getHedgeDelay();
+    this.timeout = options.getTimeout();
   }
 
   @Override
@@ -50,9 +70,136 @@ public class ChainAuthImpl implements ChainAuth {
 
     if (providers.size() == 0) {
       return Future.failedFuture("No providers in the auth chain.");
-    } else {
+    }
+
+    if (!parallel) {
       return iterate(0, credentials, null);
     }
+
+    if (all) {
+      return fanOut(credentials);
+    } else {
+      final Promise<User> promise = Promise.promise();
+      new Race(credentials, promise).start();
+      return promise.future();
+    }
+  }
+
+  /**
+   * Authenticates with a single provider, failing if it does not complete within the configured timeout.
+   */
+  private Future<User> authenticate(AuthenticationProvider provider, Credentials credentials) {
+    final Future<User> future = provider.authenticate(credentials);
+
+    if (timeout <= 0 || future.isComplete()) {
+      return future;
+    }
+
+    final Promise<User> promise = Promise.promise();
+    final long timerId = vertx.setTimer(timeout, t -> promise.tryFail("Auth provider timed out after " + timeout + "ms"));
+
+    future.onComplete(ar -> {
+      vertx.cancelTimer(timerId);
+      if (ar.succeeded()) {
+        promise.tryComplete(ar.result());
+      } else {
+        promise.tryFail(ar.cause());
+      }
+    });
+
+    return promise.future();
+  }
+
+  private Future<User> fanOut(Credentials credentials) {
+    final List<Future<User>> futures = new ArrayList<>(providers.size());
+    for (AuthenticationProvider provider : providers) {
+      futures.add(authenticate(provider, credentials));
+    }
+
+    // fails as soon as one provider fails
+    return Future.all(futures)
+      .map(done -> {
+        // merge in the chain order, regardless of the completion order
+        User user = null;
+        for (Future<User> future : futures) {
+          user = user == null ? future.result() : user.merge(future.result());
+        }
+        return user;
+      });
+  }
+
+  /**
+   * Starts the providers in the chain order, the next one being started when the hedge delay expires or when a
+   * previous one fails. The first success wins.
+   */
+  private final class Race {
+
+    private final Credentials credentials;
+    private final Promise<User> promise;
+
+    private int started;
+    private int failed;
+    private long timerId = -1;
+
+    Race(Credentials credentials, Promise<User> promise) {
+      this.credentials = credentials;
+      this.promise = promise;
+    }
+
+    void start() {
+      if (hedgeDelay == 0) {
+        for (int i = 0; i < providers.size(); i++) {
+          next();
+        }
+      } else {
+        next();
+      }
+    }
+
+    private void next() {
+      final AuthenticationProvider provider;
+
+      synchronized (this) {
+        if (started == providers.size() || promise.future().isComplete()) {
+          return;
+        }
+        provider = providers.get(started++);
+        cancelTimer();
+        if (hedgeDelay > 0 && started < providers.size()) {
+          timerId = vertx.setTimer(hedgeDelay, t -> next());
+        }
+      }
+
+      authenticate(provider, credentials)
+        .onComplete(ar -> {
+          if (ar.succeeded()) {
+            if (promise.tryComplete(ar.result())) {
+              synchronized (this) {
+                cancelTimer();
+              }
+            }
+          } else {
+            final boolean exhausted;
+            synchronized (this) {
+              exhausted = ++failed == providers.size();
+            }
+            if (exhausted) {
+              // no more providers, means that we failed to find a provider capable of performing this operation
+              promise.tryFail("No more providers in the auth chain.");
+            } else {
+              // do not wait for the hedge delay
+              next();
+            }
+          }
+        });
+    }
+
+    private void cancelTimer() {
+      if (timerId != -1) {
+        vertx.cancelTimer(timerId);
+        timerId = -1;
+      }
+    }
   }
 
   private Future<User> iterate(final int idx, final Credentials credentials, final User previousUser) {
@@ -68,8 +215,7 @@ public class ChainAuthImpl implements ChainAuth {
     }
 
     // attempt to perform operation
-    return providers.get(idx)
-      .authenticate(credentials)
+    return authenticate(providers.get(idx), credentials)
       .compose(user -> {
         if (!all) {
           // if ANY then a success completes
@@ -15,6 +15,7 @@
  */
 package io.vertx.ext.auth.impl;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
@@ -195,6 +196,25 @@ public final class Codec {
     return BASE64URL_DECODER.decode(base64);
   }
 
+  /**
+   * Decodes a range of a byte array, avoiding a copy of the source range.
+   *
+   * @param base64 the source array
+   * @param offset the start of the range
+   * @param length the length of the range
+   * @return the decoded bytes
+   */
+  public static byte[] base64UrlDecode(byte[] base64, int offset, int length) {
+    final ByteBuffer decoded = BASE64URL_DECODER.decode(ByteBuffer.wrap(base64, offset, length));
+    final byte[] array = decoded.array();
+    if (decoded.arrayOffset() == 0 && decoded.position() == 0 && decoded.remaining() == array.length) {
+      return array;
+    }
+    final byte[] result = new byte[decoded.remaining()];
+    decoded.get(result);
+    return result;
+  }
+
   public static String base64Encode(byte[] bytes) {
     return BASE64.encodeToString(bytes);
   }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock free count-min sketch: approximate counters for an unbounded number of keys in a fixed amount of memory.
+ * <p>
+ * Each key maps to one counter per row, the estimate of a key is the smallest of its counters so it is never under
+ * estimated. Keys are given as a 64 bit hash, rows are addressed with double hashing of its two halves.
+ */
+final class CountMinSketch {
+
+  private final AtomicIntegerArray counters;
+  private final int depth;
+  private final int width;
+  private final int mask;
+
+  /**
+   * @param width number of counters per row, rounded up to a power of two
+   * @param depth number of rows
+   */
+  CountMinSketch(int width, int depth) {
+    this.width = width <= 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+    this.mask = this.width - 1;
+    this.depth = depth;
+    this.counters = new AtomicIntegerArray(this.width * depth);
+  }
+
+  /**
+   * Increments the counters of a key.
+   *
+   * @param hash the key hash
+   * @return the new estimate for the key
+   */
+  int increment(long hash) {
+    final int h1 = (int) hash;
+    // odd, so all rows do not collapse into the same counter
+    final int h2 = (int) (hash >>> 32) | 1;
+
+    int min = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      final int value = counters.incrementAndGet(row * width + ((h1 + row * h2) & mask));
+      if (value < min) {
+        min = value;
+      }
+    }
+    return min;
+  }
+
+  /**
+   * Reverts a previous {@link #increment(long)} of the same key.
+   *
+   * @param hash the key hash
+   */
+  void decrement(long hash) {
+    final int h1 = (int) hash;
+    final int h2 = (int) (hash >>> 32) | 1;
+
+    for (int row = 0; row < depth; row++) {
+      counters.decrementAndGet(row * width + ((h1 + row * h2) & mask));
+    }
+  }
+
+  /**
+   * @param hash the key hash
+   * @return the estimated count for the key
+   */
+  int estimate(long hash) {
+    final int h1 = (int) hash;
+    final int h2 = (int) (hash >>> 32) | 1;
+
+    int min = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      final int value = counters.get(row * width + ((h1 + row * h2) & mask));
+      if (value < min) {
+        min = value;
+      }
+    }
+    return min;
+  }
+}
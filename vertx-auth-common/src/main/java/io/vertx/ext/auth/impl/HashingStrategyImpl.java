@@ -1,5 +1,7 @@
 package io.vertx.ext.auth.impl;
 
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.ext.auth.HashString;
@@ -14,6 +16,7 @@ public class HashingStrategyImpl implements HashingStrategy {
   private static final Logger LOG = LoggerFactory.getLogger(HashingStrategyImpl.class);
 
   private final Map<String, HashingAlgorithm> algorithms = new HashMap<>();
+  private volatile VerificationCache verificationCache;
 
   public void add(HashingAlgorithm algorithm) {
     algorithms.put(algorithm.id(), algorithm);
@@ -55,6 +58,11 @@ public class HashingStrategyImpl implements HashingStrategy {
       return false;
     }
 
+    final VerificationCache cache = verificationCache;
+    if (cache != null && cache.contains(hash, password)) {
+      return true;
+    }
+
     String hasha = hashString.hash();
     String hashb = algorithm.hash(hashString, password);
 
@@ -63,9 +71,51 @@ public class HashingStrategyImpl implements HashingStrategy {
       diff |= hasha.charAt(i) ^ hashb.charAt(i);
     }
 
+    if (diff == 0 && cache != null) {
+      cache.put(hash, password);
+    }
+
     return diff == 0;
   }
 
+  @Override
+  public Future<Boolean> verify(Vertx vertx, String hash, String password) {
+    // missing data
+    if (hash == null || password == null) {
+      return Future.succeededFuture(false);
+    }
+
+    final HashingAlgorithm algorithm;
+    try {
+      algorithm = algorithms.get(new HashString(hash).id());
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+
+    if (algorithm != null && algorithm.isSlow()) {
+      final VerificationCache cache = verificationCache;
+      if (cache != null && cache.contains(hash, password)) {
+        // no need for the thread hop either
+        return Future.succeededFuture(true);
+      }
+      return vertx.getOrCreateContext()
+        .executeBlocking(() -> verify(hash, password), false);
+    }
+
+    // cheap algorithms do not justify the thread hop
+    try {
+      return Future.succeededFuture(verify(hash, password));
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  @Override
+  public HashingStrategy verificationCache(int maxSize, int ttlInSeconds) {
+    verificationCache = maxSize > 0 ? new VerificationCache(maxSize, ttlInSeconds * 1000L) : null;
+    return this;
+  }
+
   @Override
   public HashingAlgorithm get(String id) {
     return algorithms.get(id);
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Future;
+import io.vertx.ext.auth.ThrottlingAuth;
+import io.vertx.ext.auth.ThrottlingAuthOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counts failures in two consecutive windows of count-min sketches, a key is throttled when the failures of the
+ * current and previous window reach the limit. Attempts still in progress count as failures until they succeed.
+ * Windows are rotated with a CAS on the first access after the current one expired, so no timer or lock is needed.
+ */
+public class ThrottlingAuthImpl implements ThrottlingAuth {
+
+  private static final class Window {
+    final CountMinSketch current;
+    final CountMinSketch previous;
+    final long start;
+
+    Window(CountMinSketch current, CountMinSketch previous, long start) {
+      this.current = current;
+      this.previous = previous;
+      this.start = start;
+    }
+  }
+
+  private final AuthenticationProvider provider;
+  private final int maxFailures;
+  private final long windowMillis;
+  private final int sketchWidth;
+  private final int sketchDepth;
+  // keys are hashed with a random seed, so collisions with a given key cannot be computed upfront
+  private final long seed = new SecureRandom().nextLong();
+  private final AtomicReference<Window> window;
+
+  public ThrottlingAuthImpl(AuthenticationProvider provider, ThrottlingAuthOptions options) {
+    this.provider = Objects.requireNonNull(provider);
+    this.maxFailures = options.getMaxFailures();
+    this.windowMillis = options.getWindowInSeconds() * 1000L;
+    this.sketchWidth = options.getSketchWidth();
+    this.sketchDepth = options.getSketchDepth();
+    this.window = new AtomicReference<>(new Window(new CountMinSketch(sketchWidth, sketchDepth), null, System.currentTimeMillis()));
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials) {
+    return authenticate(credentials, null);
+  }
+
+  @Override
+  public Future<User> authenticate(Credentials credentials, String clientKey) {
+    final String username = credentials instanceof UsernamePasswordCredentials ?
+      ((UsernamePasswordCredentials) credentials).getUsername() :
+      null;
+
+    // the prefixes keep usernames and client keys apart
+    final long userHash = username == null ? 0 : hash('u', username);
+    final long clientHash = clientKey == null ? 0 : hash('c', clientKey);
+
+    // every attempt is counted as a failure before it reaches the provider, so a burst of concurrent attempts cannot
+    // all pass the check, the count is reverted when the attempt succeeds
+    final Window w = window();
+    final boolean userThrottled = username != null && reserve(w, userHash) > maxFailures;
+    final boolean clientThrottled = clientKey != null && reserve(w, clientHash) > maxFailures;
+
+    if (userThrottled || clientThrottled) {
+      release(w, username, userHash, clientKey, clientHash);
+      // fail fast, the provider (and its password hashing) is not involved
+      return Future.failedFuture("Too many failed attempts");
+    }
+
+    final Future<User> result;
+    try {
+      result = provider.authenticate(credentials);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+
+    return result
+      .onSuccess(user -> release(w, username, userHash, clientKey, clientHash));
+  }
+
+  private static int reserve(Window w, long hash) {
+    final int failures = w.current.increment(hash);
+    return w.previous == null ? failures : failures + w.previous.estimate(hash);
+  }
+
+  private static void release(Window w, String username, long userHash, String clientKey, long clientHash) {
+    // always the sketch that was incremented, even if the window rotated in the meantime
+    if (username != null) {
+      w.current.decrement(userHash);
+    }
+    if (clientKey != null) {
+      w.current.decrement(clientHash);
+    }
+  }
+
+  private Window window() {
+    final Window w = window.get();
+    final long now = System.currentTimeMillis();
+    final long elapsed = now - w.start;
+
+    if (elapsed < windowMillis) {
+      return w;
+    }
+
+    // after more than one idle window the current counts are too old to be kept as previous
+    final Window next = new Window(new CountMinSketch(sketchWidth, sketchDepth), elapsed < 2 * windowMillis ? w.current : null, now);
+    // if another thread rotated first, use its window
+    return window.compareAndSet(w, next) ? next : window.get();
+  }
+
+  private long hash(char prefix, String key) {
+    // seeded FNV-1a, finalized with the murmur3 mixer
+    long h = seed ^ prefix;
+    h *= 0x100000001b3L;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Remembers recent successful password verifications, so the same correct password presented again for the same
+ * stored hash does not go through the (slow) hashing algorithm.
+ * <p>
+ * Entries are keyed by a HMAC of the stored hash and the password under a random key that never leaves the process,
+ * neither the password nor anything that can be brute forced offline without that key is kept in memory. Failed
+ * verifications are never remembered.
+ */
+final class VerificationCache {
+
+  private static final String ALGORITHM = "HmacSHA256";
+
+  private final ExpiringCache<String, Boolean> cache;
+  private final long ttl;
+  private final ThreadLocal<Mac> mac;
+
+  /**
+   * @param maxSize the maximum number of remembered verifications
+   * @param ttl     the time in milliseconds a verification is remembered
+   */
+  VerificationCache(int maxSize, long ttl) {
+    final byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    final SecretKeySpec secret = new SecretKeySpec(key, ALGORITHM);
+
+    final Mac probe;
+    try {
+      probe = Mac.getInstance(ALGORITHM);
+      probe.init(secret);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+
+    this.cache = new ExpiringCache<>(maxSize);
+    this.ttl = ttl;
+    // Mac instances are stateful, keep one per thread
+    this.mac = ThreadLocal.withInitial(() -> {
+      try {
+        return (Mac) probe.clone();
+      } catch (CloneNotSupportedException e) {
+        try {
+          final Mac instance = Mac.getInstance(ALGORITHM);
+          instance.init(secret);
+          return instance;
+        } catch (GeneralSecurityException ex) {
+          throw new IllegalStateException(ex);
+        }
+      }
+    });
+  }
+
+  boolean contains(String hash, String password) {
+    return cache.get(key(hash, password)) != null;
+  }
+
+  void put(String hash, String password) {
+    cache.put(key(hash, password), Boolean.TRUE, System.currentTimeMillis() + ttl);
+  }
+
+  private String key(String hash, String password) {
+    final Mac mac = this.mac.get();
+    final byte[] hashBytes = hash.getBytes(StandardCharsets.UTF_8);
+    // length prefix, so the boundary between hash and password is unambiguous
+    mac.update((byte) (hashBytes.length >>> 24));
+    mac.update((byte) (hashBytes.length >>> 16));
+    mac.update((byte) (hashBytes.length >>> 8));
+    mac.update((byte) hashBytes.length);
+    mac.update(hashBytes);
+    return Codec.base64UrlEncode(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+  }
+}
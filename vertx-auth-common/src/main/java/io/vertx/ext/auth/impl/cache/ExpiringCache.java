@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A small concurrent cache, bounded in size, where each entry carries its own expiration time.
+ * <p>
+ * This is not a general purpose cache. It is meant to hold short lived security artifacts (verified tokens,
+ * introspection results, ...) so it favours lock free reads over precise eviction. Expired entries are dropped
+ * when read and, when the cache is full, all expired entries are purged before arbitrary entries are dropped to make
+ * room for new ones, unless the cache is created not to evict live entries, new entries are then refused until some
+ * expire.
+ */
+public final class ExpiringCache<K, V> {
+
+  private static final class Entry<V> {
+    final V value;
+    final long expiresAt;
+
+    Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final int maxSize;
+  private final boolean evictLive;
+  // without live eviction, a full cache has no room before this time, as no entry expires earlier
+  private volatile long noRoomUntil;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxSize the maximum number of entries, must be greater than zero.
+   */
+  public ExpiringCache(int maxSize) {
+    this(maxSize, true);
+  }
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxSize   the maximum number of entries, must be greater than zero.
+   * @param evictLive {@code false} when live entries must never be dropped (e.g.: they guard against replays), a full
+   *                  cache then refuses new entries.
+   */
+  public ExpiringCache(int maxSize, boolean evictLive) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.maxSize = maxSize;
+    this.evictLive = evictLive;
+  }
+
+  /**
+   * Get a value from the cache.
+   *
+   * @param key the key
+   * @return the value or {@code null} if not present or expired.
+   */
+  public V get(K key) {
+    final Entry<V> entry = entries.get(key);
+
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.expiresAt <= System.currentTimeMillis()) {
+      // only remove if it wasn't replaced in the meantime
+      entries.remove(key, entry);
+      return null;
+    }
+
+    return entry.value;
+  }
+
+  /**
+   * Put a value in the cache. Values that are already expired are ignored.
+   *
+   * @param key       the key
+   * @param value     the value
+   * @param expiresAt the absolute expiration time in milliseconds since the epoch.
+   */
+  public void put(K key, V value, long expiresAt) {
+    final long now = System.currentTimeMillis();
+
+    if (expiresAt <= now) {
+      return;
+    }
+
+    if (entries.size() >= maxSize && !entries.containsKey(key) && !evict(now)) {
+      return;
+    }
+
+    entries.put(key, new Entry<>(value, expiresAt));
+    added(expiresAt);
+  }
+
+  /**
+   * Put a value in the cache only if there is no live value for the key. The check and the insertion are atomic, so
+   * when several callers race on the same key exactly one of them wins.
+   *
+   * @param key       the key
+   * @param value     the value
+   * @param expiresAt the absolute expiration time in milliseconds since the epoch.
+   * @return {@code true} if the value was stored, {@code false} if a live value was already present or the cache is
+   * full and does not evict live entries.
+   */
+  public boolean putIfAbsent(K key, V value, long expiresAt) {
+    final long now = System.currentTimeMillis();
+
+    if (expiresAt <= now) {
+      // there is nothing to keep, but the caller still "won"
+      return get(key) == null;
+    }
+
+    final Entry<V> entry = new Entry<>(value, expiresAt);
+
+    for (; ; ) {
+      final Entry<V> current = entries.get(key);
+
+      if (current == null) {
+        if (entries.size() >= maxSize && !evict(now)) {
+          return false;
+        }
+        if (entries.putIfAbsent(key, entry) == null) {
+          added(expiresAt);
+          return true;
+        }
+      } else if (current.expiresAt <= now) {
+        // replace the expired entry, unless someone else did it first
+        if (entries.replace(key, current, entry)) {
+          added(expiresAt);
+          return true;
+        }
+      } else {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Removes a value from the cache.
+   *
+   * @param key the key
+   */
+  public void remove(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Removes all values from the cache.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @return the current number of entries, including the ones that have expired but weren't yet purged.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  private void added(long expiresAt) {
+    if (!evictLive && expiresAt < noRoomUntil) {
+      // a racing update may leave a later time, the cache then only refuses entries a bit longer than needed
+      noRoomUntil = expiresAt;
+    }
+  }
+
+  /**
+   * @return {@code false} if there is still no room for a new entry.
+   */
+  private boolean evict(long now) {
+    if (!evictLive && now < noRoomUntil) {
+      // nothing expired since the last purge, do not scan the whole cache again
+      return false;
+    }
+
+    long nextExpiry = Long.MAX_VALUE;
+    final Iterator<Entry<V>> values = entries.values().iterator();
+    while (values.hasNext()) {
+      final long expiresAt = values.next().expiresAt;
+      if (expiresAt <= now) {
+        values.remove();
+      } else if (expiresAt < nextExpiry) {
+        nextExpiry = expiresAt;
+      }
+    }
+
+    if (entries.size() < maxSize) {
+      return true;
+    }
+    if (!evictLive) {
+      noRoomUntil = nextExpiry;
+      return false;
+    }
+
+    // still full, drop a slice of the entries so we do not pay the purge on every put
+    int drop = Math.max(1, maxSize / 10);
+    final Iterator<K> it = entries.keySet().iterator();
+    while (drop-- > 0 && it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+    return true;
+  }
+}
@@ -32,11 +32,18 @@ import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
  */
 public abstract class AbstractMDHash implements HashingAlgorithm {
 
-  private final MessageDigest md;
+  // MessageDigest is stateful, each thread gets its own instance, so concurrent hashing needs no locking
+  private final ThreadLocal<MessageDigest> md;
 
   AbstractMDHash(final String algorithm) {
+    final MessageDigest probe = getInstance(algorithm);
+    md = ThreadLocal.withInitial(() -> getInstance(algorithm));
+    md.set(probe);
+  }
+
+  private static MessageDigest getInstance(String algorithm) {
     try {
-      md = MessageDigest.getInstance(algorithm);
+      return MessageDigest.getInstance(algorithm);
     } catch (NoSuchAlgorithmException nsae) {
       throw new RuntimeException(algorithm + " is not available", nsae);
     }
@@ -44,7 +51,8 @@ public abstract class AbstractMDHash implements HashingAlgorithm {
 
   @Override
   public String hash(HashString hashString, String password) {
-    return base64EncodeWithoutPadding(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    // digest() always resets the instance, even if a previous call failed halfway
+    return base64EncodeWithoutPadding(md.get().digest(password.getBytes(StandardCharsets.UTF_8)));
   }
 
 }
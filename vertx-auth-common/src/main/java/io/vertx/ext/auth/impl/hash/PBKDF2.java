@@ -59,6 +59,11 @@ public class PBKDF2 implements HashingAlgorithm {
     return DEFAULT_CONFIG;
   }
 
+  @Override
+  public boolean isSlow() {
+    return true;
+  }
+
   @Override
   public String hash(HashString hashString, String password) {
 
@@ -73,7 +73,11 @@ public final class JWS {
   }
 
   private final JWK jwk;
-  private final Signature signature;
+  // JCA Signature and Mac objects are stateful and not thread safe. Instead of
+  // serializing all threads on a single instance, each thread gets its own copy
+  // so concurrent sign/verify operations with the same key do not contend.
+  private final ThreadLocal<Signature> signature;
+  private final ThreadLocal<Mac> mac;
   // the length of the signature. This is derived from the algorithm name
   // this will help to cope with signatures that are longer (yet valid) than
   // the expected result
@@ -84,27 +88,74 @@ public final class JWS {
       throw new IllegalArgumentException("JWK isn't meant to perform JWS operations");
     }
 
+    final String alg = jwk.getAlgorithm();
+    final Signature sig;
+
     try {
-      this.signature = getSignature(jwk.getAlgorithm());
-      this.len = getSignatureLength(jwk.getAlgorithm(), jwk.publicKey());
+      // fail fast, the algorithm must be available
+      sig = getSignature(alg);
+      this.len = getSignatureLength(alg, jwk.publicKey());
     } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
       throw new RuntimeException(e);
     }
 
+    if (sig == null) {
+      this.signature = null;
+    } else {
+      this.signature = ThreadLocal.withInitial(() -> {
+        try {
+          return getSignature(alg);
+        } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
+          throw new RuntimeException(e);
+        }
+      });
+      // the current thread can reuse the probe instance
+      this.signature.set(sig);
+    }
+
+    this.mac = macPool(jwk.mac());
     this.jwk = jwk;
   }
 
+  /**
+   * Creates a per thread pool of {@link Mac} instances from the JWK initialized {@link Mac}. The JWK instance is never
+   * used directly, as it can be shared by several {@link JWS} objects. When the provider does not support cloning,
+   * {@code null} is returned and the operations fall back to lock the shared instance.
+   */
+  private static @Nullable ThreadLocal<Mac> macPool(Mac mac) {
+    if (mac == null) {
+      return null;
+    }
+
+    final Mac prototype;
+    try {
+      synchronized (mac) {
+        prototype = (Mac) mac.clone();
+      }
+    } catch (CloneNotSupportedException e) {
+      LOG.debug("Mac provider does not support cloning, falling back to synchronized access", e);
+      return null;
+    }
+
+    return ThreadLocal.withInitial(() -> {
+      try {
+        synchronized (prototype) {
+          return (Mac) prototype.clone();
+        }
+      } catch (CloneNotSupportedException e) {
+        // unreachable as the prototype has been cloned before
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
   public byte[] sign(byte[] payload) {
     if (payload == null) {
       throw new NullPointerException("payload is missing");
     }
 
-    final Mac mac = jwk.mac();
-
-    if (mac != null) {
-      synchronized (jwk) {
-        return mac.doFinal(payload);
-      }
+    if (jwk.mac() != null) {
+      return hmac(payload, 0, payload.length);
     } else {
       final PrivateKey privateKey = jwk.privateKey();
       final String kty = jwk.kty();
@@ -113,16 +164,15 @@ public final class JWS {
         throw new IllegalStateException("JWK doesn't contain secKey material");
       }
       try {
-        synchronized (signature) {
-          signature.initSign(privateKey);
-          signature.update(payload);
-          byte[] sig = signature.sign();
-          switch (kty) {
-            case "EC":
-              return JWS.toJWS(sig, len);
-            default:
-              return sig;
-          }
+        final Signature signature = this.signature.get();
+        signature.initSign(privateKey);
+        signature.update(payload);
+        byte[] sig = signature.sign();
+        switch (kty) {
+          case "EC":
+            return JWS.toJWS(sig, len);
+          default:
+            return sig;
         }
       } catch (SignatureException | InvalidKeyException e) {
         throw new RuntimeException(e);
@@ -137,13 +187,28 @@ public final class JWS {
     if (payload == null) {
       throw new NullPointerException("payload is missing");
     }
+    return verify(expected, payload, 0, payload.length);
+  }
 
-    final Mac mac = jwk.mac();
+  /**
+   * Verifies a signature over a range of the given array, avoiding the need to copy the signing input.
+   *
+   * @param expected the expected signature
+   * @param payload  the array holding the signing input
+   * @param offset   the start of the signing input
+   * @param length   the length of the signing input
+   * @return {@code true} if the signature is valid.
+   */
+  public boolean verify(byte[] expected, byte[] payload, int offset, int length) {
+    if (expected == null) {
+      throw new NullPointerException("signature is missing");
+    }
+    if (payload == null) {
+      throw new NullPointerException("payload is missing");
+    }
 
-    if (mac != null) {
-      synchronized (jwk) {
-        return MessageDigest.isEqual(expected, sign(payload));
-      }
+    if (jwk.mac() != null) {
+      return MessageDigest.isEqual(expected, hmac(payload, offset, length));
     } else {
       try {
         final PublicKey publicKey = jwk.publicKey();
@@ -152,27 +217,26 @@ public final class JWS {
         if (publicKey == null) {
           throw new IllegalStateException("JWK doesn't contain pubKey material");
         }
-        synchronized (signature) {
-          signature.initVerify(publicKey);
-          signature.update(payload);
-          switch (kty) {
-            case "EC":
-              // JCA EC signatures expect ASN1 formatted signatures
-              // while JWS uses it's own format (R+S), while this will be true
-              // for all JWS, it may not be true for COSE keys
-              if (!JWS.isASN1(expected)) {
-                expected = JWS.toASN1(expected);
-              }
-              break;
-          }
-          if (expected.length < len) {
-            // need to adapt the expectation to make the RSA? engine happy
-            byte[] normalized = new byte[len];
-            System.arraycopy(expected, 0, normalized, 0, expected.length);
-            return signature.verify(normalized);
-          } else {
-            return signature.verify(expected);
-          }
+        final Signature signature = this.signature.get();
+        signature.initVerify(publicKey);
+        signature.update(payload, offset, length);
+        switch (kty) {
+          case "EC":
+            // JCA EC signatures expect ASN1 formatted signatures
+            // while JWS uses it's own format (R+S), while this will be true
+            // for all JWS, it may not be true for COSE keys
+            if (!JWS.isASN1(expected)) {
+              expected = JWS.toASN1(expected);
+            }
+            break;
+        }
+        if (expected.length < len) {
+          // need to adapt the expectation to make the RSA? engine happy
+          byte[] normalized = new byte[len];
+          System.arraycopy(expected, 0, normalized, 0, expected.length);
+          return signature.verify(normalized);
+        } else {
+          return signature.verify(expected);
         }
       } catch (SignatureException | InvalidKeyException e) {
         throw new RuntimeException(e);
@@ -184,6 +248,20 @@ public final class JWS {
     return jwk;
   }
 
+  private byte[] hmac(byte[] payload, int offset, int length) {
+    if (mac != null) {
+      final Mac mac = this.mac.get();
+      mac.update(payload, offset, length);
+      return mac.doFinal();
+    }
+    // the provider cannot clone the Mac, the shared instance must be locked
+    final Mac shared = jwk.mac();
+    synchronized (shared) {
+      shared.update(payload, offset, length);
+      return shared.doFinal();
+    }
+  }
+
   private static @Nullable Signature getSignature(String alg) throws NoSuchAlgorithmException, InvalidAlgorithmParameterException {
     Signature sig;
 
@@ -234,6 +312,22 @@ public final class JWS {
    * @param data        - data to verify
    */
   public static boolean verifySignature(String alg, X509Certificate certificate, byte[] signature, byte[] data) throws InvalidKeyException, SignatureException, InvalidAlgorithmParameterException, NoSuchAlgorithmException {
+    if (data == null) {
+      throw new SignatureException("Cannot validate signature, one of {alg, certificate, signature, data} is null");
+    }
+    return verifySignature(alg, certificate, signature, data, 0, data.length);
+  }
+
+  /**
+   * Verify if the data range provided matches the signature based of the given certificate.
+   *
+   * @param certificate - origin certificate
+   * @param signature   - received signature
+   * @param data        - array holding the data to verify
+   * @param offset      - start of the data
+   * @param length      - length of the data
+   */
+  public static boolean verifySignature(String alg, X509Certificate certificate, byte[] signature, byte[] data, int offset, int length) throws InvalidKeyException, SignatureException, InvalidAlgorithmParameterException, NoSuchAlgorithmException {
 
     if (alg == null || certificate == null || signature == null || data == null) {
       throw new SignatureException("Cannot validate signature, one of {alg, certificate, signature, data} is null");
@@ -258,7 +352,7 @@ public final class JWS {
     }
 
     sig.initVerify(certificate);
-    sig.update(data);
+    sig.update(data, offset, length);
 
     return sig.verify(signature);
   }
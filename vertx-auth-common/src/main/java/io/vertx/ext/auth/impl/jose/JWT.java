@@ -56,6 +56,10 @@ public final class JWT {
   // keep 2 maps (1 for sing, 1 for verify) this simplifies the lookups
   private final Map<String, List<JWS>> SIGN = new ConcurrentHashMap<>();
   private final Map<String, List<JWS>> VERIFY = new ConcurrentHashMap<>();
+  // verification keys indexed by algorithm and key id, derived from VERIFY
+  private final Map<String, Verifiers> VERIFIERS = new ConcurrentHashMap<>();
+  // incremented each time a key is added or replaced, allows derived state (e.g.: caches) to be invalidated
+  private volatile int keysVersion;
 
   /**
    * Adds a JSON Web Key (rfc7517) to the signature maps.
@@ -71,11 +75,13 @@ public final class JWT {
         if (jwk.mac() != null || jwk.publicKey() != null) {
           current = VERIFY.computeIfAbsent(jwk.getAlgorithm(), k -> new ArrayList<>());
           addJWK(current, jwk);
+          VERIFIERS.put(jwk.getAlgorithm(), new Verifiers(current));
         }
         if (jwk.mac() != null || jwk.privateKey() != null) {
           current = SIGN.computeIfAbsent(jwk.getAlgorithm(), k -> new ArrayList<>());
           addJWK(current, jwk);
         }
+        keysVersion++;
       }
     } else {
       LOG.warn("JWK skipped: use: sig != " + jwk.use());
@@ -148,29 +154,27 @@ public final class JWT {
   }
 
   public static JsonObject parse(final byte[] token) {
-    return parse(new String(token, UTF8));
+    return parse(new CompactToken(token));
   }
 
   public static JsonObject parse(final String token) {
-    String[] segments = token.split("\\.");
-    if (segments.length < 2 || segments.length > 3) {
-      throw new RuntimeException("Not enough or too many segments [" + segments.length + "]");
-    }
+    return parse(new CompactToken(token));
+  }
 
-    // All segment should be base64
-    String headerSeg = segments[0];
-    String payloadSeg = segments[1];
-    String signatureSeg = segments.length == 2 ? null : segments[2];
+  private static JsonObject parse(final CompactToken token) {
+    if (token.segments < 2 || token.segments > 3) {
+      throw new RuntimeException("Not enough or too many segments [" + token.segments + "]");
+    }
 
     // base64 decode and parse JSON
-    JsonObject header = new JsonObject(new String(base64UrlDecode(headerSeg), UTF8));
-    JsonObject payload = new JsonObject(new String(base64UrlDecode(payloadSeg), UTF8));
+    JsonObject header = new JsonObject(Buffer.buffer(token.header()));
+    JsonObject payload = new JsonObject(Buffer.buffer(token.payload()));
 
     return new JsonObject()
       .put("header", header)
       .put("payload", payload)
-      .put("signatureBase", (headerSeg + "." + payloadSeg))
-      .put("signature", signatureSeg);
+      .put("signatureBase", token.signingInput())
+      .put("signature", token.segments == 2 ? null : token.signatureSegment());
   }
 
   public JsonObject decode(final String token) throws SignatureException {
@@ -182,25 +186,19 @@ public final class JWT {
   }
 
   public JsonObject decode(final String token, boolean full, List<X509CRL> crls) throws SignatureException {
-    // lock the secure state
-    String[] segments = token.split("\\.");
+    final CompactToken jwt = new CompactToken(token);
 
-    if (segments.length < 2) {
+    if (jwt.segments < 2) {
       throw new IllegalArgumentException("Invalid format for JWT");
     }
 
-    // All segment should be base64
-    String headerSeg = segments[0];
-    String payloadSeg = segments[1];
-    String signatureSeg = segments.length == 3 ? segments[2] : null;
-
     // empty signature is never allowed
-    if ("".equals(signatureSeg)) {
+    if (jwt.segments == 3 && jwt.signatureLength() == 0) {
       throw new IllegalStateException("Signature is required");
     }
 
     // base64 decode and parse JSON
-    JsonObject header = new JsonObject(Buffer.buffer(base64UrlDecode(headerSeg)));
+    JsonObject header = new JsonObject(Buffer.buffer(jwt.header()));
 
     final boolean unsecure = isUnsecure();
     if (unsecure) {
@@ -208,17 +206,15 @@ public final class JWT {
       // unsecure mode validation. In this case the number of segments must be 2
       // if there is a certificate chain, we allow it to proceed and later we will assert
       // against this chain
-      if (!allowEmbeddedKey && segments.length != 2) {
+      if (!allowEmbeddedKey && jwt.segments != 2) {
         throw new IllegalStateException("JWT is in unsecured mode but token is signed.");
       }
     } else {
-      if (!allowEmbeddedKey && segments.length != 3) {
+      if (!allowEmbeddedKey && jwt.segments != 3) {
         throw new IllegalStateException("JWT is in secure mode but token is not signed.");
       }
     }
 
-    JsonObject payload = new JsonObject(Buffer.buffer(base64UrlDecode(payloadSeg)));
-
     String alg = header.getString("alg");
 
     // if we only allow secure alg, then none is not a valid option
@@ -229,7 +225,7 @@ public final class JWT {
     // handle the x5c case, only in allowEmbeddedKey mode
     if (allowEmbeddedKey && header.containsKey("x5c")) {
       // if signatureSeg is null fail
-      if (signatureSeg == null) {
+      if (jwt.segments != 3) {
         throw new SignatureException("missing signature segment");
       }
 
@@ -257,9 +253,9 @@ public final class JWT {
           CertificateHelper.checkValidity(certChain, false, crls);
         }
 
-        if (JWS.verifySignature(alg, certChain.get(0), base64UrlDecode(signatureSeg), (headerSeg + "." + payloadSeg).getBytes(UTF8))) {
+        if (JWS.verifySignature(alg, certChain.get(0), jwt.signature(), jwt.data, 0, jwt.payloadEnd)) {
           // ok
-          return full ? new JsonObject().put("header", header).put("payload", payload) : payload;
+          return result(header, jwt, full);
         } else {
           throw new SignatureException("Signature verification failed");
         }
@@ -270,51 +266,58 @@ public final class JWT {
 
     // verify signature. `sign` will return base64 string.
     if (!unsecure) {
-      List<JWS> signatures = VERIFY.get(alg);
+      final Verifiers verifiers = alg == null ? null : VERIFIERS.get(alg);
 
-      if (signatures == null || signatures.size() == 0) {
+      if (verifiers == null) {
         throw new NoSuchKeyIdException(alg);
       }
 
+      // header only checks, tokens with unknown keys are rejected before
+      // any further decoding or cryptographic operation happens
+      final String kid = header.getString("kid");
+      final List<JWS> candidates = verifiers.candidates(kid);
+
+      if (candidates.isEmpty()) {
+        throw new NoSuchKeyIdException(alg, kid);
+      }
+
       // if signatureSeg is null fail
-      if (signatureSeg == null) {
+      if (jwt.segments != 3) {
         throw new SignatureException("missing signature segment");
       }
-      byte[] payloadInput = base64UrlDecode(signatureSeg);
+      byte[] payloadInput = jwt.signature();
+      // by default the signing input is verified in place
+      byte[] signingInput = jwt.data;
+      int signingInputLength = jwt.payloadEnd;
       if (nonceDigest != null && header.containsKey("nonce")) {
         // this is an Azure Graph extension, a nonce is added to the token
         // after the serialization. The original value is the digest of the
         // post value.
+        String headerSeg;
         synchronized (this) {
           nonceDigest.reset();
           header.put("nonce", base64UrlEncode(nonceDigest.digest(header.getString("nonce").getBytes(StandardCharsets.UTF_8))));
           headerSeg = base64UrlEncode(header.encode().getBytes(StandardCharsets.UTF_8));
         }
+        signingInput = (headerSeg + "." + jwt.payloadSegment()).getBytes(UTF8);
+        signingInputLength = signingInput.length;
       }
-      byte[] signingInput = (headerSeg + "." + payloadSeg).getBytes(UTF8);
-
-      String kid = header.getString("kid");
-      boolean hasKey = false;
 
-      for (JWS jws : signatures) {
-        // if a token has a kid and it doesn't match the crypto id skip it
-        if (kid != null && jws.jwk().getId() != null && !kid.equals(jws.jwk().getId())) {
-          continue;
-        }
-        // signal that this object crypto's list has the required key
-        hasKey = true;
-        if (jws.verify(payloadInput, signingInput)) {
-          return full ? new JsonObject().put("header", header).put("payload", payload) : payload;
+      for (JWS jws : candidates) {
+        if (jws.verify(payloadInput, signingInput, 0, signingInputLength)) {
+          return result(header, jwt, full);
         }
       }
 
-      if (hasKey) {
-        throw new SignatureException("Signature verification failed");
-      } else {
-        throw new NoSuchKeyIdException(alg, kid);
-      }
+      throw new SignatureException("Signature verification failed");
     }
 
+    return result(header, jwt, full);
+  }
+
+  private static JsonObject result(JsonObject header, CompactToken jwt, boolean full) {
+    // the payload is only parsed once the token has been verified
+    final JsonObject payload = new JsonObject(Buffer.buffer(jwt.payload()));
     return full ? new JsonObject().put("header", header).put("payload", payload) : payload;
   }
 
@@ -396,6 +399,141 @@ public final class JWT {
     }
   }
 
+  /**
+   * A counter of the changes to the key set. Every call to {@link #addJWK(JWK)} that adds or replaces a key
+   * increments this value.
+   *
+   * @return the current key set version.
+   */
+  public int keysVersion() {
+    return keysVersion;
+  }
+
+  /**
+   * Immutable index of the verification keys of a single algorithm. A token with a {@code kid} can only be verified
+   * by keys with the same id or keys without id, a token without {@code kid} can be verified by any key. The
+   * candidates for each case are computed once, so the lookup during decode is a single hash map access.
+   */
+  private static final class Verifiers {
+
+    // all keys, in insertion order
+    private final List<JWS> all;
+    // keys without id, used when the token kid is not known
+    private final List<JWS> anonymous;
+    // for each known kid, the keys with that id followed by the keys without id
+    private final Map<String, List<JWS>> byKid;
+
+    Verifiers(List<JWS> keys) {
+      all = Collections.unmodifiableList(new ArrayList<>(keys));
+
+      final List<JWS> anonymous = new ArrayList<>();
+      final Map<String, List<JWS>> byKid = new HashMap<>();
+
+      for (JWS jws : keys) {
+        final String id = jws.jwk().getId();
+        if (id == null) {
+          anonymous.add(jws);
+        } else {
+          byKid.computeIfAbsent(id, k -> new ArrayList<>());
+        }
+      }
+      // keep the original ordering for each candidate list
+      for (Map.Entry<String, List<JWS>> kv : byKid.entrySet()) {
+        for (JWS jws : keys) {
+          final String id = jws.jwk().getId();
+          if (id == null || id.equals(kv.getKey())) {
+            kv.getValue().add(jws);
+          }
+        }
+      }
+
+      this.anonymous = Collections.unmodifiableList(anonymous);
+      this.byKid = byKid;
+    }
+
+    List<JWS> candidates(String kid) {
+      if (kid == null) {
+        return all;
+      }
+      final List<JWS> candidates = byKid.get(kid);
+      return candidates == null ? anonymous : candidates;
+    }
+  }
+
+  /**
+   * A view over a JWS compact serialization. The segments are located in a single pass and are never copied, so they
+   * can be decoded and verified in place. Trailing empty segments are not counted, which matches the behavior of
+   * {@link String#split(String)}.
+   */
+  private static final class CompactToken {
+
+    // the raw token, a compact serialization is always ASCII
+    final byte[] data;
+    // number of segments
+    final int segments;
+    // exclusive end offsets of the first 3 segments
+    final int headerEnd;
+    final int payloadEnd;
+    final int signatureEnd;
+
+    CompactToken(String token) {
+      this(token.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    CompactToken(byte[] token) {
+      data = token;
+
+      int end = data.length;
+      while (end > 0 && data[end - 1] == '.') {
+        end--;
+      }
+
+      int count = 1;
+      int[] ends = {end, end, end};
+      for (int i = 0; i < end; i++) {
+        if (data[i] == '.') {
+          if (count <= ends.length) {
+            ends[count - 1] = i;
+          }
+          count++;
+        }
+      }
+
+      segments = count;
+      headerEnd = ends[0];
+      payloadEnd = ends[1];
+      signatureEnd = ends[2];
+    }
+
+    byte[] header() {
+      return base64UrlDecode(data, 0, headerEnd);
+    }
+
+    byte[] payload() {
+      return base64UrlDecode(data, headerEnd + 1, payloadEnd - headerEnd - 1);
+    }
+
+    byte[] signature() {
+      return base64UrlDecode(data, payloadEnd + 1, signatureLength());
+    }
+
+    int signatureLength() {
+      return signatureEnd - payloadEnd - 1;
+    }
+
+    String payloadSegment() {
+      return new String(data, headerEnd + 1, payloadEnd - headerEnd - 1, StandardCharsets.ISO_8859_1);
+    }
+
+    String signatureSegment() {
+      return new String(data, payloadEnd + 1, signatureLength(), StandardCharsets.ISO_8859_1);
+    }
+
+    String signingInput() {
+      return new String(data, 0, payloadEnd, StandardCharsets.ISO_8859_1);
+    }
+  }
+
   public boolean isUnsecure() {
     return VERIFY.size() == 0 && SIGN.size() == 0;
   }
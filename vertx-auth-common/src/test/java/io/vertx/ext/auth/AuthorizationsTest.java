@@ -0,0 +1,113 @@
+package io.vertx.ext.auth;
+
+import io.vertx.ext.auth.authorization.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AuthorizationsTest {
+
+  private static final String[] TOKENS = {"a", "b", "c", "*", "a,b", "b,c", "a,*"};
+
+  private static String expression(Random random) {
+    final StringBuilder sb = new StringBuilder();
+    final int parts = 1 + random.nextInt(4);
+    for (int i = 0; i < parts; i++) {
+      if (i > 0) {
+        sb.append(':');
+      }
+      sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+    }
+    return sb.toString();
+  }
+
+  private static Authorization authorization(Random random) {
+    final String expression = expression(random);
+    final Authorization authorization;
+
+    switch (random.nextInt(5)) {
+      case 0:
+        authorization = RoleBasedAuthorization.create(expression);
+        break;
+      case 1:
+        authorization = PermissionBasedAuthorization.create(expression);
+        break;
+      case 2:
+        authorization = OrAuthorization.create()
+          .addAuthorization(RoleBasedAuthorization.create(expression))
+          .addAuthorization(PermissionBasedAuthorization.create(expression));
+        break;
+      default:
+        authorization = WildcardPermissionBasedAuthorization.create(expression);
+    }
+
+    if (random.nextInt(4) == 0) {
+      if (authorization instanceof RoleBasedAuthorization) {
+        ((RoleBasedAuthorization) authorization).setResource("r");
+      } else if (authorization instanceof PermissionBasedAuthorization) {
+        ((PermissionBasedAuthorization) authorization).setResource("r");
+      } else if (authorization instanceof WildcardPermissionBasedAuthorization) {
+        ((WildcardPermissionBasedAuthorization) authorization).setResource("r");
+      }
+    }
+
+    return authorization;
+  }
+
+  private static boolean scan(Authorizations authorizations, Authorization required) {
+    for (String providerId : authorizations.getProviderIds()) {
+      for (Authorization authorization : authorizations.get(providerId)) {
+        if (authorization.verify(required)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testIndexMatchesScan() {
+    final Random random = new Random(42);
+
+    for (int round = 0; round < 50; round++) {
+      final User user = User.fromName("paulo");
+      for (int i = 0; i < 20; i++) {
+        user.authorizations().add(random.nextBoolean() ? "p1" : "p2", authorization(random));
+      }
+
+      final List<Authorization> required = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        required.add(authorization(random));
+      }
+
+      for (Authorization authorization : required) {
+        assertEquals(authorization.toString(), scan(user.authorizations(), authorization), user.authorizations().verify(authorization));
+      }
+    }
+  }
+
+  @Test
+  public void testIndexFollowsMutations() {
+    final User user = User.fromName("paulo");
+    final Authorization required = PermissionBasedAuthorization.create("printer:read");
+
+    assertFalse(user.authorizations().verify(required));
+
+    user.authorizations().add("p1", WildcardPermissionBasedAuthorization.create("printer:*"));
+    assertTrue(user.authorizations().verify(required));
+
+    // direct mutation of the provider set
+    user.authorizations().get("p1").clear();
+    assertFalse(user.authorizations().verify(required));
+
+    user.authorizations().get("p1").add(PermissionBasedAuthorization.create("printer:read"));
+    assertTrue(user.authorizations().verify(required));
+
+    user.authorizations().clear("p1");
+    assertFalse(user.authorizations().verify(required));
+  }
+}
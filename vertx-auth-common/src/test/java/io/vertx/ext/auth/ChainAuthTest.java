@@ -1,6 +1,7 @@
 package io.vertx.ext.auth;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.unit.Async;
@@ -11,6 +12,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @RunWith(VertxUnitRunner.class)
 public class ChainAuthTest {
 
@@ -231,4 +234,115 @@ public class ChainAuthTest {
         }
       });
   }
+
+  private Future<User> delayed(long delay, User user) {
+    Promise<User> promise = Promise.promise();
+    rule.vertx().setTimer(delay, t -> promise.complete(user));
+    return promise.future();
+  }
+
+  @Test
+  public void parallelAnyTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.any(rule.vertx(), new ChainAuthOptions().setParallel(true));
+
+    auth.add(credentials -> delayed(5000, createUser(new JsonObject().put("provider", 1))));
+    auth.add(credentials -> delayed(10, createUser(new JsonObject().put("provider", 2))));
+
+    final long start = System.currentTimeMillis();
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // the fastest provider wins
+        should.assertEquals(2, user.principal().getInteger("provider"));
+        should.assertTrue(System.currentTimeMillis() - start < 5000);
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void hedgedAnyTest(TestContext should) {
+    final Async test = should.async();
+    final AtomicInteger calls = new AtomicInteger();
+    ChainAuth auth = ChainAuth.any(rule.vertx(), new ChainAuthOptions().setParallel(true).setHedgeDelay(1000));
+
+    auth.add(credentials -> {
+      calls.incrementAndGet();
+      return delayed(10, createUser(new JsonObject().put("provider", 1)));
+    });
+    auth.add(credentials -> {
+      calls.incrementAndGet();
+      return Future.failedFuture("should not be called");
+    });
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(1, user.principal().getInteger("provider"));
+        // the first provider completed before the hedge delay
+        should.assertEquals(1, calls.get());
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void hedgedAnyFailureTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.any(rule.vertx(), new ChainAuthOptions().setParallel(true).setHedgeDelay(5000));
+
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+    auth.add(credentials -> delayed(10, createUser(new JsonObject().put("provider", 2))));
+
+    final long start = System.currentTimeMillis();
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // a failure starts the next provider without waiting for the hedge delay
+        should.assertEquals(2, user.principal().getInteger("provider"));
+        should.assertTrue(System.currentTimeMillis() - start < 5000);
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void parallelAnyAllFailTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.any(rule.vertx(), new ChainAuthOptions().setParallel(true));
+
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+    auth.add(credentials -> Future.failedFuture("some error/bad auth"));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertFailure(err -> test.complete()));
+  }
+
+  @Test
+  public void parallelAllTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.all(rule.vertx(), new ChainAuthOptions().setParallel(true));
+
+    auth.add(credentials -> delayed(100, User.create(new JsonObject().put("provider", 1), new JsonObject().put("attribute", "one"))));
+    auth.add(credentials -> delayed(10, User.create(new JsonObject().put("provider", 2), new JsonObject().put("attribute", "two"))));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        // merged in the chain order, not the completion order
+        should.assertEquals(2, user.principal().getInteger("provider"));
+        should.assertEquals("[\"one\",\"two\"]", user.attributes().getValue("attribute").toString());
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void timeoutTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.any(rule.vertx(), new ChainAuthOptions().setTimeout(100));
+
+    // never completes
+    auth.add(credentials -> Promise.<User>promise().future());
+    auth.add(credentials -> Future.succeededFuture(createUser(new JsonObject().put("provider", 2))));
+
+    auth.authenticate(new TokenCredentials("xyz"))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, user.principal().getInteger("provider"));
+        test.complete();
+      }));
+  }
 }
@@ -1,6 +1,8 @@
 package io.vertx.ext.auth;
 
 import io.vertx.ext.auth.impl.Codec;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.Rule;
@@ -8,7 +10,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -77,6 +87,55 @@ public class HashingStrategyTest {
   }
 
 
+  @Test
+  public void testHashConcurrently() throws Exception {
+    HashingStrategy strategy = HashingStrategy.load();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      for (String id : new String[]{"sha1", "sha256", "sha512"}) {
+        String hash = strategy.hash(id, null, salt, "SuperSecret$!");
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+          // interleave valid and invalid checks, a shared digest would mix their state
+          final String password = i % 2 == 0 ? "SuperSecret$!" : "superSecret$!";
+          results.add(executor.submit(() -> strategy.verify(hash, password)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+          assertEquals(id, i % 2 == 0, results.get(i).get(10, TimeUnit.SECONDS));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testVerifyAsync(TestContext should) {
+    final Async test = should.async();
+    HashingStrategy strategy = HashingStrategy.load();
+    assertTrue(strategy.get("pbkdf2").isSlow());
+    assertFalse(strategy.get("sha512").isSlow());
+
+    String hash = strategy.hash("pbkdf2", null, salt, "SuperSecret$!");
+    strategy.verify(rule.vertx(), hash, "SuperSecret$!")
+      .compose(valid -> {
+        should.assertTrue(valid);
+        // the check ran on a worker, the result is delivered back on the event loop
+        should.assertTrue(rule.vertx().getOrCreateContext().isEventLoopContext());
+        return strategy.verify(rule.vertx(), hash, "superSecret$!");
+      })
+      .compose(valid -> {
+        should.assertFalse(valid);
+        return strategy.verify(rule.vertx(), strategy.hash("sha512", null, salt, "SuperSecret$!"), "SuperSecret$!");
+      })
+      .onFailure(should::fail)
+      .onSuccess(valid -> {
+        should.assertTrue(valid);
+        test.complete();
+      });
+  }
+
   @Test
   public void testHashBase64Verification() {
     HashingStrategy strategy = HashingStrategy.load();
@@ -89,4 +148,55 @@ public class HashingStrategyTest {
     // should be valid
     assertTrue(strategy.verify(hash, "SuperSecret$!"));
   }
+
+  @Test
+  public void testVerificationCache() {
+    final HashingStrategy strategy = HashingStrategy.load();
+    final HashingAlgorithm pbkdf2 = strategy.get("pbkdf2");
+    final AtomicInteger hashes = new AtomicInteger();
+
+    strategy
+      .put("pbkdf2", new HashingAlgorithm() {
+        @Override
+        public String id() {
+          return pbkdf2.id();
+        }
+
+        @Override
+        public Set<String> params() {
+          return pbkdf2.params();
+        }
+
+        @Override
+        public String hash(HashString hashString, String password) {
+          hashes.incrementAndGet();
+          return pbkdf2.hash(hashString, password);
+        }
+
+        @Override
+        public boolean isSlow() {
+          return true;
+        }
+      })
+      .verificationCache(16, 60);
+
+    String hash = strategy.hash("pbkdf2", null, salt, "SuperSecret$!");
+    hashes.set(0);
+
+    assertTrue(strategy.verify(hash, "SuperSecret$!"));
+    assertTrue(strategy.verify(hash, "SuperSecret$!"));
+    // the second verification was remembered
+    assertEquals(1, hashes.get());
+
+    // failures are never remembered
+    assertFalse(strategy.verify(hash, "superSecret$!"));
+    assertFalse(strategy.verify(hash, "superSecret$!"));
+    assertEquals(3, hashes.get());
+
+    // another stored hash for the same password is verified again
+    String other = strategy.hash("pbkdf2", null, Codec.base64Encode("another salt".getBytes(StandardCharsets.UTF_8)), "SuperSecret$!");
+    hashes.set(0);
+    assertTrue(strategy.verify(other, "SuperSecret$!"));
+    assertEquals(1, hashes.get());
+  }
 }
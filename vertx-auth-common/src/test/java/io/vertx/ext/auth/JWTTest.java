@@ -16,9 +16,11 @@ import java.io.InputStream;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.security.SignatureException;
 import java.security.cert.CertificateException;
 import java.util.Arrays;
 
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 import static org.junit.Assert.*;
 
 /**
@@ -118,6 +120,43 @@ public class JWTTest {
     assertTrue(jwt.decode(token).containsKey("test"));
   }
 
+  @Test
+  public void testSegments() throws Exception {
+    JWT jwt = new JWT()
+      .addJWK(new JWK(new PubSecKeyOptions().setAlgorithm("HS256").setBuffer("qnscAdgRlkIhAUPY44oiexBKtQbGY0orf7OV1I50")));
+
+    String token = jwt.sign(new JsonObject().put("test", "test"), new JWTOptions());
+
+    JsonObject parsed = JWT.parse(token);
+    assertEquals("test", parsed.getJsonObject("payload").getString("test"));
+    assertEquals(token.substring(0, token.lastIndexOf('.')), parsed.getString("signatureBase"));
+    assertEquals(token.substring(token.lastIndexOf('.') + 1), parsed.getString("signature"));
+
+    // tampered signing input
+    try {
+      jwt.decode(token.substring(0, token.indexOf('.')) + "." + base64UrlEncode("{\"test\":\"fake\"}".getBytes()) + token.substring(token.lastIndexOf('.')));
+      fail("Tampered token should fail");
+    } catch (SignatureException e) {
+      // OK
+    }
+
+    // trailing dot means unsigned
+    try {
+      jwt.decode(token.substring(0, token.lastIndexOf('.') + 1));
+      fail("Unsigned token should fail");
+    } catch (IllegalStateException e) {
+      // OK
+    }
+
+    // too many segments
+    try {
+      jwt.decode(token + ".extra");
+      fail("Token with extra segments should fail");
+    } catch (IllegalStateException e) {
+      // OK
+    }
+  }
+
   @Test
   public void testECKeyPair() throws Exception {
     JWT vk = new JWT()
@@ -155,6 +194,32 @@ public class JWTTest {
     JsonObject decoded = vk.decode(signed);
   }
 
+  @Test
+  public void testKidIndex() throws Exception {
+    JWT jwt = new JWT()
+      .addJWK(new JWK(new PubSecKeyOptions().setId("a").setAlgorithm("HS256").setBuffer("notasecret-a")))
+      .addJWK(new JWK(new PubSecKeyOptions().setId("b").setAlgorithm("HS256").setBuffer("notasecret-b")));
+
+    JWT signer = new JWT()
+      .addJWK(new JWK(new PubSecKeyOptions().setId("b").setAlgorithm("HS256").setBuffer("notasecret-b")));
+
+    String token = signer.sign(new JsonObject().put("test", "test"), new JWTOptions());
+    assertEquals("test", jwt.decode(token).getString("test"));
+
+    // unknown kids are rejected from the header alone, the payload is never parsed
+    String bogus =
+      base64UrlEncode("{\"alg\":\"HS256\",\"kid\":\"c\"}".getBytes()) + "." +
+        base64UrlEncode("not json".getBytes()) + "." +
+        base64UrlEncode("not a signature".getBytes());
+
+    try {
+      jwt.decode(bogus);
+      fail("Unknown kid should fail");
+    } catch (NoSuchKeyIdException e) {
+      assertEquals("HS256#c", e.id());
+    }
+  }
+
   @Test
   public void testGoogleCerts() throws Exception {
     JWT jwt = new JWT();
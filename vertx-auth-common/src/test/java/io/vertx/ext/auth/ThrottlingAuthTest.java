@@ -0,0 +1,157 @@
+package io.vertx.ext.auth;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class ThrottlingAuthTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  // a provider where the password is the reversed username
+  private final AuthenticationProvider provider = credentials -> {
+    calls.incrementAndGet();
+    UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
+    if (new StringBuilder(authInfo.getUsername()).reverse().toString().equals(authInfo.getPassword())) {
+      return Future.succeededFuture(User.fromName(authInfo.getUsername()));
+    }
+    return Future.failedFuture("Invalid username/password");
+  };
+
+  @Test
+  public void testThrottleUsername(TestContext should) {
+    final Async test = should.async();
+    final ThrottlingAuth auth = ThrottlingAuth.create(provider, new ThrottlingAuthOptions().setMaxFailures(3));
+
+    auth.authenticate(new UsernamePasswordCredentials("paulo", "bad"))
+      .recover(err -> auth.authenticate(new UsernamePasswordCredentials("paulo", "bad")))
+      .recover(err -> auth.authenticate(new UsernamePasswordCredentials("paulo", "bad")))
+      .recover(err -> {
+        should.assertEquals(3, calls.get());
+        // the right password is not even checked
+        return auth.authenticate(new UsernamePasswordCredentials("paulo", "oluap"));
+      })
+      .onSuccess(user -> should.fail("Should have been throttled"))
+      .recover(err -> {
+        should.assertEquals("Too many failed attempts", err.getMessage());
+        should.assertEquals(3, calls.get());
+        // other users are not affected
+        return auth.authenticate(new UsernamePasswordCredentials("tim", "mit"));
+      })
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals("tim", user.principal().getString("username"));
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void testThrottleClient(TestContext should) {
+    final Async test = should.async();
+    final ThrottlingAuth auth = ThrottlingAuth.create(provider, new ThrottlingAuthOptions().setMaxFailures(2));
+
+    // a different username on each attempt from the same client
+    auth.authenticate(new UsernamePasswordCredentials("a", "bad"), "10.0.0.1")
+      .recover(err -> auth.authenticate(new UsernamePasswordCredentials("b", "bad"), "10.0.0.1"))
+      .recover(err -> auth.authenticate(new UsernamePasswordCredentials("c", "c"), "10.0.0.1"))
+      .onSuccess(user -> should.fail("Should have been throttled"))
+      .recover(err -> {
+        should.assertEquals(2, calls.get());
+        // same user from another client
+        return auth.authenticate(new UsernamePasswordCredentials("c", "c"), "10.0.0.2");
+      })
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(3, calls.get());
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void testSuccessIsNotCounted(TestContext should) {
+    final Async test = should.async();
+    final ThrottlingAuth auth = ThrottlingAuth.create(provider, new ThrottlingAuthOptions().setMaxFailures(1));
+
+    Future<User> fut = Future.succeededFuture();
+    for (int i = 0; i < 10; i++) {
+      fut = fut.compose(v -> auth.authenticate(new UsernamePasswordCredentials("paulo", "oluap"), "10.0.0.1"));
+    }
+
+    fut.onComplete(should.asyncAssertSuccess(user -> {
+      should.assertEquals(10, calls.get());
+      test.complete();
+    }));
+  }
+
+  @Test
+  public void testThrottleConcurrentAttempts(TestContext should) {
+    final Async test = should.async();
+    final List<Promise<User>> inflight = new ArrayList<>();
+    // a slow provider, no attempt completes before all of them were made
+    final AuthenticationProvider slow = credentials -> {
+      calls.incrementAndGet();
+      final Promise<User> promise = Promise.promise();
+      inflight.add(promise);
+      return promise.future();
+    };
+    final ThrottlingAuth auth = ThrottlingAuth.create(slow, new ThrottlingAuthOptions().setMaxFailures(3));
+
+    final List<Future<User>> attempts = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      attempts.add(auth.authenticate(new UsernamePasswordCredentials("paulo", "bad"), "10.0.0." + i));
+    }
+
+    should.assertEquals(3, calls.get());
+    inflight.forEach(promise -> promise.fail("Invalid username/password"));
+
+    Future.join(attempts)
+      .onComplete(ar -> {
+        for (Future<User> attempt : attempts) {
+          should.assertTrue(attempt.failed());
+        }
+        should.assertEquals(3, calls.get());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testSuccessReleasesAttempt(TestContext should) {
+    final Async test = should.async();
+    final List<Promise<User>> inflight = new ArrayList<>();
+    final AuthenticationProvider slow = credentials -> {
+      calls.incrementAndGet();
+      final Promise<User> promise = Promise.promise();
+      inflight.add(promise);
+      return promise.future();
+    };
+    final ThrottlingAuth auth = ThrottlingAuth.create(slow, new ThrottlingAuthOptions().setMaxFailures(1));
+
+    final Future<User> first = auth.authenticate(new UsernamePasswordCredentials("paulo", "oluap"));
+    // the first attempt is in progress
+    auth.authenticate(new UsernamePasswordCredentials("paulo", "oluap"))
+      .onComplete(should.asyncAssertFailure(err -> should.assertEquals("Too many failed attempts", err.getMessage())));
+
+    inflight.get(0).complete(User.fromName("paulo"));
+
+    first
+      .compose(user -> {
+        // once it succeeded, it is no longer counted
+        final Future<User> next = auth.authenticate(new UsernamePasswordCredentials("paulo", "oluap"));
+        inflight.get(1).complete(User.fromName("paulo"));
+        return next;
+      })
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals(2, calls.get());
+        test.complete();
+      }));
+  }
+}
@@ -95,6 +95,18 @@ public class WildcardPermissionBasedAuthorizationTest {
       .verify(WildcardPermissionBasedAuthorization.create("printer:edit")));
   }
 
+  @Test
+  public void testImplies10() {
+    final WildcardPermissionBasedAuthorization granted = WildcardPermissionBasedAuthorization.create("newsletter:view,edit:*:*");
+    // the same (cached) expression is used on repeated checks
+    for (int i = 0; i < 2; i++) {
+      assertTrue(granted.verify(PermissionBasedAuthorization.create("newsletter:edit:13")));
+      assertTrue(granted.verify(PermissionBasedAuthorization.create("newsletter:edit,view")));
+      assertFalse(granted.verify(PermissionBasedAuthorization.create("newsletter:edit,create:13")));
+      assertFalse(granted.verify(PermissionBasedAuthorization.create("newsletters:edit:13")));
+    }
+  }
+
   @Test
   public void testVerifyPermisionAuthorization() {
     assertTrue(WildcardPermissionBasedAuthorization.create("p1").verify(PermissionBasedAuthorization.create("p1")));
@@ -0,0 +1,179 @@
+package io.vertx.ext.auth.impl;
+
+import io.vertx.ext.auth.impl.jose.JWS;
+import org.junit.Test;
+
+import java.security.cert.CertificateException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CertificateHelperTest {
+
+  // EC P-256 test PKI: root -> intermediate -> leaves, all valid from 2020 to 2090 or later.
+  // REVOKED_LEAF is listed in CRL, INDIRECT_REVOKED_LEAF is listed in INDIRECT_CRL, issued by another CA.
+
+  private static final String ROOT =
+    "MIIBVDCB+qADAgECAgEBMAoGCCqGSM49BAMCMCgxFTATBgNVBAMMDFRlc3QgUm9vdCBDQTEPMA0GA1UECgwGVmVydC54MCAXDTIw" +
+    "MDEwMTAwMDAwMFoYDzIwOTkwMTAxMDAwMDAwWjAoMRUwEwYDVQQDDAxUZXN0IFJvb3QgQ0ExDzANBgNVBAoMBlZlcnQueDBZMBMG" +
+    "ByqGSM49AgEGCCqGSM49AwEHA0IABLaOlQnr256TeOYsRcp3mYcuS3conQCfIEeEvsAFbhqmdn53vKVw2+j5EZEvrHLTGZzpD44B" +
+    "rxbzuMNq8zFB0c6jEzARMA8GA1UdEwEB/wQFMAMBAf8wCgYIKoZIzj0EAwIDSQAwRgIhALjgyaHzF6s7dBJAZZ+XtAvzEEaGVUx4" +
+    "mgJqx0ONXEO2AiEAktMB+QmjIDXw8MmO3Mu86A8SKXqIziO2T3W6YkLsuUA=";
+
+  private static final String INTERMEDIATE =
+    "MIIBXDCCAQKgAwIBAgIBAjAKBggqhkjOPQQDAjAoMRUwEwYDVQQDDAxUZXN0IFJvb3QgQ0ExDzANBgNVBAoMBlZlcnQueDAgFw0y" +
+    "MDAxMDEwMDAwMDBaGA8yMDk1MDEwMTAwMDAwMFowMDEdMBsGA1UEAwwUVGVzdCBJbnRlcm1lZGlhdGUgQ0ExDzANBgNVBAoMBlZl" +
+    "cnQueDBZMBMGByqGSM49AgEGCCqGSM49AwEHA0IABE20pOzXCoc73Sq2+o3CKSrFEqRe+GmCHRhQ9EMLlqg6u/9HPniiIRi653eq" +
+    "XE2U2HQzpv3IBLOAnH4Y44A2amKjEzARMA8GA1UdEwEB/wQFMAMBAf8wCgYIKoZIzj0EAwIDSAAwRQIgEhslYKxDx58p4y6toQYI" +
+    "8Y+kxCWzjgZIibLMp2mEKNoCIQCtl7oxWoZFEcZj163tYiHcGjO0OFb764Uj9vaCOnTtzw==";
+
+  private static final String LEAF =
+    "MIIBVTCB/KADAgECAgFkMAoGCCqGSM49BAMCMDAxHTAbBgNVBAMMFFRlc3QgSW50ZXJtZWRpYXRlIENBMQ8wDQYDVQQKDAZWZXJ0" +
+    "LngwIBcNMjAwMTAxMDAwMDAwWhgPMjA5MDAxMDEwMDAwMDBaMCUxEjAQBgNVBAMMCVRlc3QgTGVhZjEPMA0GA1UECgwGVmVydC54" +
+    "MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE8UBUIGm8RUtDnQDHi01bbCbKkt4Gvcl6grVwSrAWr+hgqiKQDeVCaIRin3sywhT9" +
+    "kMUPYU+Gmt5owh4Ky2cP0aMQMA4wDAYDVR0TAQH/BAIwADAKBggqhkjOPQQDAgNIADBFAiEA92E0nxs/E1ItrRSC4LUHypj/Q0po" +
+    "1avjJU2Vn1Ao4JMCIE08uIJI8obRvyDW6Z98SWqqzMF+m0tSIKBR1TmVRzlA";
+
+  private static final String REVOKED_LEAF =
+    "MIIBXTCCAQSgAwIBAgIBZTAKBggqhkjOPQQDAjAwMR0wGwYDVQQDDBRUZXN0IEludGVybWVkaWF0ZSBDQTEPMA0GA1UECgwGVmVy" +
+    "dC54MCAXDTIwMDEwMTAwMDAwMFoYDzIwOTAwMTAxMDAwMDAwWjAtMRowGAYDVQQDDBFUZXN0IFJldm9rZWQgTGVhZjEPMA0GA1UE" +
+    "CgwGVmVydC54MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE8UBUIGm8RUtDnQDHi01bbCbKkt4Gvcl6grVwSrAWr+hgqiKQDeVC" +
+    "aIRin3sywhT9kMUPYU+Gmt5owh4Ky2cP0aMQMA4wDAYDVR0TAQH/BAIwADAKBggqhkjOPQQDAgNHADBEAiAqRHVdNd9AQ6usJ7KB" +
+    "M+rojb3RaGLLo3r7+eVBhJID9QIgaaqi/zlSqp+L5zqm+1+VHZeevcyVsOswIKaW7fMSFQM=";
+
+  private static final String INDIRECT_REVOKED_LEAF =
+    "MIIBZzCCAQ2gAwIBAgIBZjAKBggqhkjOPQQDAjAwMR0wGwYDVQQDDBRUZXN0IEludGVybWVkaWF0ZSBDQTEPMA0GA1UECgwGVmVy" +
+    "dC54MCAXDTIwMDEwMTAwMDAwMFoYDzIwOTAwMTAxMDAwMDAwWjA2MSMwIQYDVQQDDBpUZXN0IEluZGlyZWN0IFJldm9rZWQgTGVh" +
+    "ZjEPMA0GA1UECgwGVmVydC54MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE8UBUIGm8RUtDnQDHi01bbCbKkt4Gvcl6grVwSrAW" +
+    "r+hgqiKQDeVCaIRin3sywhT9kMUPYU+Gmt5owh4Ky2cP0aMQMA4wDAYDVR0TAQH/BAIwADAKBggqhkjOPQQDAgNIADBFAiEAiGcg" +
+    "KJqLZcFeKLxUohbu9mz+ZYtZRbWRXoe1eeEukoACIAsbz/3gABflu4dTa0183UnVOYK50Dcl0TNS4zVByaev";
+
+  private static final String CRL =
+    "MIHQMHcCAQEwCgYIKoZIzj0EAwIwMDEdMBsGA1UEAwwUVGVzdCBJbnRlcm1lZGlhdGUgQ0ExDzANBgNVBAoMBlZlcnQueBcNMjQw" +
+    "MTAxMDAwMDAwWhgPMjA4MDAxMDEwMDAwMDBaMBQwEgIBZRcNMjQwMTAxMDAwMDAwWjAKBggqhkjOPQQDAgNJADBGAiEAnGpMSKWv" +
+    "saIaJU1oYyJRDaEaLAZYFaOzfpA9fRCLo2oCIQC/Kp+Mu6F+I27aMTqw+iK+fcvJiOqgJ+3Wbwf9stwXvA==";
+
+  private static final String EMPTY_CRL =
+    "MIG4MGECAQEwCgYIKoZIzj0EAwIwMDEdMBsGA1UEAwwUVGVzdCBJbnRlcm1lZGlhdGUgQ0ExDzANBgNVBAoMBlZlcnQueBcNMjQw" +
+    "MTAxMDAwMDAwWhgPMjA4MDAxMDEwMDAwMDBaMAoGCCqGSM49BAMCA0cAMEQCID5O0O4u+N8sso3lHhETmszNKs7wqEovrRg7q+o7" +
+    "F1kzAiB4jkJ13So39BkhsaXmPcM9nOK+8VA97LFXLAIiubAcZg==";
+
+  private static final String EXPIRED_CRL =
+    "MIG4MF8CAQEwCgYIKoZIzj0EAwIwMDEdMBsGA1UEAwwUVGVzdCBJbnRlcm1lZGlhdGUgQ0ExDzANBgNVBAoMBlZlcnQueBcNMjAw" +
+    "MTAxMDAwMDAwWhcNMjEwMTAxMDAwMDAwWjAKBggqhkjOPQQDAgNJADBGAiEAltPDACegnmsCW0K5qZv+2nI6+zmx/DE6rFgxG20Q" +
+    "9R0CIQDPeUso2xiZXVV91WL/GX4dCz4J/MR3V23EbV7e7wXQUg==";
+
+  private static final String INDIRECT_CRL =
+    "MIIBJTCBywIBATAKBggqhkjOPQQDAjArMRgwFgYDVQQDDA9UZXN0IENSTCBJc3N1ZXIxDzANBgNVBAoMBlZlcnQueBcNMjQwMTAx" +
+    "MDAwMDAwWhgPMjA4NTAxMDEwMDAwMDBaMFgwVgIBZhcNMjQwMTAxMDAwMDAwWjBCMEAGA1UdHQEB/wQ2MDSkMjAwMR0wGwYDVQQD" +
+    "DBRUZXN0IEludGVybWVkaWF0ZSBDQTEPMA0GA1UECgwGVmVydC54oBMwETAPBgNVHRwBAf8EBTADhAH/MAoGCCqGSM49BAMCA0kA" +
+    "MEYCIQC+5zop8T8d2PE/x1lewUqEHHh5VIqZ1NlBR+2Pvm08jQIhAIWWwiKyylBdJYdB/9yARE/SRgAeQ0+8hk2X6LhZARR8";
+
+  private static List<X509Certificate> chain(String leaf) throws CertificateException {
+    return Arrays.asList(JWS.parseX5c(leaf), JWS.parseX5c(INTERMEDIATE), JWS.parseX5c(ROOT));
+  }
+
+  private static List<X509CRL> crls(String... crls) throws Exception {
+    final X509CRL[] list = new X509CRL[crls.length];
+    for (int i = 0; i < crls.length; i++) {
+      list[i] = JWS.parseX5crl(crls[i]);
+    }
+    return Arrays.asList(list);
+  }
+
+  private static void assertRevoked(List<X509Certificate> chain, List<X509CRL> crls) throws Exception {
+    try {
+      CertificateHelper.checkValidity(chain, crls);
+      fail("Certificate should be revoked");
+    } catch (CertificateException e) {
+      assertEquals("Certificate is revoked", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testValidChain() throws Exception {
+    CertificateHelper.checkValidity(chain(LEAF), crls(CRL, INDIRECT_CRL));
+    assertTrue(CertificateHelper.isCached(chain(LEAF), true, crls(CRL, INDIRECT_CRL)));
+    // another chain, or another withRootCA flag, is another entry
+    assertFalse(CertificateHelper.isCached(chain(LEAF), false, crls(CRL, INDIRECT_CRL)));
+  }
+
+  @Test
+  public void testRevoked() throws Exception {
+    assertRevoked(chain(REVOKED_LEAF), crls(CRL));
+    // the other leaves are not listed
+    CertificateHelper.checkValidity(chain(LEAF), crls(CRL));
+    CertificateHelper.checkValidity(chain(INDIRECT_REVOKED_LEAF), crls(CRL));
+  }
+
+  @Test
+  public void testRevokedByIndirectCRL() throws Exception {
+    // the CRL is issued by another CA, the entry names the intermediate as the certificate issuer
+    assertRevoked(chain(INDIRECT_REVOKED_LEAF), crls(INDIRECT_CRL));
+    assertRevoked(chain(INDIRECT_REVOKED_LEAF), crls(CRL, INDIRECT_CRL));
+    // other certificates of the intermediate are not affected
+    CertificateHelper.checkValidity(chain(LEAF), crls(INDIRECT_CRL));
+  }
+
+  @Test
+  public void testCachedChainIsCheckedAgainstNewCRL() throws Exception {
+    CertificateHelper.checkValidity(chain(REVOKED_LEAF), crls(EMPTY_CRL));
+    assertTrue(CertificateHelper.isCached(chain(REVOKED_LEAF), true, crls(EMPTY_CRL)));
+
+    // the certificate was revoked since
+    assertRevoked(chain(REVOKED_LEAF), crls(CRL));
+    assertRevoked(chain(REVOKED_LEAF), crls(EMPTY_CRL, CRL));
+  }
+
+  @Test
+  public void testFailuresAreNotCached() throws Exception {
+    assertRevoked(chain(INDIRECT_REVOKED_LEAF), crls(EMPTY_CRL, INDIRECT_CRL));
+    assertFalse(CertificateHelper.isCached(chain(INDIRECT_REVOKED_LEAF), true, crls(EMPTY_CRL, INDIRECT_CRL)));
+    // and still fail
+    assertRevoked(chain(INDIRECT_REVOKED_LEAF), crls(EMPTY_CRL, INDIRECT_CRL));
+
+    // broken chain
+    final List<X509Certificate> broken = Arrays.asList(JWS.parseX5c(LEAF), JWS.parseX5c(ROOT));
+    for (int i = 0; i < 2; i++) {
+      try {
+        CertificateHelper.checkValidity(broken, null);
+        fail("Chain should not be valid");
+      } catch (CertificateException e) {
+        // OK
+      }
+    }
+    assertFalse(CertificateHelper.isCached(broken, true, null));
+  }
+
+  @Test
+  public void testOutOfDateCRLIsNotCached() throws Exception {
+    // still accepted, as before, but the result can't be kept past the CRL nextUpdate
+    CertificateHelper.checkValidity(chain(LEAF), crls(EXPIRED_CRL));
+    assertFalse(CertificateHelper.isCached(chain(LEAF), true, crls(EXPIRED_CRL)));
+  }
+
+  @Test
+  public void testValidUntil() throws Exception {
+    final List<X509Certificate> chain = chain(LEAF);
+    final long leafNotAfter = chain.get(0).getNotAfter().getTime();
+    final long crlNextUpdate = crls(CRL).get(0).getNextUpdate().getTime();
+    final long indirectCrlNextUpdate = crls(INDIRECT_CRL).get(0).getNextUpdate().getTime();
+
+    // the leaf expires before the intermediate and the root
+    assertEquals(leafNotAfter, CertificateHelper.validUntil(leafNotAfter - 1000, chain, null));
+    // the CRL before the certificates
+    assertEquals(crlNextUpdate, CertificateHelper.validUntil(crlNextUpdate - 1000, chain, crls(INDIRECT_CRL, CRL)));
+    assertEquals(indirectCrlNextUpdate, CertificateHelper.validUntil(indirectCrlNextUpdate - 1000, chain, crls(INDIRECT_CRL)));
+    // never longer than the max age
+    final long now = System.currentTimeMillis();
+    assertEquals(now + CertificateHelper.MAX_VALIDATION_AGE, CertificateHelper.validUntil(now, chain, crls(CRL)));
+    assertEquals(now + CertificateHelper.MAX_VALIDATION_AGE, CertificateHelper.validUntil(now, chain, Collections.emptyList()));
+  }
+}
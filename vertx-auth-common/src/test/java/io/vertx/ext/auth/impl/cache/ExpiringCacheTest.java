@@ -0,0 +1,97 @@
+package io.vertx.ext.auth.impl.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExpiringCacheTest {
+
+  @Test
+  public void testGetPut() {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+
+    assertNull(cache.get("a"));
+    cache.put("a", "A", System.currentTimeMillis() + 60_000);
+    assertEquals("A", cache.get("a"));
+    cache.remove("a");
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  public void testExpired() throws InterruptedException {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+
+    // already expired values are never stored
+    cache.put("a", "A", System.currentTimeMillis() - 1);
+    assertEquals(0, cache.size());
+
+    cache.put("b", "B", System.currentTimeMillis() + 10);
+    Thread.sleep(20);
+    assertNull(cache.get("b"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testBounded() {
+    ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(100);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i, Long.MAX_VALUE);
+      assertTrue(cache.size() <= 100);
+    }
+    // the last entry is always present
+    assertEquals(Integer.valueOf(999), cache.get(999));
+  }
+
+  @Test
+  public void testPutIfAbsent() throws InterruptedException {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+
+    assertTrue(cache.putIfAbsent("a", "A", System.currentTimeMillis() + 10));
+    assertFalse(cache.putIfAbsent("a", "B", System.currentTimeMillis() + 60_000));
+    assertEquals("A", cache.get("a"));
+
+    // an expired entry does not block a new one
+    Thread.sleep(20);
+    assertTrue(cache.putIfAbsent("a", "B", System.currentTimeMillis() + 60_000));
+    assertEquals("B", cache.get("a"));
+  }
+
+  @Test
+  public void testNoLiveEviction() throws InterruptedException {
+    ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(10, false);
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(cache.putIfAbsent(i, i, System.currentTimeMillis() + 10));
+    }
+    // full of live entries, new ones are refused and the existing ones kept
+    assertFalse(cache.putIfAbsent(10, 10, Long.MAX_VALUE));
+    cache.put(11, 11, Long.MAX_VALUE);
+    assertNull(cache.get(11));
+    assertEquals(Integer.valueOf(0), cache.get(0));
+
+    // once expired, there is room again
+    Thread.sleep(20);
+    assertTrue(cache.putIfAbsent(10, 10, Long.MAX_VALUE));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testNoLiveEvictionAfterRemoval() throws InterruptedException {
+    ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(10, false);
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(cache.putIfAbsent(i, i, Long.MAX_VALUE));
+    }
+    assertFalse(cache.putIfAbsent(10, 10, Long.MAX_VALUE));
+
+    // room is made, and taken by an entry expiring before all the others
+    cache.remove(0);
+    assertTrue(cache.putIfAbsent(0, 0, System.currentTimeMillis() + 10));
+    assertFalse(cache.putIfAbsent(10, 10, Long.MAX_VALUE));
+
+    // once it expired, there is room again
+    Thread.sleep(20);
+    assertTrue(cache.putIfAbsent(10, 10, Long.MAX_VALUE));
+  }
+}
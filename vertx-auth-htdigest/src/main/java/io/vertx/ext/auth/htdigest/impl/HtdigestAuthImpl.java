@@ -41,7 +41,8 @@ import static io.vertx.ext.auth.impl.Codec.base16Encode;
  */
 public class HtdigestAuthImpl implements HtdigestAuth {
 
-  private static final MessageDigest MD5;
+  // MessageDigest is stateful, each thread gets its own instance
+  private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(HtdigestAuthImpl::newMD5);
 
   private static class Digest {
     final String username;
@@ -57,8 +58,13 @@ public class HtdigestAuthImpl implements HtdigestAuth {
   }
 
   static {
+    // fail fast if the algorithm is not available
+    MD5.get();
+  }
+
+  private static MessageDigest newMD5() {
     try {
-      MD5 = MessageDigest.getInstance("MD5");
+      return MessageDigest.getInstance("MD5");
     } catch (NoSuchAlgorithmException e) {
       throw new RuntimeException(e);
     }
@@ -155,9 +161,10 @@ public class HtdigestAuthImpl implements HtdigestAuth {
     }
   }
 
-  private static synchronized String md5(String payload) {
-    MD5.reset();
-    return base16Encode(MD5.digest(payload.getBytes(StandardCharsets.UTF_8)));
+  private static String md5(String payload) {
+    final MessageDigest md5 = MD5.get();
+    md5.reset();
+    return base16Encode(md5.digest(payload.getBytes(StandardCharsets.UTF_8)));
   }
 
   private static boolean isEqual(String digesta, String digestb) {
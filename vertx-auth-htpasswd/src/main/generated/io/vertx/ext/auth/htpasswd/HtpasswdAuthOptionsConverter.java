@@ -30,6 +30,16 @@ public class HtpasswdAuthOptionsConverter {
             obj.setPlainTextEnabled((Boolean)member.getValue());
           }
           break;
+        case "verificationCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setVerificationCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "verificationCacheTtlInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setVerificationCacheTtlInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -43,5 +53,7 @@ public class HtpasswdAuthOptionsConverter {
       json.put("htpasswdFile", obj.getHtpasswdFile());
     }
     json.put("plainTextEnabled", obj.isPlainTextEnabled());
+    json.put("verificationCacheMaxSize", obj.getVerificationCacheMaxSize());
+    json.put("verificationCacheTtlInSeconds", obj.getVerificationCacheTtlInSeconds());
   }
 }
@@ -28,10 +28,14 @@ public class HtpasswdAuthOptions {
 
   private String htpasswdFile;
   private boolean plainTextEnabled;
+  private int verificationCacheMaxSize;
+  private int verificationCacheTtl;
 
   public HtpasswdAuthOptions() {
     htpasswdFile = ".htpasswd";
     plainTextEnabled = false;
+    verificationCacheMaxSize = 0;
+    verificationCacheTtl = 30;
   }
 
   public HtpasswdAuthOptions(JsonObject json) {
@@ -43,6 +47,8 @@ public class HtpasswdAuthOptions {
     this();
     this.htpasswdFile = that.htpasswdFile;
     this.plainTextEnabled = that.plainTextEnabled;
+    this.verificationCacheMaxSize = that.verificationCacheMaxSize;
+    this.verificationCacheTtl = that.verificationCacheTtl;
   }
 
   public HtpasswdAuthOptions setPlainTextEnabled(boolean plainTextEnabled) {
@@ -62,4 +68,42 @@ public class HtpasswdAuthOptions {
     this.htpasswdFile = htpasswdFile;
     return this;
   }
+
+  public int getVerificationCacheMaxSize() {
+    return verificationCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of successful password verifications remembered, so a client presenting the same correct
+   * password again skips the password hashing. Default to 0, disabled.
+   *
+   * @param verificationCacheMaxSize the maximum number of remembered verifications
+   * @return a reference to this, so the API can be used fluently
+   * @see io.vertx.ext.auth.HashingStrategy#verificationCache(int, int)
+   */
+  public HtpasswdAuthOptions setVerificationCacheMaxSize(int verificationCacheMaxSize) {
+    if (verificationCacheMaxSize < 0) {
+      throw new IllegalArgumentException("verificationCacheMaxSize must be >= 0");
+    }
+    this.verificationCacheMaxSize = verificationCacheMaxSize;
+    return this;
+  }
+
+  public int getVerificationCacheTtlInSeconds() {
+    return verificationCacheTtl;
+  }
+
+  /**
+   * Set the time a successful password verification is remembered. Default to 30 seconds.
+   *
+   * @param verificationCacheTtlInSeconds the time to live of remembered verifications
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HtpasswdAuthOptions setVerificationCacheTtlInSeconds(int verificationCacheTtlInSeconds) {
+    if (verificationCacheTtlInSeconds <= 0) {
+      throw new IllegalArgumentException("verificationCacheTtlInSeconds must be > 0");
+    }
+    this.verificationCacheTtl = verificationCacheTtlInSeconds;
+    return this;
+  }
 }
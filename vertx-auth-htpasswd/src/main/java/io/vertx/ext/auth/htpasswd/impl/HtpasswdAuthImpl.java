@@ -39,11 +39,13 @@ import java.util.regex.Pattern;
  */
 public class HtpasswdAuthImpl implements HtpasswdAuth {
 
+  private final Vertx vertx;
   private final HashingStrategy strategy = HashingStrategy.load();
 
   private final Map<String, String> htUsers = new HashMap<>();
 
   public HtpasswdAuthImpl(Vertx vertx, HtpasswdAuthOptions options) {
+    this.vertx = vertx;
     for (String line : vertx.fileSystem().readFileBlocking(options.getHtpasswdFile()).toString().split("\\r?\\n")) {
       line = line.trim();
 
@@ -61,6 +63,8 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
       // this will show a warning in the log
       strategy.put("", new Plaintext());
     }
+
+    strategy.verificationCache(options.getVerificationCacheMaxSize(), options.getVerificationCacheTtlInSeconds());
   }
 
   @Override
@@ -82,13 +86,16 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
       return Future.failedFuture("Unknown username.");
     }
 
-    if (strategy.verify(htUsers.get(authInfo.getUsername()), authInfo.getPassword())) {
-      User user = User.fromName(authInfo.getUsername());
-      // metadata "amr"
-      user.principal().put("amr", Collections.singletonList("pwd"));
-      return Future.succeededFuture(user);
-    } else {
-      return Future.failedFuture("Bad response");
-    }
+    return strategy.verify(vertx, htUsers.get(authInfo.getUsername()), authInfo.getPassword())
+      .compose(valid -> {
+        if (valid) {
+          User user = User.fromName(authInfo.getUsername());
+          // metadata "amr"
+          user.principal().put("amr", Collections.singletonList("pwd"));
+          return Future.succeededFuture(user);
+        } else {
+          return Future.failedFuture("Bad response");
+        }
+      });
   }
 }
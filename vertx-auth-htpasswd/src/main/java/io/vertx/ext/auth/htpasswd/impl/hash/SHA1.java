@@ -31,11 +31,18 @@ import static io.vertx.ext.auth.impl.Codec.base64Encode;
  */
 public class SHA1 implements HashingAlgorithm {
 
-  private final MessageDigest md;
+  // MessageDigest is stateful, each thread gets its own instance
+  private final ThreadLocal<MessageDigest> md;
 
   public SHA1() {
+    final MessageDigest probe = getInstance();
+    md = ThreadLocal.withInitial(SHA1::getInstance);
+    md.set(probe);
+  }
+
+  private static MessageDigest getInstance() {
     try {
-      md = MessageDigest.getInstance("SHA1");
+      return MessageDigest.getInstance("SHA1");
     } catch (NoSuchAlgorithmException nsae) {
       throw new RuntimeException("SHA1 is not available", nsae);
     }
@@ -48,7 +55,7 @@ public class SHA1 implements HashingAlgorithm {
 
   @Override
   public String hash(HashString hashString, String password) {
-    return base64Encode(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    return base64Encode(md.get().digest(password.getBytes(StandardCharsets.UTF_8)));
   }
 
   @Override
@@ -20,6 +20,11 @@ public class JWTAuthOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, JWTAuthOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "cacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
         case "jwks":
           if (member.getValue() instanceof JsonArray) {
             java.util.ArrayList<io.vertx.core.json.JsonObject> list =  new java.util.ArrayList<>();
@@ -59,6 +64,7 @@ public class JWTAuthOptionsConverter {
   }
 
   public static void toJson(JWTAuthOptions obj, java.util.Map<String, Object> json) {
+    json.put("cacheMaxSize", obj.getCacheMaxSize());
     if (obj.getJwks() != null) {
       JsonArray array = new JsonArray();
       obj.getJwks().forEach(item -> array.add(item));
@@ -34,11 +34,13 @@ public class JWTAuthOptions {
 
   // Defaults
   private static final JWTOptions JWT_OPTIONS = new JWTOptions();
+  private static final int CACHE_MAX_SIZE = 0;
 
   private KeyStoreOptions keyStore;
   private List<PubSecKeyOptions> pubSecKeys;
   private JWTOptions jwtOptions;
   private List<JsonObject> jwks;
+  private int cacheMaxSize;
 
   /**
    * Default constructor
@@ -57,10 +59,12 @@ public class JWTAuthOptions {
     pubSecKeys = other.getPubSecKeys();
     jwtOptions = other.getJWTOptions();
     jwks = other.getJwks();
+    cacheMaxSize = other.getCacheMaxSize();
   }
 
   private void init() {
     jwtOptions = JWT_OPTIONS;
+    cacheMaxSize = CACHE_MAX_SIZE;
   }
 
   /**
@@ -126,4 +130,24 @@ public class JWTAuthOptions {
     this.jwks.add(jwk);
     return this;
   }
+
+  public int getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  /**
+   * Enables a cache of verified tokens. When a token is presented again, the signature verification and claims
+   * parsing are skipped. Entries are kept until the token expires ({@code exp} plus the configured leeway), the cache is
+   * full or the keys change. Tokens without expiration are only evicted by size.
+   *
+   * @param cacheMaxSize the maximum number of cached tokens, {@code 0} (default) disables the cache.
+   * @return fluent self
+   */
+  public JWTAuthOptions setCacheMaxSize(int cacheMaxSize) {
+    if (cacheMaxSize < 0) {
+      throw new IllegalArgumentException("cacheMaxSize must be >= 0");
+    }
+    this.cacheMaxSize = cacheMaxSize;
+    return this;
+  }
 }
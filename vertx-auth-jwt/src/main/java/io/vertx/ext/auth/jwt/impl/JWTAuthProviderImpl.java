@@ -31,6 +31,7 @@ import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
 import io.vertx.ext.auth.impl.jose.JWK;
 import io.vertx.ext.auth.impl.jose.JWT;
 import io.vertx.ext.auth.jwt.JWTAuth;
@@ -39,6 +40,7 @@ import io.vertx.ext.auth.jwt.JWTAuthOptions;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.cert.CertificateException;
 import java.util.Arrays;
@@ -46,6 +48,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
+
 /**
  * @author Paulo Lopes
  */
@@ -57,10 +61,33 @@ public class JWTAuthProviderImpl implements JWTAuth {
 
   private final JWT jwt = new JWT();
 
+  private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
   private final JWTOptions jwtOptions;
 
+  private static final class Verified {
+    final JsonObject payload;
+    // the key set the token was verified with
+    final int keysVersion;
+
+    Verified(JsonObject payload, int keysVersion) {
+      this.payload = payload;
+      this.keysVersion = keysVersion;
+    }
+  }
+
+  // verified tokens, keyed by the token digest
+  private final ExpiringCache<String, Verified> cache;
+
   public JWTAuthProviderImpl(Vertx vertx, JWTAuthOptions config) {
     this.jwtOptions = config.getJWTOptions();
+    this.cache = config.getCacheMaxSize() > 0 ? new ExpiringCache<>(config.getCacheMaxSize()) : null;
     // set the nonce algorithm
     jwt.nonceAlgorithm(jwtOptions.getNonceAlgorithm());
 
@@ -138,33 +165,47 @@ public class JWTAuthProviderImpl implements JWTAuth {
       return Future.failedFuture(e);
     }
 
-    final JsonObject payload;
-    try {
-      payload = jwt.decode(authInfo.getToken());
-    } catch (SignatureException | RuntimeException e) {
-      return Future.failedFuture(e);
-    }
+    final String token = authInfo.getToken();
+    final String cacheKey = cacheKey(token);
+    // read before decoding, a key change while decoding must not be attributed to this token
+    final int keysVersion = jwt.keysVersion();
+
+    JsonObject payload = cacheKey == null ? null : cachedPayload(cacheKey, keysVersion);
+    final boolean cached = payload != null;
 
-    if (jwtOptions.getAudience() != null) {
-      JsonArray target;
-      if (payload.getValue("aud") instanceof String) {
-        target = new JsonArray().add(payload.getValue("aud", ""));
-      } else {
-        target = payload.getJsonArray("aud", EMPTY_ARRAY);
+    if (cached) {
+      // the signature, audience and issuer have been verified before, the cached payload
+      // is shared so each user gets its own copy
+      payload = payload.copy();
+    } else {
+      try {
+        payload = jwt.decode(token);
+      } catch (SignatureException | RuntimeException e) {
+        return Future.failedFuture(e);
       }
 
-      if (Collections.disjoint(jwtOptions.getAudience(), target.getList())) {
-        return Future.failedFuture("Invalid JWT audience. expected: " + Json.encode(jwtOptions.getAudience()));
+      if (jwtOptions.getAudience() != null) {
+        JsonArray target;
+        if (payload.getValue("aud") instanceof String) {
+          target = new JsonArray().add(payload.getValue("aud", ""));
+        } else {
+          target = payload.getJsonArray("aud", EMPTY_ARRAY);
+        }
+
+        if (Collections.disjoint(jwtOptions.getAudience(), target.getList())) {
+          return Future.failedFuture("Invalid JWT audience. expected: " + Json.encode(jwtOptions.getAudience()));
+        }
       }
-    }
 
-    if (jwtOptions.getIssuer() != null) {
-      if (!jwtOptions.getIssuer().equals(payload.getString("iss"))) {
-        return Future.failedFuture("Invalid JWT issuer");
+      if (jwtOptions.getIssuer() != null) {
+        if (!jwtOptions.getIssuer().equals(payload.getString("iss"))) {
+          return Future.failedFuture("Invalid JWT issuer");
+        }
       }
     }
 
-    final User user = createUser(authInfo.getToken(), payload);
+    // time based claims are always checked, even for cached tokens
+    final User user = createUser(token, payload);
 
     if (user.expired(jwtOptions.getLeeway())) {
       if (!jwtOptions.isIgnoreExpiration()) {
@@ -172,9 +213,59 @@ public class JWTAuthProviderImpl implements JWTAuth {
       }
     }
 
+    if (cacheKey != null && !cached) {
+      cache.put(cacheKey, new Verified(payload.copy(), keysVersion), cacheExpiration(payload));
+    }
+
     return Future.succeededFuture(user);
   }
 
+  /**
+   * Computes the cache key for a token.
+   *
+   * @return the key or {@code null} if caching is disabled.
+   */
+  private String cacheKey(String token) {
+    if (cache == null) {
+      return null;
+    }
+
+    final MessageDigest digest = SHA256.get();
+    return base64UrlEncode(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * @return the cached payload, or {@code null} if the token was not verified with the current key set.
+   */
+  private JsonObject cachedPayload(String cacheKey, int keysVersion) {
+    final Verified verified = cache.get(cacheKey);
+    if (verified == null) {
+      return null;
+    }
+    if (verified.keysVersion != keysVersion) {
+      // the keys changed since, the token must be verified again
+      cache.remove(cacheKey);
+      return null;
+    }
+    return verified.payload;
+  }
+
+  /**
+   * @return the keys used to verify tokens.
+   */
+  JWT jwt() {
+    return jwt;
+  }
+
+  private long cacheExpiration(JsonObject payload) {
+    if (payload.containsKey("exp")) {
+      // NumericDate is in seconds
+      return (payload.getLong("exp") + jwtOptions.getLeeway()) * 1000;
+    }
+    // without expiration, the token is only evicted by size or key changes
+    return Long.MAX_VALUE;
+  }
+
   @Override
   public String generateToken(JsonObject claims, final JWTOptions options) {
     return jwt.sign(claims, options);
@@ -0,0 +1,59 @@
+package io.vertx.ext.auth.jwt.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.jwt.JWTAuthOptions;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@RunWith(VertxUnitRunner.class)
+public class JWTAuthProviderImplTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  private static JsonObject hmac(String secret) {
+    return new JsonObject()
+      .put("kty", "oct")
+      .put("kid", "hmac")
+      .put("alg", "HS256")
+      .put("k", Base64.getUrlEncoder().withoutPadding().encodeToString(secret.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testCachedTokenIsVerifiedAgainAfterKeyChange(TestContext should) {
+    final Async test = should.async();
+
+    final JWTAuthProviderImpl provider = new JWTAuthProviderImpl(rule.vertx(), new JWTAuthOptions()
+      .addJwk(hmac("first secret"))
+      .setCacheMaxSize(16));
+
+    final TokenCredentials authInfo = new TokenCredentials(provider.generateToken(
+      new JsonObject().put("sub", "Paulo"),
+      new JWTOptions().setAlgorithm("HS256").setExpiresInSeconds(60)));
+
+    provider.authenticate(authInfo)
+      .compose(user -> {
+        // the token is now cached, replace the key it was signed with
+        provider.jwt().addJWK(new JWK(hmac("second secret")));
+        return provider.authenticate(authInfo);
+      })
+      .onComplete(should.asyncAssertFailure(err -> {
+        // the cached entry was ignored and the signature checked against the new key
+        provider.authenticate(new TokenCredentials(provider.generateToken(
+            new JsonObject().put("sub", "Paulo"),
+            new JWTOptions().setAlgorithm("HS256").setExpiresInSeconds(60))))
+          .onComplete(should.asyncAssertSuccess(user -> test.complete()));
+      }));
+  }
+}
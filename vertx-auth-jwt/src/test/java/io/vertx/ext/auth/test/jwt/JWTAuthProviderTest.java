@@ -649,6 +649,37 @@ public class JWTAuthProviderTest {
       });
   }
 
+  @Test
+  public void testCachedToken(TestContext should) {
+    final Async test = should.async();
+
+    final JWTAuth cachedProvider = JWTAuth.create(rule.vertx(), getConfig().setCacheMaxSize(16));
+
+    String token = cachedProvider.generateToken(
+      new JsonObject()
+        .put("sub", "Paulo")
+        .put("permissions", new JsonArray().add("user")),
+      new JWTOptions().setExpiresInSeconds(60));
+
+    TokenCredentials authInfo = new TokenCredentials(token);
+
+    cachedProvider.authenticate(authInfo)
+      .compose(first -> {
+        // mutating a user must not leak into the cache
+        first.principal().put("sub", "Mutated");
+        return cachedProvider.authenticate(authInfo);
+      })
+      .onFailure(should::fail)
+      .onSuccess(second -> {
+        should.assertEquals("Paulo", second.subject());
+        should.assertTrue(second.principal().getJsonArray("permissions").contains("user"));
+        // an invalid token is never cached
+        cachedProvider.authenticate(new TokenCredentials(token.substring(0, token.length() - 2)))
+          .onSuccess(user -> should.fail("Should have failed"))
+          .onFailure(err -> test.complete());
+      });
+  }
+
   @Test
   public void testGenerateClaimsAndCheck(TestContext should) {
     final Async test = should.async();
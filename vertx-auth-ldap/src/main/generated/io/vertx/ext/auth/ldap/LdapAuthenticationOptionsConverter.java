@@ -30,6 +30,21 @@ public class LdapAuthenticationOptionsConverter {
             obj.setAuthenticationQuery((String)member.getValue());
           }
           break;
+        case "maxPoolSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxPoolSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "poolAcquireTimeoutInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setPoolAcquireTimeoutInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "poolIdleTimeoutInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setPoolIdleTimeoutInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
         case "referral":
           if (member.getValue() instanceof String) {
             obj.setReferral((String)member.getValue());
@@ -55,6 +70,9 @@ public class LdapAuthenticationOptionsConverter {
     if (obj.getAuthenticationQuery() != null) {
       json.put("authenticationQuery", obj.getAuthenticationQuery());
     }
+    json.put("maxPoolSize", obj.getMaxPoolSize());
+    json.put("poolAcquireTimeoutInSeconds", obj.getPoolAcquireTimeoutInSeconds());
+    json.put("poolIdleTimeoutInSeconds", obj.getPoolIdleTimeoutInSeconds());
     if (obj.getReferral() != null) {
       json.put("referral", obj.getReferral());
     }
@@ -0,0 +1,143 @@
+package io.vertx.ext.auth.ldap;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.ldap.LdapAuthorizationOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.ldap.LdapAuthorizationOptions} original class using Vert.x codegen.
+ */
+public class LdapAuthorizationOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, LdapAuthorizationOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "authenticationMechanism":
+          if (member.getValue() instanceof String) {
+            obj.setAuthenticationMechanism((String)member.getValue());
+          }
+          break;
+        case "bindDn":
+          if (member.getValue() instanceof String) {
+            obj.setBindDn((String)member.getValue());
+          }
+          break;
+        case "bindPassword":
+          if (member.getValue() instanceof String) {
+            obj.setBindPassword((String)member.getValue());
+          }
+          break;
+        case "cacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "cacheTtlInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheTtlInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "groupAttribute":
+          if (member.getValue() instanceof String) {
+            obj.setGroupAttribute((String)member.getValue());
+          }
+          break;
+        case "groupNameAttribute":
+          if (member.getValue() instanceof String) {
+            obj.setGroupNameAttribute((String)member.getValue());
+          }
+          break;
+        case "groupSearchBase":
+          if (member.getValue() instanceof String) {
+            obj.setGroupSearchBase((String)member.getValue());
+          }
+          break;
+        case "groupSearchFilter":
+          if (member.getValue() instanceof String) {
+            obj.setGroupSearchFilter((String)member.getValue());
+          }
+          break;
+        case "maxPoolSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxPoolSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "poolAcquireTimeoutInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setPoolAcquireTimeoutInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "poolIdleTimeoutInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setPoolIdleTimeoutInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "referral":
+          if (member.getValue() instanceof String) {
+            obj.setReferral((String)member.getValue());
+          }
+          break;
+        case "url":
+          if (member.getValue() instanceof String) {
+            obj.setUrl((String)member.getValue());
+          }
+          break;
+        case "userQuery":
+          if (member.getValue() instanceof String) {
+            obj.setUserQuery((String)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(LdapAuthorizationOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(LdapAuthorizationOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getAuthenticationMechanism() != null) {
+      json.put("authenticationMechanism", obj.getAuthenticationMechanism());
+    }
+    if (obj.getBindDn() != null) {
+      json.put("bindDn", obj.getBindDn());
+    }
+    if (obj.getBindPassword() != null) {
+      json.put("bindPassword", obj.getBindPassword());
+    }
+    json.put("cacheMaxSize", obj.getCacheMaxSize());
+    json.put("cacheTtlInSeconds", obj.getCacheTtlInSeconds());
+    if (obj.getGroupAttribute() != null) {
+      json.put("groupAttribute", obj.getGroupAttribute());
+    }
+    if (obj.getGroupNameAttribute() != null) {
+      json.put("groupNameAttribute", obj.getGroupNameAttribute());
+    }
+    if (obj.getGroupSearchBase() != null) {
+      json.put("groupSearchBase", obj.getGroupSearchBase());
+    }
+    if (obj.getGroupSearchFilter() != null) {
+      json.put("groupSearchFilter", obj.getGroupSearchFilter());
+    }
+    json.put("maxPoolSize", obj.getMaxPoolSize());
+    json.put("poolAcquireTimeoutInSeconds", obj.getPoolAcquireTimeoutInSeconds());
+    json.put("poolIdleTimeoutInSeconds", obj.getPoolIdleTimeoutInSeconds());
+    if (obj.getReferral() != null) {
+      json.put("referral", obj.getReferral());
+    }
+    if (obj.getUrl() != null) {
+      json.put("url", obj.getUrl());
+    }
+    if (obj.getUserQuery() != null) {
+      json.put("userQuery", obj.getUserQuery());
+    }
+  }
+}
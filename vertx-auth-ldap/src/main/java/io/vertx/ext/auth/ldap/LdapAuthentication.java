@@ -35,4 +35,11 @@ public interface LdapAuthentication extends AuthenticationProvider {
   static LdapAuthentication create(Vertx vertx, LdapAuthenticationOptions options) {
     return new LdapAuthenticationImpl(vertx, options);
   }
+
+  /**
+   * Closes the pooled connections to the LDAP server and stops the timer evicting them. Users are expected to call
+   * this method when the provider isn't needed any more.
+   */
+  default void close() {
+  }
 }
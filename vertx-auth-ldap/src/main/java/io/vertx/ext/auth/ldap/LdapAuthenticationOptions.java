@@ -23,12 +23,22 @@ import io.vertx.core.json.JsonObject;
 @DataObject(generateConverter = true)
 public class LdapAuthenticationOptions {
 
+  private static final int DEFAULT_MAX_POOL_SIZE = 0;
+  private static final int DEFAULT_POOL_IDLE_TIMEOUT = 60;
+  private static final int DEFAULT_POOL_ACQUIRE_TIMEOUT = 30;
+
   private String authenticationMechanism;
   private String referral;
   private String url;
   private String authenticationQuery;
+  private int maxPoolSize;
+  private int poolIdleTimeout;
+  private int poolAcquireTimeout;
 
   public LdapAuthenticationOptions() {
+    maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    poolIdleTimeout = DEFAULT_POOL_IDLE_TIMEOUT;
+    poolAcquireTimeout = DEFAULT_POOL_ACQUIRE_TIMEOUT;
   }
 
   public LdapAuthenticationOptions(JsonObject json) {
@@ -52,6 +62,18 @@ public class LdapAuthenticationOptions {
     return authenticationQuery;
   }
 
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  public int getPoolIdleTimeoutInSeconds() {
+    return poolIdleTimeout;
+  }
+
+  public int getPoolAcquireTimeoutInSeconds() {
+    return poolAcquireTimeout;
+  }
+
   /**
    * sets the authentication mechanism. default to 'simple' if not set
    *
@@ -100,4 +122,50 @@ public class LdapAuthenticationOptions {
     return this;
   }
 
+  /**
+   * Set the maximum number of connections open to the LDAP server, idle or in use. Instead of opening a new connection
+   * (and performing the TLS handshake) for every authentication, idle connections are bound again with the new
+   * credentials. When all connections are in use, authentications wait for one to be given back. Default to 0, every
+   * connection is closed after the bind and there is no limit.
+   *
+   * @param maxPoolSize the maximum number of connections
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setMaxPoolSize(int maxPoolSize) {
+    if (maxPoolSize < 0) {
+      throw new IllegalArgumentException("maxPoolSize must be >= 0");
+    }
+    this.maxPoolSize = maxPoolSize;
+    return this;
+  }
+
+  /**
+   * Set the time after which an idle pooled connection is closed. Default to 60 seconds.
+   *
+   * @param poolIdleTimeoutInSeconds the idle timeout
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setPoolIdleTimeoutInSeconds(int poolIdleTimeoutInSeconds) {
+    if (poolIdleTimeoutInSeconds <= 0) {
+      throw new IllegalArgumentException("poolIdleTimeoutInSeconds must be > 0");
+    }
+    this.poolIdleTimeout = poolIdleTimeoutInSeconds;
+    return this;
+  }
+
+  /**
+   * Set the time authentications wait for a pooled connection when all of them are in use, after which they fail. This
+   * keeps a slow or hung LDAP server from holding the worker threads. Default to 30 seconds.
+   *
+   * @param poolAcquireTimeoutInSeconds the acquire timeout
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setPoolAcquireTimeoutInSeconds(int poolAcquireTimeoutInSeconds) {
+    if (poolAcquireTimeoutInSeconds <= 0) {
+      throw new IllegalArgumentException("poolAcquireTimeoutInSeconds must be > 0");
+    }
+    this.poolAcquireTimeout = poolAcquireTimeoutInSeconds;
+    return this;
+  }
+
 }
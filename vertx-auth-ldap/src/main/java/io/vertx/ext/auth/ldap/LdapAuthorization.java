@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.ldap;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
+import io.vertx.ext.auth.authorization.AuthorizationProvider;
+import io.vertx.ext.auth.ldap.impl.LdapAuthorizationImpl;
+
+/**
+ * Factory interface for creating a LDAP {@link AuthorizationProvider}. The groups a user belongs to are mapped to
+ * {@link io.vertx.ext.auth.authorization.RoleBasedAuthorization}s.
+ */
+@VertxGen
+public interface LdapAuthorization extends AuthorizationProvider {
+
+  /**
+   * Create a LDAP authorization provider
+   *
+   * @param vertx   the Vert.x instance
+   * @param options the ldap options
+   * @return the authorization provider
+   */
+  static LdapAuthorization create(Vertx vertx, LdapAuthorizationOptions options) {
+    return new LdapAuthorizationImpl(vertx, options);
+  }
+
+  /**
+   * Closes the pooled connections to the LDAP server and stops the timer evicting them. Users are expected to call
+   * this method when the provider isn't needed any more.
+   */
+  default void close() {
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.ldap;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Ldap authorization configuration options
+ */
+@DataObject(generateConverter = true)
+public class LdapAuthorizationOptions {
+
+  private static final String DEFAULT_GROUP_ATTRIBUTE = "memberOf";
+  private static final String DEFAULT_GROUP_SEARCH_FILTER = "(member={0})";
+  private static final String DEFAULT_GROUP_NAME_ATTRIBUTE = "cn";
+  private static final int DEFAULT_MAX_POOL_SIZE = 4;
+  private static final int DEFAULT_POOL_IDLE_TIMEOUT = 60;
+  private static final int DEFAULT_POOL_ACQUIRE_TIMEOUT = 30;
+  private static final int DEFAULT_CACHE_MAX_SIZE = 1000;
+  private static final int DEFAULT_CACHE_TTL = 60;
+
+  private String authenticationMechanism;
+  private String referral;
+  private String url;
+  private String bindDn;
+  private String bindPassword;
+  private String userQuery;
+  private String groupAttribute;
+  private String groupSearchBase;
+  private String groupSearchFilter;
+  private String groupNameAttribute;
+  private int maxPoolSize;
+  private int poolIdleTimeout;
+  private int poolAcquireTimeout;
+  private int cacheMaxSize;
+  private int cacheTtl;
+
+  public LdapAuthorizationOptions() {
+    groupAttribute = DEFAULT_GROUP_ATTRIBUTE;
+    groupSearchFilter = DEFAULT_GROUP_SEARCH_FILTER;
+    groupNameAttribute = DEFAULT_GROUP_NAME_ATTRIBUTE;
+    maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    poolIdleTimeout = DEFAULT_POOL_IDLE_TIMEOUT;
+    poolAcquireTimeout = DEFAULT_POOL_ACQUIRE_TIMEOUT;
+    cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+    cacheTtl = DEFAULT_CACHE_TTL;
+  }
+
+  public LdapAuthorizationOptions(JsonObject json) {
+    this();
+    LdapAuthorizationOptionsConverter.fromJson(json, this);
+  }
+
+  public String getAuthenticationMechanism() {
+    return authenticationMechanism;
+  }
+
+  public String getReferral() {
+    return referral;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public String getBindDn() {
+    return bindDn;
+  }
+
+  public String getBindPassword() {
+    return bindPassword;
+  }
+
+  public String getUserQuery() {
+    return userQuery;
+  }
+
+  public String getGroupAttribute() {
+    return groupAttribute;
+  }
+
+  public String getGroupSearchBase() {
+    return groupSearchBase;
+  }
+
+  public String getGroupSearchFilter() {
+    return groupSearchFilter;
+  }
+
+  public String getGroupNameAttribute() {
+    return groupNameAttribute;
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  public int getPoolIdleTimeoutInSeconds() {
+    return poolIdleTimeout;
+  }
+
+  public int getPoolAcquireTimeoutInSeconds() {
+    return poolAcquireTimeout;
+  }
+
+  public int getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  public int getCacheTtlInSeconds() {
+    return cacheTtl;
+  }
+
+  /**
+   * sets the authentication mechanism. default to 'simple' if not set
+   *
+   * @param authenticationMechanism
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setAuthenticationMechanism(String authenticationMechanism) {
+    this.authenticationMechanism = authenticationMechanism;
+    return this;
+  }
+
+  /**
+   * Set the referral property. Default to 'follow' if not set
+   *
+   * @param referral the referral
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setReferral(String referral) {
+    this.referral = referral;
+    return this;
+  }
+
+  /**
+   * Set the url to the LDAP server. The url must start with `ldap://` and a port
+   * must be specified.
+   *
+   * @param url the url to the server
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setUrl(String url) {
+    this.url = url;
+    return this;
+  }
+
+  /**
+   * Set the DN of the account used to search the directory. When not set, searches are anonymous.
+   *
+   * @param bindDn the DN to bind with
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setBindDn(String bindDn) {
+    this.bindDn = bindDn;
+    return this;
+  }
+
+  /**
+   * Set the password of the account used to search the directory.
+   *
+   * @param bindPassword the password
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setBindPassword(String bindPassword) {
+    this.bindPassword = bindPassword;
+    return this;
+  }
+
+  /**
+   * Set the query used to build the DN of a user. An example is `uid={0},ou=users,dc=foo,dc=com` - Note that the
+   * element `{0}` is substituted with the user id. This is usually the same as the authentication query.
+   *
+   * @param userQuery the user DN template
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setUserQuery(String userQuery) {
+    this.userQuery = userQuery;
+    return this;
+  }
+
+  /**
+   * Set the attribute of the user entry listing the DNs of the groups it belongs to. Only used when no group search
+   * base is set. Default to 'memberOf'.
+   *
+   * @param groupAttribute the attribute name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setGroupAttribute(String groupAttribute) {
+    this.groupAttribute = groupAttribute;
+    return this;
+  }
+
+  /**
+   * Set the base DN under which groups are searched. When set, groups are resolved with a search instead of the
+   * group attribute of the user entry, for directories that do not maintain it.
+   *
+   * @param groupSearchBase the search base
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setGroupSearchBase(String groupSearchBase) {
+    this.groupSearchBase = groupSearchBase;
+    return this;
+  }
+
+  /**
+   * Set the filter used to search groups. The element `{0}` is substituted with the user DN and `{1}` with the user
+   * id. Default to '(member={0})'.
+   *
+   * @param groupSearchFilter the search filter
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setGroupSearchFilter(String groupSearchFilter) {
+    this.groupSearchFilter = groupSearchFilter;
+    return this;
+  }
+
+  /**
+   * Set the attribute of the group entries used as role name when searching groups. Default to 'cn'.
+   *
+   * @param groupNameAttribute the attribute name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setGroupNameAttribute(String groupNameAttribute) {
+    this.groupNameAttribute = groupNameAttribute;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of connections open to the LDAP server, idle or in use. When all connections are in use,
+   * searches wait for one to be given back. Default to 4.
+   *
+   * @param maxPoolSize the maximum number of connections
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setMaxPoolSize(int maxPoolSize) {
+    if (maxPoolSize < 0) {
+      throw new IllegalArgumentException("maxPoolSize must be >= 0");
+    }
+    this.maxPoolSize = maxPoolSize;
+    return this;
+  }
+
+  /**
+   * Set the time after which an idle pooled connection is closed. Default to 60 seconds.
+   *
+   * @param poolIdleTimeoutInSeconds the idle timeout
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setPoolIdleTimeoutInSeconds(int poolIdleTimeoutInSeconds) {
+    if (poolIdleTimeoutInSeconds <= 0) {
+      throw new IllegalArgumentException("poolIdleTimeoutInSeconds must be > 0");
+    }
+    this.poolIdleTimeout = poolIdleTimeoutInSeconds;
+    return this;
+  }
+
+  /**
+   * Set the time searches wait for a pooled connection when all of them are in use, after which they fail. This
+   * keeps a slow or hung LDAP server from holding the worker threads. Default to 30 seconds.
+   *
+   * @param poolAcquireTimeoutInSeconds the acquire timeout
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setPoolAcquireTimeoutInSeconds(int poolAcquireTimeoutInSeconds) {
+    if (poolAcquireTimeoutInSeconds <= 0) {
+      throw new IllegalArgumentException("poolAcquireTimeoutInSeconds must be > 0");
+    }
+    this.poolAcquireTimeout = poolAcquireTimeoutInSeconds;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of users whose groups are cached. Default to 1000, 0 disables the cache.
+   *
+   * @param cacheMaxSize the maximum number of cached users
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setCacheMaxSize(int cacheMaxSize) {
+    if (cacheMaxSize < 0) {
+      throw new IllegalArgumentException("cacheMaxSize must be >= 0");
+    }
+    this.cacheMaxSize = cacheMaxSize;
+    return this;
+  }
+
+  /**
+   * Set the time the groups of a user are cached. Group changes in the directory are only seen after this time.
+   * Default to 60 seconds.
+   *
+   * @param cacheTtlInSeconds the time to live of cached groups
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthorizationOptions setCacheTtlInSeconds(int cacheTtlInSeconds) {
+    this.cacheTtl = cacheTtlInSeconds;
+    return this;
+  }
+}
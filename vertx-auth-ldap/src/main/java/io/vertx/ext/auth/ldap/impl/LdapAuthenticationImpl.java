@@ -13,9 +13,7 @@
 package io.vertx.ext.auth.ldap.impl;
 
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.impl.VertxInternal;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -24,8 +22,6 @@ import io.vertx.ext.auth.ldap.LdapAuthentication;
 import io.vertx.ext.auth.ldap.LdapAuthenticationOptions;
 
 import javax.naming.Context;
-import javax.naming.ldap.InitialLdapContext;
-import javax.naming.ldap.LdapContext;
 import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Objects;
@@ -39,10 +35,16 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
 
   private final Vertx vertx;
   private final LdapAuthenticationOptions authenticationOptions;
+  private final LdapContextPool pool;
 
   public LdapAuthenticationImpl(Vertx vertx, LdapAuthenticationOptions authenticationOptions) {
     this.vertx = Objects.requireNonNull(vertx);
     this.authenticationOptions = Objects.requireNonNull(authenticationOptions);
+    this.pool = new LdapContextPool(
+      vertx,
+      authenticationOptions.getMaxPoolSize(),
+      authenticationOptions.getPoolIdleTimeoutInSeconds() * 1000L,
+      authenticationOptions.getPoolAcquireTimeoutInSeconds() * 1000L);
   }
 
   @Override
@@ -60,8 +62,8 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
     }
 
     String ldapPrincipal = getLdapPrincipal(authInfo.getUsername());
-    return createLdapContext(ldapPrincipal, authInfo.getPassword())
-      .compose(ldapContext -> {
+    return bind(ldapPrincipal, authInfo.getPassword())
+      .compose(v -> {
         User user = User.fromName(authInfo.getUsername());
         // metadata "amr"
         user.principal().put("amr", Collections.singletonList("pwd"));
@@ -69,7 +71,16 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
       });
   }
 
-  private Future<LdapContext> createLdapContext(String principal, String credential) {
+  @Override
+  public void close() {
+    // closing the idle connections may block
+    vertx.executeBlocking(() -> {
+      pool.close();
+      return null;
+    }, false);
+  }
+
+  private Future<Void> bind(String principal, String credential) {
     Hashtable<String, Object> environment = new Hashtable<>();
     // set the initial cntext factory
     environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
@@ -89,18 +100,12 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
     environment.put(Context.REFERRAL,
       authenticationOptions.getReferral() == null ? FOLLOW_REFERRAL : authenticationOptions.getReferral());
 
-    Promise<LdapContext> promise = ((VertxInternal) vertx).promise();
-
-    vertx.executeBlocking(blockingResult -> {
-      try {
-        LdapContext context = new InitialLdapContext(environment, null);
-        blockingResult.complete(context);
-      } catch (Throwable t) {
-        blockingResult.fail(t);
-      }
-    }, promise);
-
-    return promise.future();
+    // binds are independent of each other, they can run in parallel
+    return vertx.executeBlocking(() -> {
+      // the bind is the authentication, the connection isn't used afterwards
+      pool.release(pool.acquire(environment));
+      return null;
+    }, false);
   }
 
   private String getLdapPrincipal(String principal) {
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.ldap.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
+import io.vertx.ext.auth.ldap.LdapAuthorization;
+import io.vertx.ext.auth.ldap.LdapAuthorizationOptions;
+
+import javax.naming.CommunicationException;
+import javax.naming.Context;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the groups of a user, either from the group attribute of its entry ({@code memberOf}) or with a group
+ * search, and maps them to roles. Searches run with the configured bind DN over a pool of connections, and the groups
+ * of each user DN are cached for a configurable time.
+ */
+public class LdapAuthorizationImpl implements LdapAuthorization {
+
+  private static final String SIMPLE_AUTHENTICATION_MECHANISM = "simple";
+  private static final String FOLLOW_REFERRAL = "follow";
+
+  private final Vertx vertx;
+  private final LdapAuthorizationOptions options;
+  private final Hashtable<String, Object> environment;
+  private final LdapContextPool pool;
+
+  // user DN -> group names
+  private final ExpiringCache<String, Set<String>> cache;
+  // concurrent lookups of the same user share a single search
+  private final ConcurrentMap<String, Future<Set<String>>> lookups = new ConcurrentHashMap<>();
+
+  public LdapAuthorizationImpl(Vertx vertx, LdapAuthorizationOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.options = Objects.requireNonNull(options);
+    Objects.requireNonNull(options.getUserQuery(), "userQuery cannot be null");
+
+    environment = new Hashtable<>();
+    environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
+    environment.put(Context.PROVIDER_URL, options.getUrl());
+    if (options.getBindDn() != null) {
+      environment.put(Context.SECURITY_PRINCIPAL, options.getBindDn());
+      if (options.getBindPassword() != null) {
+        environment.put(Context.SECURITY_CREDENTIALS, options.getBindPassword());
+      }
+      environment.put(Context.SECURITY_AUTHENTICATION,
+        options.getAuthenticationMechanism() == null ? SIMPLE_AUTHENTICATION_MECHANISM : options.getAuthenticationMechanism());
+    }
+    environment.put(Context.REFERRAL, options.getReferral() == null ? FOLLOW_REFERRAL : options.getReferral());
+
+    // all searches use the same identity, pooled connections are never bound again
+    pool = new LdapContextPool(
+      vertx,
+      options.getMaxPoolSize(),
+      options.getPoolIdleTimeoutInSeconds() * 1000L,
+      options.getPoolAcquireTimeoutInSeconds() * 1000L,
+      false);
+    cache = options.getCacheMaxSize() > 0 ? new ExpiringCache<>(options.getCacheMaxSize()) : null;
+  }
+
+  @Override
+  public String getId() {
+    return "ldap";
+  }
+
+  @Override
+  public void close() {
+    // closing the idle connections may block
+    vertx.executeBlocking(() -> {
+      pool.close();
+      return null;
+    }, false);
+  }
+
+  @Override
+  public Future<Void> getAuthorizations(User user) {
+    final String username = user.principal().getString("username");
+    if (username == null) {
+      return Future.failedFuture("Couldn't get the username from the principal");
+    }
+
+    // the username is a RDN value, it must not be able to add RDNs and point to another entry
+    return getGroups(options.getUserQuery().replace("{0}", Rdn.escapeValue(username)), username)
+      .onSuccess(groups -> {
+        final Set<Authorization> authorizations = new HashSet<>();
+        for (String group : groups) {
+          authorizations.add(RoleBasedAuthorization.create(group));
+        }
+        user.authorizations().add(getId(), authorizations);
+      })
+      .mapEmpty();
+  }
+
+  private Future<Set<String>> getGroups(String userDn, String username) {
+    if (cache != null) {
+      final Set<String> groups = cache.get(userDn);
+      if (groups != null) {
+        return Future.succeededFuture(groups);
+      }
+    }
+
+    final Promise<Set<String>> promise = Promise.promise();
+    final Future<Set<String>> inFlight = lookups.putIfAbsent(userDn, promise.future());
+
+    if (inFlight != null) {
+      // the groups of this user are being searched already
+      return inFlight;
+    }
+
+    vertx.<Set<String>>executeBlocking(() -> search(userDn, username), false)
+      .onComplete(ar -> {
+        if (ar.succeeded() && cache != null) {
+          cache.put(userDn, ar.result(), System.currentTimeMillis() + options.getCacheTtlInSeconds() * 1000L);
+        }
+        lookups.remove(userDn, promise.future());
+        promise.handle(ar);
+      });
+
+    return promise.future();
+  }
+
+  private Set<String> search(String userDn, String username) throws NamingException {
+    // idle connections may have been dropped by the server, each one is tried once before opening a new one
+    for (int attempt = 0; ; attempt++) {
+      final LdapContext context = pool.acquire(environment);
+      try {
+        final Set<String> groups = options.getGroupSearchBase() == null ?
+          groupsFromAttribute(context, userDn) :
+          groupsFromSearch(context, userDn, username);
+        pool.release(context);
+        return groups;
+      } catch (CommunicationException e) {
+        pool.discard(context);
+        if (attempt >= options.getMaxPoolSize()) {
+          throw e;
+        }
+      } catch (NamingException | RuntimeException e) {
+        pool.discard(context);
+        throw e;
+      }
+    }
+  }
+
+  private Set<String> groupsFromAttribute(LdapContext context, String userDn) throws NamingException {
+    final Attributes attributes = context.getAttributes(userDn, new String[]{options.getGroupAttribute()});
+    final Attribute attribute = attributes.get(options.getGroupAttribute());
+    if (attribute == null) {
+      return Collections.emptySet();
+    }
+
+    final Set<String> groups = new HashSet<>();
+    final NamingEnumeration<?> values = attribute.getAll();
+    try {
+      while (values.hasMore()) {
+        groups.add(groupName(values.next().toString()));
+      }
+    } finally {
+      values.close();
+    }
+    return Collections.unmodifiableSet(groups);
+  }
+
+  private Set<String> groupsFromSearch(LdapContext context, String userDn, String username) throws NamingException {
+    final SearchControls controls = new SearchControls();
+    controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+    controls.setReturningAttributes(new String[]{options.getGroupNameAttribute()});
+
+    final Set<String> groups = new HashSet<>();
+    // filter arguments are escaped by the provider
+    final NamingEnumeration<SearchResult> results =
+      context.search(options.getGroupSearchBase(), options.getGroupSearchFilter(), new Object[]{userDn, username}, controls);
+    try {
+      while (results.hasMore()) {
+        final Attribute attribute = results.next().getAttributes().get(options.getGroupNameAttribute());
+        if (attribute != null) {
+          groups.add(attribute.get().toString());
+        }
+      }
+    } finally {
+      results.close();
+    }
+    return Collections.unmodifiableSet(groups);
+  }
+
+  /**
+   * The group attribute holds DNs, the role is the value of the most specific RDN, e.g.: {@code admins} for
+   * {@code cn=admins,ou=groups,dc=foo,dc=com}.
+   */
+  private static String groupName(String dn) {
+    try {
+      final LdapName name = new LdapName(dn);
+      if (name.size() > 0) {
+        return name.getRdn(name.size() - 1).getValue().toString();
+      }
+    } catch (NamingException | IllegalArgumentException e) {
+      // not a DN, use it as is
+    }
+    return dn;
+  }
+}
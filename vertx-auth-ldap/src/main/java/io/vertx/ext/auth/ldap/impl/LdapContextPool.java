@@ -0,0 +1,338 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.ldap.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+
+import javax.naming.AuthenticationException;
+import javax.naming.Context;
+import javax.naming.InterruptedNamingException;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.ldap.InitialLdapContext;
+import javax.naming.ldap.LdapContext;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A pool of LDAP connections.
+ * <p>
+ * LDAPv3 allows a connection to be bound again with different credentials, so an idle connection is reused for any
+ * bind by updating the security properties of its environment and calling {@link LdapContext#reconnect}. The bind
+ * itself validates the connection: connections that went stale while idle are closed, and the next one is tried.
+ * <p>
+ * Pools where all connections share the same identity (e.g. a service account used for searches) can skip the bind
+ * entirely, see {@link #LdapContextPool(Vertx, int, long, long, boolean)}.
+ * <p>
+ * At most {@code maxSize} connections are open at once, idle or in use, callers wait up to {@code acquireTimeout} for a
+ * connection to be given back when the limit is reached. Idle connections are closed by a periodic timer once they expire, and all of them are
+ * closed by {@link #close()}.
+ * <p>
+ * Unless stated otherwise, methods block, they must be called from a worker thread.
+ */
+public final class LdapContextPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LdapContextPool.class);
+
+  private static final class Entry {
+    final LdapContext context;
+    final long idleSince;
+
+    Entry(LdapContext context, long idleSince) {
+      this.context = context;
+      this.idleSince = idleSince;
+    }
+  }
+
+  private final Vertx vertx;
+  // most recently used first, so the oldest connections expire at the tail
+  private final Deque<Entry> idle = new ArrayDeque<>();
+  private final int maxSize;
+  private final long idleTimeout;
+  private final long acquireTimeout;
+  private final boolean rebind;
+  private final long timerId;
+
+  // guarded by this
+  private int open;
+  private boolean closed;
+
+  /**
+   * @param vertx          the vertx instance running the eviction timer.
+   * @param maxSize        maximum number of open connections, 0 closes all connections after use and sets no limit.
+   * @param idleTimeout    time in milliseconds after which an idle connection is closed.
+   * @param acquireTimeout time in milliseconds a caller waits for a connection when all of them are in use.
+   */
+  public LdapContextPool(Vertx vertx, int maxSize, long idleTimeout, long acquireTimeout) {
+    this(vertx, maxSize, idleTimeout, acquireTimeout, true);
+  }
+
+  /**
+   * @param vertx          the vertx instance running the eviction timer.
+   * @param maxSize        maximum number of open connections, 0 closes all connections after use and sets no limit.
+   * @param idleTimeout    time in milliseconds after which an idle connection is closed.
+   * @param acquireTimeout time in milliseconds a caller waits for a connection when all of them are in use.
+   * @param rebind         {@code false} when all connections are acquired with the same environment, idle connections
+   *                       are then returned as they are, and callers must {@link #discard(LdapContext)} connections
+   *                       that fail.
+   */
+  public LdapContextPool(Vertx vertx, int maxSize, long idleTimeout, long acquireTimeout, boolean rebind) {
+    this.vertx = vertx;
+    this.maxSize = maxSize;
+    this.idleTimeout = idleTimeout;
+    this.acquireTimeout = acquireTimeout;
+    this.rebind = rebind;
+
+    if (maxSize > 0 && idleTimeout > 0) {
+      // without traffic nothing else would close the idle connections
+      this.timerId = vertx.setPeriodic(idleTimeout, t -> vertx.executeBlocking(() -> {
+        evictExpired();
+        return null;
+      }, false));
+    } else {
+      this.timerId = -1;
+    }
+  }
+
+  /**
+   * Gets a connection bound with the security properties of the given environment.
+   *
+   * @param environment the connection environment, including the credentials to bind with
+   * @return a bound connection, to be given back with {@link #release(LdapContext)} or {@link #discard(LdapContext)}
+   * @throws NamingException when the bind fails, or no connection was given back within the acquire timeout
+   */
+  public LdapContext acquire(Hashtable<String, Object> environment) throws NamingException {
+    LdapContext context;
+
+    while ((context = poll()) != null) {
+      if (!rebind) {
+        return context;
+      }
+      try {
+        bind(context, environment);
+        return context;
+      } catch (AuthenticationException e) {
+        // the connection is fine, the credentials aren't, but don't risk reusing a half bound connection
+        discard(context);
+        throw e;
+      } catch (NamingException e) {
+        LOG.debug("Discarding stale LDAP connection", e);
+        discard(context);
+      }
+    }
+
+    // poll() reserved a slot for a new connection
+    try {
+      return new InitialLdapContext(environment, null);
+    } catch (NamingException | RuntimeException e) {
+      closed(1);
+      throw e;
+    }
+  }
+
+  /**
+   * Gives a connection back to the pool, or closes it when the pool is full.
+   *
+   * @param context the connection
+   */
+  public void release(LdapContext context) {
+    if (rebind) {
+      try {
+        // do not keep passwords around in idle connections
+        context.removeFromEnvironment(Context.SECURITY_CREDENTIALS);
+      } catch (NamingException e) {
+        discard(context);
+        return;
+      }
+    }
+
+    synchronized (this) {
+      if (!closed && idle.size() < maxSize) {
+        idle.addFirst(new Entry(context, System.currentTimeMillis()));
+        notify();
+        return;
+      }
+    }
+
+    discard(context);
+  }
+
+  /**
+   * Closes a connection that must not be reused.
+   *
+   * @param context the connection
+   */
+  public void discard(LdapContext context) {
+    closed(1);
+    close(context);
+  }
+
+  /**
+   * Closes the idle connections that expired.
+   */
+  public void evictExpired() {
+    final long expired = System.currentTimeMillis() - idleTimeout;
+    final List<LdapContext> evicted = new ArrayList<>();
+
+    synchronized (this) {
+      // the oldest connections are at the tail
+      final Iterator<Entry> it = idle.descendingIterator();
+      while (it.hasNext()) {
+        final Entry entry = it.next();
+        if (entry.idleSince > expired) {
+          break;
+        }
+        it.remove();
+        evicted.add(entry.context);
+      }
+      open -= evicted.size();
+      notifyAll();
+    }
+
+    closeAll(evicted);
+  }
+
+  /**
+   * Closes all idle connections and stops the eviction timer. Connections in use are closed when they are given back,
+   * and no new connection can be acquired.
+   */
+  public void close() {
+    if (timerId != -1) {
+      vertx.cancelTimer(timerId);
+    }
+
+    final List<LdapContext> evicted = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      for (Entry entry : idle) {
+        evicted.add(entry.context);
+      }
+      idle.clear();
+      open -= evicted.size();
+      // waiting callers must fail
+      notifyAll();
+    }
+
+    closeAll(evicted);
+  }
+
+  /**
+   * @return the number of open connections, idle or in use.
+   */
+  public synchronized int size() {
+    return open;
+  }
+
+  /**
+   * @return an idle connection, or {@code null} when the caller may open a new one.
+   */
+  private LdapContext poll() throws NamingException {
+    final long now = System.currentTimeMillis();
+    final long expired = now - idleTimeout;
+    final long deadline = now + acquireTimeout;
+    final List<LdapContext> evicted = new ArrayList<>();
+    LdapContext context = null;
+
+    try {
+      synchronized (this) {
+        while (true) {
+          if (closed) {
+            throw new ServiceUnavailableException("LDAP connection pool is closed");
+          }
+
+          // evict the expired connections (the oldest ones) first
+          final Iterator<Entry> it = idle.descendingIterator();
+          while (it.hasNext()) {
+            final Entry entry = it.next();
+            if (entry.idleSince > expired) {
+              break;
+            }
+            it.remove();
+            evicted.add(entry.context);
+            open--;
+          }
+
+          final Entry entry = idle.pollFirst();
+          if (entry != null) {
+            context = entry.context;
+            break;
+          }
+
+          if (maxSize == 0 || open < maxSize) {
+            open++;
+            break;
+          }
+
+          // a slow or hung server must not hold the worker threads forever
+          final long remaining = deadline - System.currentTimeMillis();
+          if (remaining <= 0) {
+            throw new NamingException("Timed out waiting for a LDAP connection");
+          }
+          try {
+            wait(remaining);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedNamingException("Interrupted while waiting for a LDAP connection");
+          }
+        }
+      }
+    } finally {
+      // closing may hit the network, do it outside the lock
+      closeAll(evicted);
+    }
+
+    return context;
+  }
+
+  private static void closeAll(List<LdapContext> contexts) {
+    for (LdapContext context : contexts) {
+      close(context);
+    }
+  }
+
+  private synchronized void closed(int count) {
+    open -= count;
+    // a slot for a new connection is available
+    notifyAll();
+  }
+
+  private static void close(LdapContext context) {
+    try {
+      context.close();
+    } catch (NamingException e) {
+      LOG.debug("Failed to close LDAP connection", e);
+    }
+  }
+
+  private static void bind(LdapContext context, Hashtable<String, Object> environment) throws NamingException {
+    for (String key : new String[]{Context.SECURITY_AUTHENTICATION, Context.SECURITY_PRINCIPAL, Context.SECURITY_CREDENTIALS}) {
+      final Object value = environment.get(key);
+      if (value == null) {
+        context.removeFromEnvironment(key);
+      } else {
+        context.addToEnvironment(key, value);
+      }
+    }
+    // re-authenticates over the existing connection
+    context.reconnect(null);
+  }
+}
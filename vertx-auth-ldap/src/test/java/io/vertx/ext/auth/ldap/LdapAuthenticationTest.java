@@ -80,6 +80,27 @@ public class LdapAuthenticationTest {
       });
   }
 
+  @Test
+  public void testPooledAuthenticate(TestContext should) {
+    final Async test = should.async(20);
+
+    LdapAuthentication pooled = LdapAuthentication.create(rule.vertx(), new LdapAuthenticationOptions()
+      .setUrl("ldap://localhost:" + serverRule.getLdapServer().getPort())
+      .setAuthenticationQuery("uid={0},ou=Users,dc=myorg,dc=com")
+      .setMaxPoolSize(2));
+
+    for (int i = 0; i < 20; i++) {
+      // interleave valid and invalid binds over the same connections
+      boolean valid = i % 2 == 0;
+      UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("tim", valid ? "sausages" : "wrongpassword");
+      pooled.authenticate(credentials)
+        .onComplete(res -> {
+          should.assertEquals(valid, res.succeeded());
+          test.countDown();
+        });
+    }
+  }
+
   @Before
   public void setUp() throws Exception {
     LdapAuthenticationOptions ldapOptions = new LdapAuthenticationOptions().setUrl("ldap://localhost:" + serverRule.getLdapServer().getPort())
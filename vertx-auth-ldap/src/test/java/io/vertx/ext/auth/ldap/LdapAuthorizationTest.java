@@ -0,0 +1,166 @@
+package io.vertx.ext.auth.ldap;
+
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.apache.directory.server.annotations.CreateLdapServer;
+import org.apache.directory.server.annotations.CreateTransport;
+import org.apache.directory.server.core.annotations.ApplyLdifFiles;
+import org.apache.directory.server.core.annotations.CreateDS;
+import org.apache.directory.server.core.annotations.CreatePartition;
+import org.apache.directory.server.core.integ.CreateLdapServerRule;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.naming.Context;
+import javax.naming.directory.BasicAttribute;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.InitialDirContext;
+import java.util.Hashtable;
+
+@CreateDS(name = "myDS", partitions = {@CreatePartition(name = "test", suffix = "dc=myorg,dc=com")})
+@CreateLdapServer(transports = {@CreateTransport(protocol = "LDAP", address = "localhost")})
+@ApplyLdifFiles({"ldap.ldif"})
+@RunWith(VertxUnitRunner.class)
+public class LdapAuthorizationTest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  @ClassRule
+  public static final CreateLdapServerRule serverRule = new CreateLdapServerRule();
+
+  private static LdapAuthorizationOptions options() {
+    return new LdapAuthorizationOptions()
+      .setUrl("ldap://localhost:" + serverRule.getLdapServer().getPort())
+      .setBindDn("uid=admin,ou=system")
+      .setBindPassword("secret")
+      .setUserQuery("uid={0},ou=Users,dc=myorg,dc=com");
+  }
+
+  @Test
+  public void testGroupAttribute(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthorization authz = LdapAuthorization.create(rule.vertx(), options()
+      // the test schema has no memberOf, seeAlso also holds group DNs
+      .setGroupAttribute("seeAlso"));
+
+    User user = User.fromName("tim");
+    authz.getAuthorizations(user)
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertTrue(RoleBasedAuthorization.create("admins").match(user));
+        should.assertFalse(RoleBasedAuthorization.create("developers").match(user));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testGroupSearch(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthorization authz = LdapAuthorization.create(rule.vertx(), options()
+      .setGroupSearchBase("ou=Groups,dc=myorg,dc=com"));
+
+    User user = User.fromName("tim");
+    authz.getAuthorizations(user)
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertTrue(RoleBasedAuthorization.create("admins").match(user));
+        should.assertTrue(RoleBasedAuthorization.create("developers").match(user));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testUnknownUser(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthorization authz = LdapAuthorization.create(rule.vertx(), options()
+      .setGroupSearchBase("ou=Groups,dc=myorg,dc=com"));
+
+    User user = User.fromName("frank");
+    authz.getAuthorizations(user)
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertTrue(user.authorizations().get(authz.getId()).isEmpty());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testUsernameIsEscaped(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthorization authz = LdapAuthorization.create(rule.vertx(), options()
+      .setUserQuery("uid={0},dc=myorg,dc=com")
+      .setGroupAttribute("seeAlso"));
+
+    // unescaped, this would be the DN of tim
+    User user = User.fromName("tim,ou=Users");
+    authz.getAuthorizations(user)
+      .onComplete(ar -> {
+        should.assertFalse(RoleBasedAuthorization.create("admins").match(user));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testGroupsAreCached(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthorization cached = LdapAuthorization.create(rule.vertx(), options()
+      .setGroupSearchBase("ou=Groups,dc=myorg,dc=com"));
+    LdapAuthorization uncached = LdapAuthorization.create(rule.vertx(), options()
+      .setGroupSearchBase("ou=Groups,dc=myorg,dc=com")
+      .setCacheMaxSize(0));
+
+    RoleBasedAuthorization operators = RoleBasedAuthorization.create("operators");
+
+    cached.getAuthorizations(User.fromName("tim"))
+      .compose(v -> rule.vertx().executeBlocking(() -> {
+        Hashtable<String, Object> env = new Hashtable<>();
+        env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
+        env.put(Context.PROVIDER_URL, "ldap://localhost:" + serverRule.getLdapServer().getPort());
+        env.put(Context.SECURITY_PRINCIPAL, "uid=admin,ou=system");
+        env.put(Context.SECURITY_CREDENTIALS, "secret");
+        InitialDirContext ctx = new InitialDirContext(env);
+        try {
+          BasicAttributes attributes = new BasicAttributes(true);
+          BasicAttribute objectClass = new BasicAttribute("objectClass");
+          objectClass.add("groupOfNames");
+          objectClass.add("top");
+          attributes.put(objectClass);
+          attributes.put("cn", "operators");
+          attributes.put("member", "uid=tim,ou=Users,dc=myorg,dc=com");
+          ctx.createSubcontext("cn=operators,ou=Groups,dc=myorg,dc=com", attributes).close();
+        } finally {
+          ctx.close();
+        }
+        return null;
+      }))
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        User user = User.fromName("tim");
+        cached.getAuthorizations(user)
+          .onFailure(should::fail)
+          .onSuccess(v2 -> {
+            // served from the cache, the new group isn't seen yet
+            should.assertFalse(operators.match(user));
+            User other = User.fromName("tim");
+            uncached.getAuthorizations(other)
+              .onFailure(should::fail)
+              .onSuccess(v3 -> {
+                should.assertTrue(operators.match(other));
+                test.complete();
+              });
+          });
+      });
+  }
+}
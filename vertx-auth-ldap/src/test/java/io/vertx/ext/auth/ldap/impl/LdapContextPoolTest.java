@@ -0,0 +1,150 @@
+package io.vertx.ext.auth.ldap.impl;
+
+import io.vertx.core.Vertx;
+import org.apache.directory.server.annotations.CreateLdapServer;
+import org.apache.directory.server.annotations.CreateTransport;
+import org.apache.directory.server.core.annotations.ApplyLdifFiles;
+import org.apache.directory.server.core.annotations.CreateDS;
+import org.apache.directory.server.core.annotations.CreatePartition;
+import org.apache.directory.server.core.integ.CreateLdapServerRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import javax.naming.Context;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.ldap.LdapContext;
+import java.util.Hashtable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@CreateDS(name = "myDS", partitions = {@CreatePartition(name = "test", suffix = "dc=myorg,dc=com")})
+@CreateLdapServer(transports = {@CreateTransport(protocol = "LDAP", address = "localhost")})
+@ApplyLdifFiles({"ldap.ldif"})
+public class LdapContextPoolTest {
+
+  @ClassRule
+  public static final CreateLdapServerRule serverRule = new CreateLdapServerRule();
+
+  private Vertx vertx;
+  private Hashtable<String, Object> environment;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    environment = new Hashtable<>();
+    environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
+    environment.put(Context.PROVIDER_URL, "ldap://localhost:" + serverRule.getLdapServer().getPort());
+    environment.put(Context.SECURITY_AUTHENTICATION, "simple");
+    environment.put(Context.SECURITY_PRINCIPAL, "uid=tim,ou=Users,dc=myorg,dc=com");
+    environment.put(Context.SECURITY_CREDENTIALS, "sausages");
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close().toCompletionStage().toCompletableFuture().join();
+  }
+
+  @Test
+  public void testMaxSize() throws Exception {
+    final LdapContextPool pool = new LdapContextPool(vertx, 1, 60_000, 10_000);
+    final LdapContext first = pool.acquire(environment);
+
+    final CompletableFuture<LdapContext> second = CompletableFuture.supplyAsync(() -> {
+      try {
+        return pool.acquire(environment);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    try {
+      second.get(500, TimeUnit.MILLISECONDS);
+      fail("The pool is exhausted, the second caller should wait");
+    } catch (TimeoutException e) {
+      // OK
+    }
+    assertEquals(1, pool.size());
+
+    pool.release(first);
+    // the released connection is handed over
+    assertSame(first, second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, pool.size());
+
+    pool.release(first);
+    pool.close();
+  }
+
+  @Test
+  public void testAcquireTimeout() throws Exception {
+    final LdapContextPool pool = new LdapContextPool(vertx, 1, 60_000, 200);
+    final LdapContext first = pool.acquire(environment);
+
+    final long start = System.currentTimeMillis();
+    try {
+      pool.acquire(environment);
+      fail("The pool is exhausted, the second caller should time out");
+    } catch (NamingException e) {
+      // OK
+    }
+    assertTrue(System.currentTimeMillis() - start >= 200);
+    assertEquals(1, pool.size());
+
+    pool.release(first);
+    pool.close();
+  }
+
+  @Test
+  public void testDiscardFreesSlot() throws Exception {
+    final LdapContextPool pool = new LdapContextPool(vertx, 1, 60_000, 10_000);
+    pool.discard(pool.acquire(environment));
+    assertEquals(0, pool.size());
+
+    pool.release(pool.acquire(environment));
+    assertEquals(1, pool.size());
+    pool.close();
+  }
+
+  @Test
+  public void testIdleConnectionsAreEvictedWithoutTraffic() throws Exception {
+    final LdapContextPool pool = new LdapContextPool(vertx, 2, 100, 10_000);
+    pool.release(pool.acquire(environment));
+    assertEquals(1, pool.size());
+
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (pool.size() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertEquals(0, pool.size());
+    pool.close();
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    final LdapContextPool pool = new LdapContextPool(vertx, 2, 60_000, 10_000);
+    final LdapContext inUse = pool.acquire(environment);
+    pool.release(pool.acquire(environment));
+    assertEquals(2, pool.size());
+
+    pool.close();
+    // the idle connection is closed right away, the one in use once given back
+    assertEquals(1, pool.size());
+    pool.release(inUse);
+    assertEquals(0, pool.size());
+
+    try {
+      pool.acquire(environment);
+      fail("The pool is closed");
+    } catch (ServiceUnavailableException e) {
+      // OK
+    }
+  }
+}
@@ -60,6 +60,16 @@ public class OAuth2OptionsConverter {
             obj.setHttpClientOptions(new io.vertx.core.http.HttpClientOptions((io.vertx.core.json.JsonObject)member.getValue()));
           }
           break;
+        case "introspectionCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "introspectionCacheMaxTtlInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheMaxTtlInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
         case "introspectionPath":
           if (member.getValue() instanceof String) {
             obj.setIntrospectionPath((String)member.getValue());
@@ -70,6 +80,11 @@ public class OAuth2OptionsConverter {
             obj.setJwkMaxAgeInSeconds(((Number)member.getValue()).longValue());
           }
           break;
+        case "jwkMinRefreshIntervalInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setJwkMinRefreshIntervalInSeconds(((Number)member.getValue()).longValue());
+          }
+          break;
         case "jwkPath":
           if (member.getValue() instanceof String) {
             obj.setJwkPath((String)member.getValue());
@@ -193,10 +208,13 @@ public class OAuth2OptionsConverter {
     if (obj.getHttpClientOptions() != null) {
       json.put("httpClientOptions", obj.getHttpClientOptions().toJson());
     }
+    json.put("introspectionCacheMaxSize", obj.getIntrospectionCacheMaxSize());
+    json.put("introspectionCacheMaxTtlInSeconds", obj.getIntrospectionCacheMaxTtlInSeconds());
     if (obj.getIntrospectionPath() != null) {
       json.put("introspectionPath", obj.getIntrospectionPath());
     }
     json.put("jwkMaxAgeInSeconds", obj.getJwkMaxAgeInSeconds());
+    json.put("jwkMinRefreshIntervalInSeconds", obj.getJwkMinRefreshIntervalInSeconds());
     if (obj.getJwkPath() != null) {
       json.put("jwkPath", obj.getJwkPath());
     }
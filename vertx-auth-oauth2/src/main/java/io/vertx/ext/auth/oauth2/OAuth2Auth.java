@@ -123,6 +123,9 @@ public interface OAuth2Auth extends AuthenticationProvider {
    * at a time. No special handling is done to avoid requests on wrong key ids or prevent to many
    * requests to the IdP server. Users should probably also account for the number of errors to
    * present DDoS the IdP.
+   * <p>
+   * Alternatively, {@link io.vertx.ext.auth.oauth2.OAuth2Options#setJwkMinRefreshIntervalInSeconds(long)} lets
+   * the provider reload the key set itself, at most once per interval, before this handler is called.
    *
    * @return Future result.
    * @see OAuth2Auth#missingKeyHandler(Handler)
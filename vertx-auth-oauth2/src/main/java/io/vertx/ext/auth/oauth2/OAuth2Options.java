@@ -52,6 +52,9 @@ public class OAuth2Options {
   private static final boolean VALIDATE_ISSUER = true;
   //seconds of JWK's default age (-1 means no rotation)
   private static final long JWK_DEFAULT_AGE = -1L;
+  private static final long JWK_DEFAULT_MIN_REFRESH_INTERVAL = -1L;
+  private static final int INTROSPECTION_CACHE_DEFAULT_MAX_SIZE = 0;
+  private static final long INTROSPECTION_CACHE_DEFAULT_MAX_TTL = 60L;
 
   private List<String> supportedGrantTypes;
   private String authorizationPath;
@@ -66,10 +69,13 @@ public class OAuth2Options {
   private JsonObject userInfoParams;
   // introspection RFC7662
   private String introspectionPath;
+  private int introspectionCacheMaxSize;
+  private long introspectionCacheMaxTtl;
   // JWK path RFC7517
   private String jwkPath;
   //seconds of JWKs lifetime
   private long jwkMaxAge;
+  private long jwkMinRefreshInterval;
   // OpenID non standard
   private String tenant;
 
@@ -146,6 +152,9 @@ public class OAuth2Options {
     }
     jwkPath = other.getJwkPath();
     jwkMaxAge = other.getJwkMaxAgeInSeconds();
+    jwkMinRefreshInterval = other.getJwkMinRefreshIntervalInSeconds();
+    introspectionCacheMaxSize = other.getIntrospectionCacheMaxSize();
+    introspectionCacheMaxTtl = other.getIntrospectionCacheMaxTtlInSeconds();
     httpClientOptions = other.getHttpClientOptions();
     userAgent = other.getUserAgent();
     supportedGrantTypes = other.getSupportedGrantTypes();
@@ -168,6 +177,9 @@ public class OAuth2Options {
     scopeSeparator = SCOPE_SEPARATOR;
     jwtOptions = JWT_OPTIONS;
     jwkMaxAge = JWK_DEFAULT_AGE;
+    jwkMinRefreshInterval = JWK_DEFAULT_MIN_REFRESH_INTERVAL;
+    introspectionCacheMaxSize = INTROSPECTION_CACHE_DEFAULT_MAX_SIZE;
+    introspectionCacheMaxTtl = INTROSPECTION_CACHE_DEFAULT_MAX_TTL;
   }
 
   /**
@@ -676,6 +688,67 @@ public class OAuth2Options {
     this.jwkMaxAge = jwkMaxAgeInSeconds;
   }
 
+  public long getJwkMinRefreshIntervalInSeconds() {
+    return jwkMinRefreshInterval;
+  }
+
+  /**
+   * When a token refers to an unknown key id, the provider can refresh the JWK set on its own. To protect the IdP,
+   * these refreshes happen at most once per interval, regardless of how many tokens with unknown keys are received.
+   * -1 (the default) disables the automatic refresh, leaving it to the {@link OAuth2Auth#missingKeyHandler(io.vertx.core.Handler)}.
+   *
+   * @param jwkMinRefreshIntervalInSeconds minimum interval between refreshes caused by unknown key ids
+   * @return self
+   */
+  @Fluent
+  public OAuth2Options setJwkMinRefreshIntervalInSeconds(long jwkMinRefreshIntervalInSeconds) {
+    this.jwkMinRefreshInterval = jwkMinRefreshIntervalInSeconds;
+    return this;
+  }
+
+  public int getIntrospectionCacheMaxSize() {
+    return introspectionCacheMaxSize;
+  }
+
+  /**
+   * Opaque tokens are validated by calling the introspection endpoint of the IdP. When this value is greater than
+   * zero, the introspection results (including inactive tokens) are cached for up to this number of tokens, and
+   * concurrent validations of the same token share a single introspection request. 0 (the default) disables the
+   * cache.
+   *
+   * @param introspectionCacheMaxSize the maximum number of cached introspection results
+   * @return self
+   */
+  @Fluent
+  public OAuth2Options setIntrospectionCacheMaxSize(int introspectionCacheMaxSize) {
+    if (introspectionCacheMaxSize < 0) {
+      throw new IllegalArgumentException("introspectionCacheMaxSize must be >= 0");
+    }
+    this.introspectionCacheMaxSize = introspectionCacheMaxSize;
+    return this;
+  }
+
+  public long getIntrospectionCacheMaxTtlInSeconds() {
+    return introspectionCacheMaxTtl;
+  }
+
+  /**
+   * The maximum time an introspection result is cached. Active tokens are cached until the earliest of their
+   * {@code exp} and this time, inactive tokens are cached for this time. Revoked tokens may be accepted during
+   * this period, so keep it short. Defaults to 60 seconds.
+   *
+   * @param introspectionCacheMaxTtlInSeconds maximum time to live of cached introspection results
+   * @return self
+   */
+  @Fluent
+  public OAuth2Options setIntrospectionCacheMaxTtlInSeconds(long introspectionCacheMaxTtlInSeconds) {
+    if (introspectionCacheMaxTtlInSeconds < 0) {
+      throw new IllegalArgumentException("introspectionCacheMaxTtlInSeconds must be >= 0");
+    }
+    this.introspectionCacheMaxTtl = introspectionCacheMaxTtlInSeconds;
+    return this;
+  }
+
   public List<JsonObject> getJwks() {
     return jwks;
   }
@@ -31,6 +31,9 @@ import io.vertx.ext.auth.oauth2.OAuth2Options;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.security.SignatureException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -104,6 +107,13 @@ public class OAuth2API {
                 }
               }
             }
+            // Cache-Control takes precedence, fallback to the HTTP/1.0 Expires header
+            if (!json.containsKey("maxAge")) {
+              final Long maxAge = expiresToMaxAge(reply.headers().get(HttpHeaders.EXPIRES), reply.headers().get(HttpHeaders.DATE));
+              if (maxAge != null) {
+                json.put("maxAge", maxAge);
+              }
+            }
             return Future.succeededFuture(json);
           }
         } catch (RuntimeException e) {
@@ -112,6 +122,36 @@ public class OAuth2API {
       });
   }
 
+  /**
+   * Computes the max age in seconds from the {@code Expires} header. The expiration is relative to the server
+   * {@code Date} header when present, so clock differences between the IdP and this node do not matter.
+   *
+   * @return the max age or {@code null} if the header is absent or invalid.
+   */
+  static Long expiresToMaxAge(String expires, String date) {
+    if (expires == null) {
+      return null;
+    }
+    final long expiresAt;
+    try {
+      expiresAt = ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+    } catch (DateTimeParseException e) {
+      // invalid dates (e.g.: "0") mean already expired
+      return 0L;
+    }
+
+    long now = System.currentTimeMillis() / 1000;
+    if (date != null) {
+      try {
+        now = ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+      } catch (DateTimeParseException e) {
+        // ignore bad formed headers
+      }
+    }
+
+    return Math.max(0, expiresAt - now);
+  }
+
   /**
    * The client sends the end-user's browser to this endpoint to request their authentication and consent. This endpoint is used in the code and implicit OAuth 2.0 flows which require end-user interaction.
    * <p>
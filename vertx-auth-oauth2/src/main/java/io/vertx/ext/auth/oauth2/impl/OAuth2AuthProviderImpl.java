@@ -31,13 +31,22 @@ import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
 import io.vertx.ext.auth.impl.jose.JWK;
 import io.vertx.ext.auth.impl.jose.JWT;
 import io.vertx.ext.auth.oauth2.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 import static java.lang.Math.max;
 
 /**
@@ -47,6 +56,14 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(OAuth2AuthProviderImpl.class);
 
+  private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
   private final Vertx vertx;
   private final Context context;
 
@@ -58,6 +75,14 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
   private volatile JWT jwt = new JWT();
   private volatile long updateTimerId = -1;
   private Handler<String> missingKeyHandler;
+  // the JWK set refresh in progress, concurrent refresh requests share it
+  private Future<Void> jwkRefresh;
+  // last time (ms) a refresh was triggered by an unknown key id
+  private final AtomicLong lastMissingKeyRefresh = new AtomicLong();
+  // introspection results of opaque tokens, keyed by the token digest, null when disabled
+  private final ExpiringCache<String, JsonObject> introspectionCache;
+  // introspection requests in progress, keyed by the token digest, concurrent validations of the same token share them
+  private final ConcurrentMap<String, Future<JsonObject>> introspections = new ConcurrentHashMap<>();
 
   public OAuth2AuthProviderImpl(Vertx vertx, OAuth2Options config) {
     this.vertx = vertx;
@@ -69,6 +94,12 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
     this.config.replaceVariables(true);
     this.config.validate();
 
+    if (config.getIntrospectionCacheMaxSize() > 0) {
+      introspectionCache = new ExpiringCache<>(config.getIntrospectionCacheMaxSize());
+    } else {
+      introspectionCache = null;
+    }
+
     // set the nonce algorithm
     jwt.nonceAlgorithm(this.config.getJWTOptions().getNonceAlgorithm());
 
@@ -108,11 +139,87 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
       }
       // clear the JWT object reference too
       jwt = null;
+      if (introspectionCache != null) {
+        introspectionCache.clear();
+      }
+    }
+  }
+
+  private Future<JsonObject> introspect(String token) {
+    if (introspectionCache == null) {
+      return api.tokenIntrospection("access_token", token);
+    }
+
+    // bearer tokens are never kept in memory as is
+    final String key = base64UrlEncode(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+
+    final JsonObject cached = introspectionCache.get(key);
+    if (cached != null) {
+      return Future.succeededFuture(cached.copy());
+    }
+
+    final Promise<JsonObject> promise = Promise.promise();
+    final Future<JsonObject> inFlight = introspections.putIfAbsent(key, promise.future());
+
+    if (inFlight != null) {
+      // the same token is being introspected already
+      return inFlight.map(JsonObject::copy);
     }
+
+    api.tokenIntrospection("access_token", token)
+      .onComplete(ar -> {
+        // only responses are cached, (network) errors are not
+        if (ar.succeeded()) {
+          introspectionCache.put(key, ar.result().copy(), introspectionExpiresAt(ar.result()));
+        }
+        introspections.remove(key, promise.future());
+        promise.handle(ar);
+      });
+
+    return promise.future().map(JsonObject::copy);
+  }
+
+  private long introspectionExpiresAt(JsonObject json) {
+    final long expiresAt = System.currentTimeMillis() + config.getIntrospectionCacheMaxTtlInSeconds() * 1000;
+
+    // inactive tokens are negatively cached for the max ttl, they will not become active
+    if (json.getBoolean("active", true) && json.getValue("exp") instanceof Number) {
+      return Math.min(expiresAt, json.getLong("exp") * 1000);
+    }
+
+    return expiresAt;
   }
 
   @Override
   public Future<Void> jWKSet() {
+    final Promise<Void> promise;
+
+    synchronized (this) {
+      if (jwkRefresh != null) {
+        // a refresh is already in flight, there is no point in asking the IdP again
+        return jwkRefresh;
+      }
+      promise = Promise.promise();
+      jwkRefresh = promise.future();
+    }
+
+    // until the new set is fully loaded, tokens are still verified with the current keys
+    fetchJWKSet()
+      .onComplete(ar -> {
+        synchronized (this) {
+          jwkRefresh = null;
+        }
+        if (ar.succeeded()) {
+          promise.complete();
+        } else {
+          promise.fail(ar.cause());
+        }
+      });
+
+    return promise.future();
+  }
+
+  private Future<Void> fetchJWKSet() {
     return api.jwkSet()
       .compose(json -> {
         // enforce a lock to ensure state isn't corrupted
@@ -145,10 +252,14 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
           // ensure that leeway is never negative
           int leeway = max(0, config.getJWTOptions().getLeeway());
           // delay is in ms, while cache max age is sec
-          final long delay = json.getLong("maxAge", config.getJwkMaxAgeInSeconds()) * 1000 - leeway;
+          long delay = json.getLong("maxAge", config.getJwkMaxAgeInSeconds()) * 1000 - leeway;
           // salesforce (for example) sometimes disables the max-age as setting it to 0
           // for these cases we just cancel
           if (delay > 0) {
+            // spread the refresh over an extra 10% of the max age, so a fleet of nodes that
+            // loaded the keys at the same time does not hit the IdP all at once. Meanwhile,
+            // the current keys keep being used (stale while revalidate)
+            delay += ThreadLocalRandom.current().nextLong(delay / 10 + 1);
             this.updateTimerId = vertx.setPeriodic(delay, t ->
               jWKSet()
                 .onFailure(err -> LOG.warn("Failed to auto-update JWK Set", err)));
@@ -300,8 +411,7 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
         }
 
         // perform the introspection
-        return api
-          .tokenIntrospection("access_token", tokenCredentials.getToken())
+        return introspect(tokenCredentials.getToken())
           .compose(json -> {
             // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
             if (json.containsKey("active") && !json.getBoolean("active", false)) {
@@ -563,11 +673,7 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
             missingKid = e.id();
 
             // the JWT store has no knowledge about the key id on this token
-            // if the user has specified a handler for this situation then it
-            // shall be executed, otherwise just log as a typical validation
-            if (missingKeyHandler != null) {
-              context.runOnContext(v -> missingKeyHandler.handle(e.id()));
-            }
+            missingKey(e.id());
           }
         } catch (SignatureException | IllegalStateException e) {
           // The token is a JWT but validation failed
@@ -594,11 +700,7 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
                 .put("missing-kid", e.id());
 
               // the JWT store has no knowledge about the key id on this token
-              // if the user has specified a handler for this situation then it
-              // shall be executed, otherwise just log as a typical validation
-              if (missingKeyHandler != null) {
-                context.runOnContext(v -> missingKeyHandler.handle(e.id()));
-              }
+              missingKey(e.id());
             }
           }
         } catch (SignatureException | DecodeException | IllegalArgumentException | IllegalStateException e) {
@@ -616,6 +718,29 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth, Closeable {
     return user;
   }
 
+  /**
+   * Handles a key id not present in the current JWK set. When enabled, the JWK set is refreshed, at most once per
+   * configured interval. If the user has specified a handler for this situation then it shall be executed too.
+   */
+  private void missingKey(String id) {
+    final long interval = config.getJwkMinRefreshIntervalInSeconds();
+
+    if (interval >= 0 && config.getJwkPath() != null) {
+      final long now = System.currentTimeMillis();
+      final long last = lastMissingKeyRefresh.get();
+      // only the winner of the race triggers the refresh
+      if (now - last >= interval * 1000 && lastMissingKeyRefresh.compareAndSet(last, now)) {
+        context.runOnContext(v ->
+          jWKSet()
+            .onFailure(err -> LOG.warn("Failed to refresh JWK Set for missing key: " + id, err)));
+      }
+    }
+
+    if (missingKeyHandler != null) {
+      context.runOnContext(v -> missingKeyHandler.handle(id));
+    }
+  }
+
   private JsonObject validToken(JsonObject token, boolean idToken) throws IllegalStateException {
     // the user object is a JWT so we should validate it as mandated by OIDC
     final JWTOptions jwtOptions = config.getJWTOptions();
@@ -0,0 +1,73 @@
+package io.vertx.ext.auth.oauth2.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.*;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2APITest {
+
+  @Rule
+  public final RunTestOnContext rule = new RunTestOnContext();
+
+  @Test
+  public void testExpiresRelativeToDate() {
+    // the server clock is used, not the local one
+    assertEquals(Long.valueOf(600), OAuth2API.expiresToMaxAge("Thu, 01 Jan 2026 00:10:00 GMT", "Thu, 01 Jan 2026 00:00:00 GMT"));
+    // already expired
+    assertEquals(Long.valueOf(0), OAuth2API.expiresToMaxAge("Thu, 01 Jan 2026 00:00:00 GMT", "Thu, 01 Jan 2026 00:10:00 GMT"));
+  }
+
+  @Test
+  public void testExpiresWithoutDate() {
+    final String expires = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(120));
+
+    // relative to the local clock when the Date header is absent or invalid
+    for (String date : new String[]{null, "yesterday"}) {
+      final long maxAge = OAuth2API.expiresToMaxAge(expires, date);
+      assertTrue("max age: " + maxAge, maxAge > 110 && maxAge <= 120);
+    }
+  }
+
+  @Test
+  public void testInvalidExpires() {
+    assertNull(OAuth2API.expiresToMaxAge(null, "Thu, 01 Jan 2026 00:00:00 GMT"));
+    // invalid dates mean already expired
+    assertEquals(Long.valueOf(0), OAuth2API.expiresToMaxAge("0", "Thu, 01 Jan 2026 00:00:00 GMT"));
+  }
+
+  @Test
+  public void testJWKSetExpires(TestContext should) {
+    final Async test = should.async();
+
+    rule.vertx().createHttpServer()
+      .requestHandler(req -> req.response()
+        .putHeader("Content-Type", "application/json")
+        // no Cache-Control, only the HTTP/1.0 headers
+        .putHeader("Date", "Thu, 01 Jan 2026 00:00:00 GMT")
+        .putHeader("Expires", "Thu, 01 Jan 2026 01:00:00 GMT")
+        .end(new JsonObject().put("keys", new JsonArray()).encode()))
+      .listen(0, "localhost")
+      .compose(server -> new OAuth2API(rule.vertx(), new OAuth2Options()
+        .setJwkPath("/oauth/jwks")
+        .setSite("http://localhost:" + server.actualPort()))
+        .jwkSet())
+      .onComplete(should.asyncAssertSuccess(json -> {
+        should.assertEquals(3600L, json.getLong("maxAge"));
+        test.complete();
+      }));
+  }
+}
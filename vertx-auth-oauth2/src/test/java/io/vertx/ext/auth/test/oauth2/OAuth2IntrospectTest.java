@@ -1,5 +1,6 @@
 package io.vertx.ext.auth.test.oauth2;
 
+import io.vertx.core.Future;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.json.JsonObject;
@@ -21,6 +22,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RunWith(VertxUnitRunner.class)
 public class OAuth2IntrospectTest {
@@ -69,6 +71,8 @@ public class OAuth2IntrospectTest {
   private HttpServer server;
   private JsonObject config;
   private JsonObject fixture;
+  private int port;
+  private final AtomicInteger introspections = new AtomicInteger();
 
   @Before
   public void setUp(TestContext should) throws Exception {
@@ -76,6 +80,7 @@ public class OAuth2IntrospectTest {
 
     server = rule.vertx().createHttpServer().requestHandler(req -> {
       if (req.method() == HttpMethod.POST && "/oauth/introspect".equals(req.path())) {
+        introspections.incrementAndGet();
         req.setExpectMultipart(true).bodyHandler(buffer -> {
           try {
             JsonObject body = SimpleHttpClient.queryToJson(buffer);
@@ -106,6 +111,8 @@ public class OAuth2IntrospectTest {
         throw new RuntimeException(ready.cause());
       }
 
+      port = ready.result().actualPort();
+
       oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
         .setClientId("client-id")
         .setClientSecret("client-secret")
@@ -234,4 +241,60 @@ public class OAuth2IntrospectTest {
         }
       });
   }
+
+  @Test
+  public void introspectAccessTokenCached(TestContext should) {
+    final Async test = should.async();
+    config = oauthIntrospect;
+    fixture = fixtureIntrospect;
+
+    OAuth2Auth oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+      .setClientId("client-id")
+      .setClientSecret("client-secret")
+      .setSite("http://localhost:" + port)
+      .setIntrospectionPath("/oauth/introspect")
+      .setIntrospectionCacheMaxSize(16));
+
+    // concurrent validations share the same introspection
+    Future.all(
+        oauth2.authenticate(new TokenCredentials(token)),
+        oauth2.authenticate(new TokenCredentials(token)))
+      .compose(res -> {
+        should.assertEquals(1, introspections.get());
+        User user = res.resultAt(0);
+        // each caller gets its own principal
+        user.principal().put("scope", "tampered");
+        return oauth2.authenticate(new TokenCredentials(token));
+      })
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        // served from the cache
+        should.assertEquals(1, introspections.get());
+        should.assertEquals("scopeA scopeB", user.principal().getString("scope"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void introspectInactiveAccessTokenCached(TestContext should) {
+    final Async test = should.async();
+    config = oauthIntrospect;
+    fixture = new JsonObject().put("active", false);
+
+    OAuth2Auth oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+      .setClientId("client-id")
+      .setClientSecret("client-secret")
+      .setSite("http://localhost:" + port)
+      .setIntrospectionPath("/oauth/introspect")
+      .setIntrospectionCacheMaxSize(16));
+
+    oauth2.authenticate(new TokenCredentials(token))
+      .onSuccess(user -> should.fail("token is not active"))
+      .onFailure(err -> oauth2.authenticate(new TokenCredentials(token))
+        .onSuccess(user -> should.fail("token is not active"))
+        .onFailure(err2 -> {
+          should.assertEquals(1, introspections.get());
+          test.complete();
+        }));
+  }
 }
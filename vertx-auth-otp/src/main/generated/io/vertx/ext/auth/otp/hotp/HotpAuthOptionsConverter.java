@@ -40,6 +40,16 @@ public class HotpAuthOptionsConverter {
             obj.setPasswordLength(((Number)member.getValue()).intValue());
           }
           break;
+        case "writeBehindDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setWriteBehindDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "writeBehindMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setWriteBehindMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -53,5 +63,7 @@ public class HotpAuthOptionsConverter {
     json.put("counter", obj.getCounter());
     json.put("lookAheadWindow", obj.getLookAheadWindow());
     json.put("passwordLength", obj.getPasswordLength());
+    json.put("writeBehindDelay", obj.getWriteBehindDelay());
+    json.put("writeBehindMaxSize", obj.getWriteBehindMaxSize());
   }
 }
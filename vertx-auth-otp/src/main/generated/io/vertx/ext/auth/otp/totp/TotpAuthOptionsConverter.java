@@ -35,6 +35,26 @@ public class TotpAuthOptionsConverter {
             obj.setPeriod(((Number)member.getValue()).longValue());
           }
           break;
+        case "replayCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setReplayCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "skew":
+          if (member.getValue() instanceof Number) {
+            obj.setSkew(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "writeBehindDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setWriteBehindDelay(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "writeBehindMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setWriteBehindMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -47,5 +67,9 @@ public class TotpAuthOptionsConverter {
     json.put("authAttemptsLimit", obj.getAuthAttemptsLimit());
     json.put("passwordLength", obj.getPasswordLength());
     json.put("period", obj.getPeriod());
+    json.put("replayCacheMaxSize", obj.getReplayCacheMaxSize());
+    json.put("skew", obj.getSkew());
+    json.put("writeBehindDelay", obj.getWriteBehindDelay());
+    json.put("writeBehindMaxSize", obj.getWriteBehindMaxSize());
   }
 }
@@ -14,6 +14,7 @@ package io.vertx.ext.auth.otp.hotp;
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.otp.Authenticator;
 import io.vertx.ext.auth.otp.OtpKey;
@@ -72,6 +73,16 @@ public interface HotpAuth extends AuthenticationProvider {
   @Fluent
   HotpAuth authenticatorUpdater(Function<Authenticator, Future<Void>> updater);
 
+  /**
+   * Write the authenticator updates held in memory when {@link HotpAuthOptions#setWriteBehindDelay(long)} is used,
+   * e.g.: before shutting down.
+   *
+   * @return completed once all updates were written.
+   */
+  default Future<Void> flush() {
+    return Future.succeededFuture();
+  }
+
   /**
    * Creating authenticator from user id and key.
    *
@@ -133,4 +144,15 @@ public interface HotpAuth extends AuthenticationProvider {
   static HotpAuth create(HotpAuthOptions hotpAuthOptions) {
     return new HotpAuthImpl(hotpAuthOptions);
   }
+
+  /**
+   * Creates an instance of HotpAuth, required when {@link HotpAuthOptions#setWriteBehindDelay(long)} is used.
+   *
+   * @param vertx           the vertx instance.
+   * @param hotpAuthOptions the config.
+   * @return the created instance of {@link HotpAuth}.
+   */
+  static HotpAuth create(Vertx vertx, HotpAuthOptions hotpAuthOptions) {
+    return new HotpAuthImpl(vertx, hotpAuthOptions);
+  }
 }
@@ -31,6 +31,10 @@ public class HotpAuthOptions {
 
   private long counter;
 
+  private long writeBehindDelay;
+
+  private int writeBehindMaxSize = 1000;
+
   public HotpAuthOptions(JsonObject jsonObject) {
     HotpAuthOptionsConverter.fromJson(jsonObject, this);
   }
@@ -92,6 +96,51 @@ public class HotpAuthOptions {
     return this;
   }
 
+  public long getWriteBehindDelay() {
+    return writeBehindDelay;
+  }
+
+  /**
+   * Delay in milliseconds for which authenticator updates are held in memory and coalesced per identifier before
+   * being written in a batch with the authenticator updater, instead of being written during the authentication.
+   * Updates advancing a HOTP counter are always written right away. Requires the provider to be created with a
+   * {@link io.vertx.core.Vertx} instance. Default to 0, updates are written right away.
+   *
+   * @param writeBehindDelay the delay in milliseconds
+   * @return self
+   */
+  public HotpAuthOptions setWriteBehindDelay(long writeBehindDelay) {
+    if (writeBehindDelay < 0) {
+      throw new IllegalArgumentException("Write behind delay must be >= 0");
+    }
+    this.writeBehindDelay = writeBehindDelay;
+    return this;
+  }
+
+  public int getWriteBehindMaxSize() {
+    return writeBehindMaxSize;
+  }
+
+  /**
+   * The number of identifiers with a pending update that triggers a batch write before the write behind delay
+   * expires. Default to 1000.
+   *
+   * @param writeBehindMaxSize the number of pending identifiers
+   * @return self
+   */
+  public HotpAuthOptions setWriteBehindMaxSize(int writeBehindMaxSize) {
+    if (writeBehindMaxSize <= 0) {
+      throw new IllegalArgumentException("Write behind max size must be > 0");
+    }
+    this.writeBehindMaxSize = writeBehindMaxSize;
+    return this;
+  }
+
+  @GenIgnore
+  public boolean isUsingWriteBehind() {
+    return writeBehindDelay > 0;
+  }
+
   @GenIgnore
   public boolean isUsingAttemptsLimit() {
     return authAttemptsLimit > 0;
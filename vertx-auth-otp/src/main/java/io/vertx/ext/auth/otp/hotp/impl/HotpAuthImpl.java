@@ -12,6 +12,7 @@
 package io.vertx.ext.auth.otp.hotp.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
@@ -21,8 +22,11 @@ import io.vertx.ext.auth.otp.OtpCredentials;
 import io.vertx.ext.auth.otp.OtpKey;
 import io.vertx.ext.auth.otp.hotp.HotpAuth;
 import io.vertx.ext.auth.otp.hotp.HotpAuthOptions;
+import io.vertx.ext.auth.otp.impl.OtpMacs;
+import io.vertx.ext.auth.otp.impl.WriteBehindUpdater;
 import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
 
+import javax.crypto.Mac;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -37,12 +41,27 @@ public class HotpAuthImpl implements HotpAuth {
 
   private Function<String, Future<Authenticator>> fetcher;
   private Function<Authenticator, Future<Void>> updater;
+  // null unless updates are written behind
+  private final WriteBehindUpdater writeBehind;
 
   public HotpAuthImpl(HotpAuthOptions hotpAuthOptions) {
+    this(null, hotpAuthOptions);
+  }
+
+  public HotpAuthImpl(Vertx vertx, HotpAuthOptions hotpAuthOptions) {
     if (hotpAuthOptions == null) {
       throw new IllegalArgumentException("hotpAuthOptions cannot null");
     }
     this.hotpAuthOptions = hotpAuthOptions;
+    if (hotpAuthOptions.isUsingWriteBehind()) {
+      if (vertx == null) {
+        throw new IllegalArgumentException("write behind requires a vertx instance");
+      }
+      // the updater is looked up on each write, it is usually set after the provider is created
+      this.writeBehind = new WriteBehindUpdater(vertx, hotpAuthOptions.getWriteBehindDelay(), hotpAuthOptions.getWriteBehindMaxSize(), authenticator -> updater.apply(authenticator));
+    } else {
+      this.writeBehind = null;
+    }
   }
 
   @Override
@@ -61,6 +80,7 @@ public class HotpAuthImpl implements HotpAuth {
 
     return fetcher
       .apply(authInfo.getIdentifier())
+      .map(authenticator -> writeBehind == null ? authenticator : writeBehind.merge(authenticator))
       .compose(authenticator -> {
         if (authenticator == null) {
           return Future.failedFuture("user is not found");
@@ -78,36 +98,34 @@ public class HotpAuthImpl implements HotpAuth {
           authAttempts = authAttempts != null ? ++authAttempts : 1;
           authenticator.setAuthAttempts(authAttempts);
 
-          String oneTimePassword;
-
+          // the key is set up once, for the code and the whole look-ahead window
+          final Mac mac;
           try {
-            oneTimePassword = OneTimePasswordAlgorithm.generateOTP(otpKey.getKeyBytes(), counter, hotpAuthOptions.getPasswordLength(), false, -1);
+            mac = OtpMacs.get(otpKey);
           } catch (GeneralSecurityException e) {
             return Future.failedFuture(e);
           }
 
-          if (oneTimePassword.equals(authInfo.getCode())) {
+          final byte[] code = authInfo.getCode().getBytes(StandardCharsets.UTF_8);
+          String oneTimePassword = OneTimePasswordAlgorithm.generateOTP(mac, counter, hotpAuthOptions.getPasswordLength(), false, -1);
+
+          if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), code)) {
             authenticator.setCounter(counter);
-            return updater.apply(authenticator)
+            return update(authenticator, true)
               .compose(v -> Future.succeededFuture(createUser(authenticator)));
           }
 
           if (hotpAuthOptions.isUsingAttemptsLimit() && authAttempts >= hotpAuthOptions.getAuthAttemptsLimit()) {
-            return updater.apply(authenticator)
+            return update(authenticator, false)
               .compose(v -> Future.failedFuture("invalid code"));
           } else if (hotpAuthOptions.isUsingResynchronization()) {
             for (int i = 0; i < hotpAuthOptions.getLookAheadWindow(); i++) {
               ++counter;
+              oneTimePassword = OneTimePasswordAlgorithm.generateOTP(mac, counter, hotpAuthOptions.getPasswordLength(), false, -1);
 
-              try {
-                oneTimePassword = OneTimePasswordAlgorithm.generateOTP(otpKey.getKeyBytes(), counter, hotpAuthOptions.getPasswordLength(), false, -1);
-              } catch (GeneralSecurityException e) {
-                return Future.failedFuture(e);
-              }
-
-              if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), authInfo.getCode().getBytes(StandardCharsets.UTF_8))) {
+              if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), code)) {
                 authenticator.setCounter(counter);
-                return updater.apply(authenticator)
+                return update(authenticator, true)
                   .compose(v -> Future.succeededFuture(createUser(authenticator)));
               }
             }
@@ -130,6 +148,11 @@ public class HotpAuthImpl implements HotpAuth {
     return this;
   }
 
+  @Override
+  public Future<Void> flush() {
+    return writeBehind == null ? Future.succeededFuture() : writeBehind.flush();
+  }
+
   @Override
   public Future<Authenticator> createAuthenticator(String id, OtpKey otpKey) {
     // Create user in the database
@@ -139,8 +162,7 @@ public class HotpAuthImpl implements HotpAuth {
       .setAlgorithm(otpKey.getAlgorithm())
       .setCounter(hotpAuthOptions.getCounter());
 
-    return updater
-      .apply(authenticator)
+    return update(authenticator, true)
       .map(authenticator);
   }
 
@@ -190,6 +212,13 @@ public class HotpAuthImpl implements HotpAuth {
     }
   }
 
+  private Future<Void> update(Authenticator authenticator, boolean now) {
+    if (writeBehind == null) {
+      return updater.apply(authenticator);
+    }
+    return now ? writeBehind.write(authenticator) : writeBehind.defer(authenticator);
+  }
+
   private User createUser(Authenticator authenticator) {
     return User.create(
       new JsonObject()
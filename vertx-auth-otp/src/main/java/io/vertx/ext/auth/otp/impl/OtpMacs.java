@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Dmitry Novikov
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.ext.auth.otp.impl;
+
+import io.vertx.ext.auth.otp.OtpKey;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per thread cache of initialized {@link Mac} instances, keyed by algorithm and secret. Looking up a key that was
+ * recently used skips the base32 decoding of the secret, the provider lookup and the HMAC key schedule.
+ * <p>
+ * The returned {@link Mac} belongs to the calling thread, it must be used synchronously and never handed over to
+ * another thread (e.g.: across a {@link io.vertx.core.Future} continuation).
+ */
+public final class OtpMacs {
+
+  // a bounded LRU so an event loop serving many users does not keep every secret alive
+  private static final int MAX_KEYS_PER_THREAD = 64;
+
+  private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(() ->
+    new LinkedHashMap<String, Mac>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Mac> eldest) {
+        return size() > MAX_KEYS_PER_THREAD;
+      }
+    });
+
+  private OtpMacs() {
+  }
+
+  /**
+   * Get the {@link Mac} for an OTP key, initialized with its secret.
+   *
+   * @param otpKey the key, when no algorithm is set SHA1 is used
+   * @return a ready to use mac, owned by the calling thread
+   * @throws GeneralSecurityException if the algorithm is not available or the secret is not a valid key
+   */
+  public static Mac get(OtpKey otpKey) throws GeneralSecurityException {
+    final String algorithm = hmacAlgorithm(otpKey.getAlgorithm());
+    final String id = algorithm + ':' + otpKey.getKey();
+
+    final Map<String, Mac> macs = MACS.get();
+    Mac mac = macs.get(id);
+    if (mac == null) {
+      mac = Mac.getInstance(algorithm);
+      mac.init(new SecretKeySpec(otpKey.getKeyBytes(), "RAW"));
+      macs.put(id, mac);
+    }
+    return mac;
+  }
+
+  private static String hmacAlgorithm(String algorithm) {
+    if (algorithm == null) {
+      return "HmacSHA1";
+    }
+    switch (algorithm) {
+      case "SHA1":
+        return "HmacSHA1";
+      case "SHA256":
+        return "HmacSHA256";
+      case "SHA512":
+        return "HmacSHA512";
+      default:
+        throw new IllegalArgumentException("Invalid algorithm, must be SHA{1,256,512}");
+    }
+  }
+}
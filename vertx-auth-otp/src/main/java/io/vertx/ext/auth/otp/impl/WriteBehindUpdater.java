@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Dmitry Novikov
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.ext.auth.otp.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.ext.auth.otp.Authenticator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Coalesces {@link Authenticator} updates per identifier and writes them in batches, either after a delay or once
+ * enough identifiers are pending.
+ * <p>
+ * Writes of the same identifier are never reordered and the counter of a pending update never goes backwards, so the
+ * storage only sees increasing counters. Updates that must be durable before the authentication completes (a HOTP
+ * counter advance) are written right away with {@link #write(Authenticator)}.
+ * <p>
+ * A failed write is retried with the next flush, up to {@link #MAX_ATTEMPTS} times, after which the update is dropped.
+ */
+public final class WriteBehindUpdater {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WriteBehindUpdater.class);
+
+  static final int MAX_ATTEMPTS = 5;
+
+  private static final class Pending {
+    final Authenticator authenticator;
+    // failed writes of this update so far
+    final int attempts;
+
+    Pending(Authenticator authenticator, int attempts) {
+      this.authenticator = authenticator;
+      this.attempts = attempts;
+    }
+  }
+
+  private final Vertx vertx;
+  private final long delay;
+  private final int maxSize;
+  private final Function<Authenticator, Future<Void>> updater;
+
+  private final ConcurrentMap<String, Pending> pending = new ConcurrentHashMap<>();
+  // last write issued per identifier, the next one waits for it
+  private final ConcurrentMap<String, Future<Void>> inflight = new ConcurrentHashMap<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  /**
+   * @param vertx   the vertx instance running the flush timer
+   * @param delay   the delay in milliseconds before pending updates are written
+   * @param maxSize the number of pending identifiers triggering a flush before the delay expires
+   * @param updater the function storing an authenticator
+   */
+  public WriteBehindUpdater(Vertx vertx, long delay, int maxSize, Function<Authenticator, Future<Void>> updater) {
+    this.vertx = vertx;
+    this.delay = delay;
+    this.maxSize = maxSize;
+    this.updater = updater;
+  }
+
+  /**
+   * Applies the pending update of an identifier to an authenticator freshly read from the storage, which may not
+   * have seen it yet.
+   *
+   * @param fetched the authenticator as returned by the fetcher, may be {@code null}
+   * @return the same authenticator
+   */
+  public Authenticator merge(Authenticator fetched) {
+    if (fetched != null) {
+      final Pending pendingUpdate = pending.get(fetched.getIdentifier());
+      if (pendingUpdate != null) {
+        final Authenticator update = pendingUpdate.authenticator;
+        fetched.setAuthAttempts(update.getAuthAttempts());
+        fetched.setCounter(Math.max(fetched.getCounter(), update.getCounter()));
+      }
+    }
+    return fetched;
+  }
+
+  /**
+   * Queues an update, replacing any pending update of the same identifier.
+   *
+   * @param authenticator the authenticator to store
+   * @return a completed future, the write happens later
+   */
+  public Future<Void> defer(Authenticator authenticator) {
+    pending.merge(authenticator.getIdentifier(), new Pending(authenticator, 0), WriteBehindUpdater::latest);
+
+    if (pending.size() >= maxSize) {
+      flush();
+    } else {
+      schedule();
+    }
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Writes an update now, together with the pending update of the same identifier it supersedes.
+   *
+   * @param authenticator the authenticator to store
+   * @return the result of the write
+   */
+  public Future<Void> write(Authenticator authenticator) {
+    final Pending previous = pending.remove(authenticator.getIdentifier());
+    return enqueue(previous == null ? new Pending(authenticator, 0) : latest(previous, new Pending(authenticator, 0)));
+  }
+
+  /**
+   * Writes all pending updates.
+   *
+   * @return completed once all writes completed
+   */
+  public Future<Void> flush() {
+    final List<Future<Void>> writes = new ArrayList<>();
+    for (String identifier : pending.keySet()) {
+      final Pending update = pending.remove(identifier);
+      if (update != null) {
+        writes.add(enqueue(update));
+      }
+    }
+    return Future.all(writes).mapEmpty();
+  }
+
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      vertx.setTimer(delay, t -> {
+        scheduled.set(false);
+        flush();
+      });
+    }
+  }
+
+  private Future<Void> enqueue(Pending update) {
+    final Authenticator authenticator = update.authenticator;
+    final String identifier = authenticator.getIdentifier();
+    final Promise<Void> promise = Promise.promise();
+    final Future<Void> previous = inflight.put(identifier, promise.future());
+
+    final Runnable write = () -> updater.apply(authenticator)
+      .onComplete(ar -> {
+        // when a later write is already chained behind this one, it carries newer state
+        final boolean newest = inflight.remove(identifier, promise.future());
+        if (ar.failed() && newest) {
+          final int attempts = update.attempts + 1;
+          if (attempts >= MAX_ATTEMPTS) {
+            // e.g.: the identifier was deleted, retrying forever would not help
+            LOG.warn("Dropping OTP authenticator update of " + identifier + " after " + attempts + " failed writes", ar.cause());
+          } else {
+            // keep it for the next flush, merged with any update deferred in the meantime
+            pending.merge(identifier, new Pending(authenticator, attempts), (deferred, failed) -> latest(failed, deferred));
+            schedule();
+          }
+        }
+        promise.handle(ar);
+      });
+
+    if (previous == null) {
+      write.run();
+    } else {
+      previous.onComplete(ignore -> write.run());
+    }
+    return promise.future();
+  }
+
+  private static Pending latest(Pending previous, Pending next) {
+    final Authenticator authenticator = next.authenticator;
+    // the counter of an identifier only moves forward
+    if (previous.authenticator.getCounter() > authenticator.getCounter()) {
+      authenticator.setCounter(previous.authenticator.getCounter());
+    }
+    // a newer update does not reset the retries of a failing one
+    return new Pending(authenticator, Math.max(previous.attempts, next.attempts));
+  }
+}
@@ -148,16 +148,60 @@ public class OneTimePasswordAlgorithm {
                                    boolean addChecksum,
                                    int truncationOffset)
     throws NoSuchAlgorithmException, InvalidKeyException {
+    // compute hmac hash
+    byte[] hash = hmac_sha1(secret, movingFactor(movingFactor));
+    return truncate(hash, codeDigits, addChecksum, truncationOffset);
+  }
+
+  /**
+   * This method generates an OTP value for the given
+   * set of parameters, using an already initialized MAC.
+   * The MAC algorithm is the one of the MAC, so SHA-256 and
+   * SHA-512 variants can be used as allowed by RFC 6238.
+   * The MAC is reset after use so the caller can reuse it,
+   * but as it is not thread safe it must not be shared
+   * between threads.
+   *
+   * @param mac              the MAC, initialized with the shared secret
+   * @param movingFactor     the counter, time, or other value that
+   *                         changes on a per use basis.
+   * @param codeDigits       the number of digits in the OTP, not
+   *                         including the checksum, if any.
+   * @param addChecksum      a flag that indicates if a checksum digit
+   *                         should be appended to the OTP.
+   * @param truncationOffset the offset into the MAC result to
+   *                         begin truncation.  If this value is out of
+   *                         the range of 0 ... (MAC length - 5), then
+   *                         dynamic truncation will be used.
+   * @return A numeric String in base 10 that includes
+   * {@code codeDigits} digits plus the optional checksum
+   * digit if requested.
+   */
+  static public String generateOTP(Mac mac,
+                                   long movingFactor,
+                                   int codeDigits,
+                                   boolean addChecksum,
+                                   int truncationOffset) {
+    // compute hmac hash, doFinal resets the mac
+    byte[] hash = mac.doFinal(movingFactor(movingFactor));
+    return truncate(hash, codeDigits, addChecksum, truncationOffset);
+  }
+
+  private static byte[] movingFactor(long movingFactor) {
     // put movingFactor value into text byte array
-    int digits = addChecksum ? (codeDigits + 1) : codeDigits;
     byte[] text = new byte[8];
     for (int i = text.length - 1; i >= 0; i--) {
       text[i] = (byte) (movingFactor & 0xff);
       movingFactor >>= 8;
     }
+    return text;
+  }
 
-    // compute hmac hash
-    byte[] hash = hmac_sha1(secret, text);
+  private static String truncate(byte[] hash,
+                                 int codeDigits,
+                                 boolean addChecksum,
+                                 int truncationOffset) {
+    int digits = addChecksum ? (codeDigits + 1) : codeDigits;
 
     // put selected bytes into result int
     int offset = hash[hash.length - 1] & 0xf;
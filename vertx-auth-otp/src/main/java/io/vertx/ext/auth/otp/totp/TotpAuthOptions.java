@@ -29,6 +29,14 @@ public class TotpAuthOptions {
 
   private long period = 30;
 
+  private int skew;
+
+  private int replayCacheMaxSize = 10000;
+
+  private long writeBehindDelay;
+
+  private int writeBehindMaxSize = 1000;
+
   public TotpAuthOptions(JsonObject jsonObject) {
     TotpAuthOptionsConverter.fromJson(jsonObject, this);
   }
@@ -54,6 +62,14 @@ public class TotpAuthOptions {
     return period;
   }
 
+  public int getSkew() {
+    return skew;
+  }
+
+  public int getReplayCacheMaxSize() {
+    return replayCacheMaxSize;
+  }
+
   public TotpAuthOptions setPasswordLength(int passwordLength) {
     if (passwordLength < 6 || passwordLength > 8) {
       throw new IllegalArgumentException("password length must be between 6 and 8 digits");
@@ -78,6 +94,83 @@ public class TotpAuthOptions {
     return this;
   }
 
+  /**
+   * The number of periods before and after the current one in which a code is still accepted, to tolerate clients
+   * with a drifting clock. RFC 6238 recommends at most one. Default to 0, only the current period is accepted.
+   *
+   * @param skew the number of periods
+   * @return self
+   */
+  public TotpAuthOptions setSkew(int skew) {
+    if (skew < 0) {
+      throw new IllegalArgumentException("Skew must be >= 0");
+    }
+    this.skew = skew;
+    return this;
+  }
+
+  /**
+   * The maximum number of recently accepted codes remembered to reject replays. A code is remembered until it can no
+   * longer be accepted, the memory is local to this provider instance. Remembered codes are never forgotten early: when
+   * the limit is reached, valid codes are refused until older ones leave the window, so it should be sized for the
+   * expected number of logins within the window. Default to 10000, 0 disables the replay check.
+   *
+   * @param replayCacheMaxSize the number of remembered codes
+   * @return self
+   */
+  public TotpAuthOptions setReplayCacheMaxSize(int replayCacheMaxSize) {
+    if (replayCacheMaxSize < 0) {
+      throw new IllegalArgumentException("Replay cache max size must be >= 0");
+    }
+    this.replayCacheMaxSize = replayCacheMaxSize;
+    return this;
+  }
+
+  public long getWriteBehindDelay() {
+    return writeBehindDelay;
+  }
+
+  /**
+   * Delay in milliseconds for which authenticator updates are held in memory and coalesced per identifier before
+   * being written in a batch with the authenticator updater, instead of being written during the authentication.
+   * Updates advancing a HOTP counter are always written right away. Requires the provider to be created with a
+   * {@link io.vertx.core.Vertx} instance. Default to 0, updates are written right away.
+   *
+   * @param writeBehindDelay the delay in milliseconds
+   * @return self
+   */
+  public TotpAuthOptions setWriteBehindDelay(long writeBehindDelay) {
+    if (writeBehindDelay < 0) {
+      throw new IllegalArgumentException("Write behind delay must be >= 0");
+    }
+    this.writeBehindDelay = writeBehindDelay;
+    return this;
+  }
+
+  public int getWriteBehindMaxSize() {
+    return writeBehindMaxSize;
+  }
+
+  /**
+   * The number of identifiers with a pending update that triggers a batch write before the write behind delay
+   * expires. Default to 1000.
+   *
+   * @param writeBehindMaxSize the number of pending identifiers
+   * @return self
+   */
+  public TotpAuthOptions setWriteBehindMaxSize(int writeBehindMaxSize) {
+    if (writeBehindMaxSize <= 0) {
+      throw new IllegalArgumentException("Write behind max size must be > 0");
+    }
+    this.writeBehindMaxSize = writeBehindMaxSize;
+    return this;
+  }
+
+  @GenIgnore
+  public boolean isUsingWriteBehind() {
+    return writeBehindDelay > 0;
+  }
+
   @GenIgnore
   public boolean isUsingAttemptsLimit() {
     return authAttemptsLimit > 0;
@@ -12,17 +12,24 @@
 package io.vertx.ext.auth.otp.totp.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
 import io.vertx.ext.auth.otp.Authenticator;
 import io.vertx.ext.auth.otp.OtpCredentials;
 import io.vertx.ext.auth.otp.OtpKey;
+import io.vertx.ext.auth.otp.impl.OtpMacs;
+import io.vertx.ext.auth.otp.impl.WriteBehindUpdater;
 import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
 import io.vertx.ext.auth.otp.totp.TotpAuth;
 import io.vertx.ext.auth.otp.totp.TotpAuthOptions;
 
+import javax.crypto.Mac;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -34,16 +41,40 @@ import java.util.function.Function;
 
 public class TotpAuthImpl implements TotpAuth {
 
+  private static final Logger LOG = LoggerFactory.getLogger(TotpAuthImpl.class);
+
   private final TotpAuthOptions totpAuthOptions;
 
+  // (identifier, step) pairs already used, or null when replays are not checked. Live pairs are never evicted, when
+  // the cache is full codes are refused until some pairs leave the window
+  private final ExpiringCache<String, Boolean> replays;
+
   private Function<String, Future<Authenticator>> fetcher;
   private Function<Authenticator, Future<Void>> updater;
+  // null unless updates are written behind
+  private final WriteBehindUpdater writeBehind;
 
   public TotpAuthImpl(TotpAuthOptions totpAuthOptions) {
+    this(null, totpAuthOptions);
+  }
+
+  public TotpAuthImpl(Vertx vertx, TotpAuthOptions totpAuthOptions) {
     if (totpAuthOptions == null) {
       throw new IllegalArgumentException("totpAuthOptions cannot null");
     }
     this.totpAuthOptions = totpAuthOptions;
+    if (totpAuthOptions.isUsingWriteBehind()) {
+      if (vertx == null) {
+        throw new IllegalArgumentException("write behind requires a vertx instance");
+      }
+      // the updater is looked up on each write, it is usually set after the provider is created
+      this.writeBehind = new WriteBehindUpdater(vertx, totpAuthOptions.getWriteBehindDelay(), totpAuthOptions.getWriteBehindMaxSize(), authenticator -> updater.apply(authenticator));
+    } else {
+      this.writeBehind = null;
+    }
+    this.replays = totpAuthOptions.getReplayCacheMaxSize() > 0 ?
+      new ExpiringCache<>(totpAuthOptions.getReplayCacheMaxSize(), false) :
+      null;
   }
 
   @Override
@@ -62,6 +93,7 @@ public class TotpAuthImpl implements TotpAuth {
 
     return fetcher
       .apply(authInfo.getIdentifier())
+      .map(authenticator -> writeBehind == null ? authenticator : writeBehind.merge(authenticator))
       .compose(authenticator -> {
         if (authenticator == null) {
           return Future.failedFuture("user is not found");
@@ -77,22 +109,39 @@ public class TotpAuthImpl implements TotpAuth {
           authAttempts = authAttempts != null ? ++authAttempts : 1;
           authenticator.setAuthAttempts(authAttempts);
 
-          String oneTimePassword;
+          final long period = totpAuthOptions.getPeriod();
+          final long step = Instant.now().getEpochSecond() / period;
+          final int skew = totpAuthOptions.getSkew();
+          final byte[] code = authInfo.getCode().getBytes(StandardCharsets.UTF_8);
 
           try {
-            final long movingFactor = Instant.now().getEpochSecond() / totpAuthOptions.getPeriod();
-            oneTimePassword = OneTimePasswordAlgorithm.generateOTP(otpKey.getKeyBytes(), movingFactor, totpAuthOptions.getPasswordLength(), false, -1);
+            // the key is set up once for all the steps in the window
+            final Mac mac = OtpMacs.get(otpKey);
+            // current step first, then the closest ones: -1, +1, -2, +2...
+            for (int i = 0; i <= 2 * skew; i++) {
+              final long candidate = step + ((i & 1) == 0 ? i / 2 : -(i + 1) / 2);
+              final String oneTimePassword = OneTimePasswordAlgorithm.generateOTP(mac, candidate, totpAuthOptions.getPasswordLength(), false, -1);
+
+              if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), code)) {
+                // the step is remembered until it leaves the window, a replay is rejected without touching the storage
+                final String used = authInfo.getIdentifier() + ':' + candidate;
+                if (replays != null && !replays.putIfAbsent(used, Boolean.TRUE, (candidate + skew + 1) * period * 1000)) {
+                  if (replays.get(used) == null) {
+                    // not a replay, but it could not be remembered, so it could be replayed later
+                    LOG.warn("TOTP replay cache is full, refusing code, consider increasing replayCacheMaxSize");
+                  }
+                  return Future.failedFuture("invalid code");
+                }
+                return update(authenticator, false)
+                  .compose(v -> Future.succeededFuture(createUser(authenticator)));
+              }
+            }
           } catch (GeneralSecurityException e) {
             return Future.failedFuture(e);
           }
 
-          if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), authInfo.getCode().getBytes(StandardCharsets.UTF_8))) {
-            return updater.apply(authenticator)
-              .compose(v -> Future.succeededFuture(createUser(authenticator)));
-          }
-
           if (totpAuthOptions.isUsingAttemptsLimit() && authAttempts >= totpAuthOptions.getAuthAttemptsLimit()) {
-            return updater.apply(authenticator)
+            return update(authenticator, false)
               .compose(v -> Future.failedFuture("invalid code"));
           }
 
@@ -113,6 +162,11 @@ public class TotpAuthImpl implements TotpAuth {
     return this;
   }
 
+  @Override
+  public Future<Void> flush() {
+    return writeBehind == null ? Future.succeededFuture() : writeBehind.flush();
+  }
+
   @Override
   public Future<Authenticator> createAuthenticator(String id, OtpKey otpKey) {
     // Create user in the database
@@ -122,8 +176,7 @@ public class TotpAuthImpl implements TotpAuth {
       .setAlgorithm(otpKey.getAlgorithm())
       .setPeriod(totpAuthOptions.getPeriod());
 
-    return updater
-      .apply(authenticator)
+    return update(authenticator, true)
       .map(authenticator);
   }
 
@@ -173,6 +226,13 @@ public class TotpAuthImpl implements TotpAuth {
     }
   }
 
+  private Future<Void> update(Authenticator authenticator, boolean now) {
+    if (writeBehind == null) {
+      return updater.apply(authenticator);
+    }
+    return now ? writeBehind.write(authenticator) : writeBehind.defer(authenticator);
+  }
+
   private User createUser(Authenticator authenticator) {
     return User.create(
       new JsonObject()
@@ -22,6 +22,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @RunWith(VertxUnitRunner.class)
 public class HotpAuthTest {
 
@@ -330,4 +332,36 @@ public class HotpAuthTest {
         should.assertNull(authAttempt);
       }));
   }
+
+  @Test
+  public void testHotpWriteBehind(TestContext should) {
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY).setCounter(0));
+    final AtomicInteger writes = new AtomicInteger();
+    // Test failed attempts are held back, and written with the counter advance
+
+    HotpAuthOptions hotpAuthOptions = new HotpAuthOptions()
+      .setAuthAttemptsLimit(1)
+      .setWriteBehindDelay(60_000);
+    HotpAuth authProvider = HotpAuth.create(rule.vertx(), hotpAuthOptions)
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(authenticator -> {
+        writes.incrementAndGet();
+        return db.upsert(authenticator);
+      });
+
+    authProvider.authenticate(new OtpCredentials("user1", "000000"))
+      .onSuccess(user -> should.fail("Invalid code"))
+      .recover(err -> {
+        should.assertEquals(0, writes.get());
+        return authProvider.authenticate(new OtpCredentials("user1", "698956"));
+      })
+      .onComplete(should.asyncAssertSuccess(res -> {
+        should.assertEquals(1, writes.get());
+        long counter = res.get("counter");
+        should.assertEquals(1L, counter);
+        int authAttempts = res.get("auth_attempts");
+        should.assertEquals(2, authAttempts);
+      }));
+  }
 }
@@ -0,0 +1,52 @@
+package io.vertx.ext.auth.otp.impl;
+
+import io.vertx.ext.auth.otp.OtpKey;
+import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.vertx.ext.auth.impl.Codec.base32Encode;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class OtpMacsTest {
+
+  // RFC 6238, Appendix B, T = 59 seconds with a 30 seconds step
+  private static final long STEP = 59 / 30;
+
+  private static OtpKey key(String secret, String algorithm) {
+    return new OtpKey()
+      .setKey(base32Encode(secret.getBytes(StandardCharsets.US_ASCII)))
+      .setAlgorithm(algorithm);
+  }
+
+  @Test
+  public void testSHA1() throws Exception {
+    OtpKey key = key("12345678901234567890", "SHA1");
+    assertEquals("94287082", OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(key), STEP, 8, false, -1));
+    // the byte[] variant is still SHA1
+    assertEquals("94287082", OneTimePasswordAlgorithm.generateOTP(key.getKeyBytes(), STEP, 8, false, -1));
+  }
+
+  @Test
+  public void testSHA256() throws Exception {
+    OtpKey key = key("12345678901234567890123456789012", "SHA256");
+    assertEquals("46119246", OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(key), STEP, 8, false, -1));
+  }
+
+  @Test
+  public void testSHA512() throws Exception {
+    OtpKey key = key("1234567890123456789012345678901234567890123456789012345678901234", "SHA512");
+    assertEquals("90693936", OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(key), STEP, 8, false, -1));
+  }
+
+  @Test
+  public void testMacIsReused() throws Exception {
+    OtpKey key = key("12345678901234567890", null);
+    assertSame(OtpMacs.get(key), OtpMacs.get(new OtpKey(key)));
+    // reuse does not carry state over from the previous computation
+    assertEquals("94287082", OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(key), STEP, 8, false, -1));
+    assertEquals("94287082", OneTimePasswordAlgorithm.generateOTP(OtpMacs.get(key), STEP, 8, false, -1));
+  }
+}
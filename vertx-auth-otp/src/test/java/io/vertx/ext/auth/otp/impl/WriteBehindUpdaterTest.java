@@ -0,0 +1,111 @@
+package io.vertx.ext.auth.otp.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.auth.otp.Authenticator;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RunWith(VertxUnitRunner.class)
+public class WriteBehindUpdaterTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  @Test
+  public void testFailedWriteDoesNotOverwriteNewerWrite(TestContext should) {
+    final List<Long> stored = new CopyOnWriteArrayList<>();
+    final Promise<Void> firstWrite = Promise.promise();
+    final List<Authenticator> calls = new CopyOnWriteArrayList<>();
+
+    final WriteBehindUpdater updater = new WriteBehindUpdater(rule.vertx(), 60_000, 1000, authenticator -> {
+      calls.add(authenticator);
+      if (calls.size() == 1) {
+        // the first write is held, and fails later
+        return firstWrite.future();
+      }
+      stored.add(authenticator.getCounter());
+      return Future.succeededFuture();
+    });
+
+    updater.defer(new Authenticator().setIdentifier("user1").setCounter(1));
+    final Future<Void> deferred = updater.flush();
+    // a counter advance chained behind the in flight write
+    final Future<Void> advance = updater.write(new Authenticator().setIdentifier("user1").setCounter(2));
+
+    firstWrite.fail("boom");
+
+    deferred
+      .compose(v -> Future.failedFuture("first write should fail"), err -> advance)
+      .compose(v -> updater.flush())
+      .onComplete(should.asyncAssertSuccess(v -> {
+        should.assertEquals(2, calls.size());
+        should.assertEquals(1, stored.size());
+        should.assertEquals(2L, stored.get(0));
+      }));
+  }
+
+  @Test
+  public void testFailedWriteIsRetried(TestContext should) {
+    final List<Long> stored = new CopyOnWriteArrayList<>();
+    final List<Authenticator> calls = new CopyOnWriteArrayList<>();
+
+    final WriteBehindUpdater updater = new WriteBehindUpdater(rule.vertx(), 60_000, 1000, authenticator -> {
+      calls.add(authenticator);
+      if (calls.size() == 1) {
+        return Future.failedFuture("boom");
+      }
+      stored.add(authenticator.getCounter());
+      return Future.succeededFuture();
+    });
+
+    updater.defer(new Authenticator().setIdentifier("user1").setCounter(1));
+
+    updater.flush()
+      .compose(v -> Future.failedFuture("first write should fail"), err -> {
+        // a newer update deferred after the failure wins, with the highest counter
+        updater.defer(new Authenticator().setIdentifier("user1").setCounter(0).setAuthAttempts(1));
+        return updater.flush();
+      })
+      .onComplete(should.asyncAssertSuccess(v -> {
+        should.assertEquals(2, calls.size());
+        should.assertEquals(1, stored.size());
+        should.assertEquals(1L, stored.get(0));
+        should.assertEquals(1, calls.get(1).getAuthAttempts());
+      }));
+  }
+
+  @Test
+  public void testFailingWriteIsDropped(TestContext should) {
+    final Async test = should.async();
+    final List<Authenticator> calls = new CopyOnWriteArrayList<>();
+
+    // the identifier is gone from the storage, every write fails
+    final WriteBehindUpdater updater = new WriteBehindUpdater(rule.vertx(), 10, 1000, authenticator -> {
+      calls.add(authenticator);
+      return Future.failedFuture("boom");
+    });
+
+    updater.defer(new Authenticator().setIdentifier("user1").setCounter(1));
+
+    // plenty of time for more retries than allowed
+    rule.vertx().setTimer(500, t -> {
+      should.assertEquals(WriteBehindUpdater.MAX_ATTEMPTS, calls.size());
+      // nothing pending any more
+      should.assertEquals(3, updater.merge(new Authenticator().setIdentifier("user1").setAuthAttempts(3)).getAuthAttempts());
+      updater.flush()
+        .onComplete(should.asyncAssertSuccess(v -> {
+          should.assertEquals(WriteBehindUpdater.MAX_ATTEMPTS, calls.size());
+          test.complete();
+        }));
+    });
+  }
+}
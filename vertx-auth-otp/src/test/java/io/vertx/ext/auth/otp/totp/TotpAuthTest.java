@@ -0,0 +1,132 @@
+package io.vertx.ext.auth.otp.totp;
+
+import io.vertx.ext.auth.otp.Authenticator;
+import io.vertx.ext.auth.otp.DummyDatabase;
+import io.vertx.ext.auth.otp.OtpCredentials;
+import io.vertx.ext.auth.otp.OtpKey;
+import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class TotpAuthTest {
+
+  private static final String USER1_KEY = "SRF6EYYCC6SNJEQD4VDZDZPGMODFPCSL";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private static String code(int stepOffset) throws Exception {
+    final long step = Instant.now().getEpochSecond() / 30 + stepOffset;
+    return OneTimePasswordAlgorithm.generateOTP(new OtpKey().setKey(USER1_KEY).getKeyBytes(), step, 6, false, -1);
+  }
+
+  private static TotpAuth create(TotpAuthOptions options) {
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY));
+
+    return TotpAuth.create(options)
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert);
+  }
+
+  @Test
+  public void testSkew(TestContext should) throws Exception {
+    final Async test = should.async();
+    final TotpAuth strict = create(new TotpAuthOptions());
+    final TotpAuth lenient = create(new TotpAuthOptions().setSkew(2));
+    // a client running late
+    final String code = code(-1);
+
+    strict.authenticate(new OtpCredentials("user1", code))
+      .onSuccess(user -> should.fail("Code outside of the window"))
+      .recover(err -> lenient.authenticate(new OtpCredentials("user1", code)))
+      .onComplete(should.asyncAssertSuccess(user -> {
+        should.assertEquals("totp", user.get("otp"));
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void testReplay(TestContext should) throws Exception {
+    final Async test = should.async();
+    final TotpAuth authProvider = create(new TotpAuthOptions().setSkew(1));
+    final String code = code(0);
+
+    authProvider.authenticate(new OtpCredentials("user1", code))
+      .compose(user -> authProvider.authenticate(new OtpCredentials("user1", code)))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("invalid code", err.getMessage());
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void testReplayCacheFull(TestContext should) throws Exception {
+    final Async test = should.async();
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY))
+      .fixture(new Authenticator().setIdentifier("user2").setKey(USER1_KEY));
+
+    final TotpAuth authProvider = TotpAuth.create(new TotpAuthOptions().setSkew(1).setReplayCacheMaxSize(1))
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert);
+    final String code = code(0);
+
+    authProvider.authenticate(new OtpCredentials("user1", code))
+      // the cache is full, the code can't be remembered so it is refused
+      .compose(user -> authProvider.authenticate(new OtpCredentials("user2", code)))
+      .onSuccess(user -> should.fail("Replay cache is full"))
+      // the first pair was not forgotten to make room
+      .recover(err -> authProvider.authenticate(new OtpCredentials("user1", code)))
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("invalid code", err.getMessage());
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void testReplayCheckDisabled(TestContext should) throws Exception {
+    final Async test = should.async();
+    final TotpAuth authProvider = create(new TotpAuthOptions().setSkew(1).setReplayCacheMaxSize(0));
+    final String code = code(0);
+
+    authProvider.authenticate(new OtpCredentials("user1", code))
+      .compose(user -> authProvider.authenticate(new OtpCredentials("user1", code)))
+      .onComplete(should.asyncAssertSuccess(user -> test.complete()));
+  }
+
+  @Test
+  public void testWriteBehind(TestContext should) throws Exception {
+    final Async test = should.async();
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY));
+    final AtomicInteger writes = new AtomicInteger();
+
+    final TotpAuth authProvider = TotpAuth.create(rule.vertx(), new TotpAuthOptions().setSkew(1).setWriteBehindDelay(60_000))
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(authenticator -> {
+        writes.incrementAndGet();
+        return db.upsert(authenticator);
+      });
+
+    authProvider.authenticate(new OtpCredentials("user1", code(0)))
+      .compose(user -> {
+        // the update is held back
+        should.assertEquals(0, writes.get());
+        return authProvider.flush();
+      })
+      .onComplete(should.asyncAssertSuccess(v -> {
+        should.assertEquals(1, writes.get());
+        test.complete();
+      }));
+  }
+}
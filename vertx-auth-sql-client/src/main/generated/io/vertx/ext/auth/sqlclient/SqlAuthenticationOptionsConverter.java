@@ -25,6 +25,16 @@ public class SqlAuthenticationOptionsConverter {
             obj.setAuthenticationQuery((String)member.getValue());
           }
           break;
+        case "verificationCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setVerificationCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "verificationCacheTtlInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setVerificationCacheTtlInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -37,5 +47,7 @@ public class SqlAuthenticationOptionsConverter {
     if (obj.getAuthenticationQuery() != null) {
       json.put("authenticationQuery", obj.getAuthenticationQuery());
     }
+    json.put("verificationCacheMaxSize", obj.getVerificationCacheMaxSize());
+    json.put("verificationCacheTtlInSeconds", obj.getVerificationCacheTtlInSeconds());
   }
 }
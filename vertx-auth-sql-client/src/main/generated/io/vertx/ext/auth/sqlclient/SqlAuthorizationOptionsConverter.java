@@ -20,6 +20,21 @@ public class SqlAuthorizationOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SqlAuthorizationOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "authorizationsQuery":
+          if (member.getValue() instanceof String) {
+            obj.setAuthorizationsQuery((String)member.getValue());
+          }
+          break;
+        case "cacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "cacheTtlInSeconds":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheTtlInSeconds(((Number)member.getValue()).intValue());
+          }
+          break;
         case "permissionsQuery":
           if (member.getValue() instanceof String) {
             obj.setPermissionsQuery((String)member.getValue());
@@ -39,6 +54,11 @@ public class SqlAuthorizationOptionsConverter {
   }
 
   public static void toJson(SqlAuthorizationOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getAuthorizationsQuery() != null) {
+      json.put("authorizationsQuery", obj.getAuthorizationsQuery());
+    }
+    json.put("cacheMaxSize", obj.getCacheMaxSize());
+    json.put("cacheTtlInSeconds", obj.getCacheTtlInSeconds());
     if (obj.getPermissionsQuery() != null) {
       json.put("permissionsQuery", obj.getPermissionsQuery());
     }
@@ -32,10 +32,18 @@ public class SqlAuthenticationOptions {
    */
   private final static String DEFAULT_AUTHENTICATE_QUERY = "SELECT password FROM users WHERE username = ?";
 
+  /**
+   * The default time to live of remembered password verifications
+   */
+  private final static int DEFAULT_VERIFICATION_CACHE_TTL = 30;
+
   private String authenticationQuery;
+  private int verificationCacheMaxSize;
+  private int verificationCacheTtl;
 
   public SqlAuthenticationOptions() {
     this.authenticationQuery = DEFAULT_AUTHENTICATE_QUERY;
+    this.verificationCacheTtl = DEFAULT_VERIFICATION_CACHE_TTL;
   }
 
   public SqlAuthenticationOptions(JsonObject json) {
@@ -60,6 +68,46 @@ public class SqlAuthenticationOptions {
     return this;
   }
 
+  public int getVerificationCacheMaxSize() {
+    return verificationCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of successful password verifications remembered, so a client presenting the same correct
+   * password again skips the password hashing. Default to 0, disabled.
+   *
+   * @param verificationCacheMaxSize the maximum number of remembered verifications
+   * @return a reference to this, so the API can be used fluently
+   * @see io.vertx.ext.auth.HashingStrategy#verificationCache(int, int)
+   */
+  @Fluent
+  public SqlAuthenticationOptions setVerificationCacheMaxSize(int verificationCacheMaxSize) {
+    if (verificationCacheMaxSize < 0) {
+      throw new IllegalArgumentException("verificationCacheMaxSize must be >= 0");
+    }
+    this.verificationCacheMaxSize = verificationCacheMaxSize;
+    return this;
+  }
+
+  public int getVerificationCacheTtlInSeconds() {
+    return verificationCacheTtl;
+  }
+
+  /**
+   * Set the time a successful password verification is remembered. Default to 30 seconds.
+   *
+   * @param verificationCacheTtlInSeconds the time to live of remembered verifications
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public SqlAuthenticationOptions setVerificationCacheTtlInSeconds(int verificationCacheTtlInSeconds) {
+    if (verificationCacheTtlInSeconds <= 0) {
+      throw new IllegalArgumentException("verificationCacheTtlInSeconds must be > 0");
+    }
+    this.verificationCacheTtl = verificationCacheTtlInSeconds;
+    return this;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     SqlAuthenticationOptionsConverter.toJson(this, json);
@@ -16,6 +16,7 @@
 
 package io.vertx.ext.auth.sqlclient;
 
+import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.auth.sqlclient.impl.SqlAuthorizationImpl;
@@ -49,4 +50,26 @@ public interface SqlAuthorization extends AuthorizationProvider {
   static SqlAuthorization create(SqlClient client, SqlAuthorizationOptions options) {
     return new SqlAuthorizationImpl(client, options);
   }
+
+  /**
+   * Drops the cached authorizations of a user, so they are loaded from the database on the next call. Only relevant
+   * when the cache is enabled with {@link SqlAuthorizationOptions#setCacheMaxSize(int)}.
+   *
+   * @param username the user whose roles or permissions changed
+   * @return fluent self
+   */
+  @Fluent
+  default SqlAuthorization invalidate(String username) {
+    return this;
+  }
+
+  /**
+   * Drops all cached authorizations, e.g.: after the permissions of a role changed.
+   *
+   * @return fluent self
+   */
+  @Fluent
+  default SqlAuthorization invalidateAll() {
+    return this;
+  }
 }
@@ -35,12 +35,21 @@ public class SqlAuthorizationOptions {
    */
   private final static String DEFAULT_PERMISSIONS_QUERY = "SELECT perm FROM roles_perms RP, users_roles UR WHERE UR.username = ? AND UR.role = RP.role";
 
+  /**
+   * The default time to live of cached authorizations
+   */
+  private final static int DEFAULT_CACHE_TTL = 60;
+
   private String rolesQuery;
   private String permissionsQuery;
+  private String authorizationsQuery;
+  private int cacheMaxSize;
+  private int cacheTtl;
 
   public SqlAuthorizationOptions() {
     this.rolesQuery = DEFAULT_ROLES_QUERY;
     this.permissionsQuery = DEFAULT_PERMISSIONS_QUERY;
+    this.cacheTtl = DEFAULT_CACHE_TTL;
   }
 
   public SqlAuthorizationOptions(JsonObject json) {
@@ -80,6 +89,59 @@ public class SqlAuthorizationOptions {
     return this;
   }
 
+  public String getAuthorizationsQuery() {
+    return authorizationsQuery;
+  }
+
+  /**
+   * Set a single query loading both roles and permissions, used instead of the roles and permissions queries to save
+   * a round trip. The query takes the username as only parameter and returns rows where the first column is a role
+   * and the second column a permission of that role, or {@code null} for roles without permissions, e.g.:
+   * {@code SELECT UR.role, RP.perm FROM users_roles UR LEFT JOIN roles_perms RP ON UR.role = RP.role WHERE UR.username = ?}
+   *
+   * @param authorizationsQuery the combined query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SqlAuthorizationOptions setAuthorizationsQuery(String authorizationsQuery) {
+    this.authorizationsQuery = authorizationsQuery;
+    return this;
+  }
+
+  public int getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of users whose authorizations are cached. Default to 0, authorizations are always loaded
+   * from the database.
+   *
+   * @param cacheMaxSize the maximum number of cached users
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SqlAuthorizationOptions setCacheMaxSize(int cacheMaxSize) {
+    if (cacheMaxSize < 0) {
+      throw new IllegalArgumentException("cacheMaxSize must be >= 0");
+    }
+    this.cacheMaxSize = cacheMaxSize;
+    return this;
+  }
+
+  public int getCacheTtlInSeconds() {
+    return cacheTtl;
+  }
+
+  /**
+   * Set the time the authorizations of a user are cached. Changes made to the database without invalidating the
+   * cache are only seen after this time. Default to 60 seconds.
+   *
+   * @param cacheTtlInSeconds the time to live of cached authorizations
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SqlAuthorizationOptions setCacheTtlInSeconds(int cacheTtlInSeconds) {
+    this.cacheTtl = cacheTtlInSeconds;
+    return this;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     SqlAuthorizationOptionsConverter.toJson(this, json);
@@ -53,6 +53,19 @@ public interface SqlUserUtil {
     return new SqlUserUtilImpl(client, insertUserSQL, insertUserRoleSQL, insertRolePermissionSQL);
   }
 
+  /**
+   * Registers an authorization provider whose cached authorizations are invalidated when this helper changes the
+   * roles of a user ({@link #createUserRole(String, String)}) or the permissions of a role
+   * ({@link #createRolePermission(String, String)}).
+   *
+   * @param authorization the authorization provider
+   * @return fluent self
+   */
+  @Fluent
+  default SqlUserUtil invalidates(SqlAuthorization authorization) {
+    return this;
+  }
+
   /**
    * Insert a user into a database.
    *
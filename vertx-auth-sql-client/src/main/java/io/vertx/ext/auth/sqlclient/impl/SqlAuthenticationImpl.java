@@ -16,7 +16,9 @@
 
 package io.vertx.ext.auth.sqlclient.impl;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.HashingStrategy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
@@ -44,6 +46,7 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
   public SqlAuthenticationImpl(SqlClient client, SqlAuthenticationOptions options) {
     this.client = Objects.requireNonNull(client);
     this.options = Objects.requireNonNull(options);
+    strategy.verificationCache(options.getVerificationCacheMaxSize(), options.getVerificationCacheTtlInSeconds());
   }
 
   @Override
@@ -73,14 +76,17 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
           case 1: {
             Row row = rows.iterator().next();
             String hashedStoredPwd = row.getString(0);
-            if (strategy.verify(hashedStoredPwd, authInfo.getPassword())) {
-              User user = User.fromName(authInfo.getUsername());
-              // metadata "amr"
-              user.principal().put("amr", Collections.singletonList("pwd"));
-              return Future.succeededFuture(user);
-            } else {
-              return Future.failedFuture("Invalid username/password");
-            }
+            return verify(hashedStoredPwd, authInfo.getPassword())
+              .compose(valid -> {
+                if (valid) {
+                  User user = User.fromName(authInfo.getUsername());
+                  // metadata "amr"
+                  user.principal().put("amr", Collections.singletonList("pwd"));
+                  return Future.succeededFuture(user);
+                } else {
+                  return Future.failedFuture("Invalid username/password");
+                }
+              });
           }
           default: {
             // More than one row returned!
@@ -90,6 +96,22 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
       });
   }
 
+  private Future<Boolean> verify(String hash, String password) {
+    // the client does not expose vertx, however the query result is always delivered on a context
+    final Context context = Vertx.currentContext();
+
+    if (context == null) {
+      try {
+        return Future.succeededFuture(strategy.verify(hash, password));
+      } catch (RuntimeException e) {
+        return Future.failedFuture(e);
+      }
+    }
+
+    // slow algorithms (e.g.: pbkdf2) must not run on the event loop
+    return strategy.verify(context.owner(), hash, password);
+  }
+
   @Override
   public String hash(String id, Map<String, String> params, String salt, String password) {
     return strategy.hash(id, params, salt, password);
@@ -5,6 +5,7 @@ import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
 import io.vertx.ext.auth.sqlclient.SqlAuthorization;
 import io.vertx.ext.auth.sqlclient.SqlAuthorizationOptions;
 import io.vertx.sqlclient.Row;
@@ -15,15 +16,22 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SqlAuthorizationImpl implements SqlAuthorization {
 
   private final SqlAuthorizationOptions options;
   private final SqlClient client;
 
+  // username -> authorizations
+  private final ExpiringCache<String, Set<Authorization>> cache;
+  // bumped on every invalidation, so loads started before it are not cached
+  private final AtomicLong generation = new AtomicLong();
+
   public SqlAuthorizationImpl(SqlClient client, SqlAuthorizationOptions options) {
     this.client = Objects.requireNonNull(client);
     this.options = Objects.requireNonNull(options);
+    this.cache = options.getCacheMaxSize() > 0 ? new ExpiringCache<>(options.getCacheMaxSize()) : null;
   }
 
   @Override
@@ -65,22 +73,88 @@ public class SqlAuthorizationImpl implements SqlAuthorization {
     }
   }
 
+  private Future<Set<Authorization>> getRolesAndPermissions(String username) {
+    return client.preparedQuery(options.getAuthorizationsQuery())
+      .execute(Tuple.of(username))
+      .compose(rows -> {
+        Set<Authorization> authorizations = new HashSet<>();
+        for (Row row : rows) {
+          String role = row.getString(0);
+          if (role != null) {
+            authorizations.add(RoleBasedAuthorization.create(role));
+          }
+          String permission = row.getString(1);
+          if (permission != null) {
+            authorizations.add(PermissionBasedAuthorization.create(permission));
+          }
+        }
+        return Future.succeededFuture(authorizations);
+      });
+  }
+
+  private Future<Set<Authorization>> load(String username) {
+    if (options.getAuthorizationsQuery() != null) {
+      return getRolesAndPermissions(username);
+    }
+
+    // both queries are sent at once instead of waiting for the roles before asking for the permissions
+    final Future<Set<Authorization>> roles = getRoles(username);
+    final Future<Set<Authorization>> permissions = getPermissions(username);
+
+    return Future.all(roles, permissions)
+      .map(done -> {
+        Set<Authorization> authorizations = new HashSet<>(roles.result());
+        authorizations.addAll(permissions.result());
+        return authorizations;
+      });
+  }
+
   @Override
   public Future<Void> getAuthorizations(User user) {
     String username = user.principal().getString("username");
     if (username != null) {
-      return getRoles(username)
-        .compose(roles -> {
-          Set<Authorization> authorizations = new HashSet<>(roles);
-          return getPermissions(username)
-            .onSuccess(permissions -> {
-              authorizations.addAll(permissions);
-              user.authorizations().add(getId(), authorizations);
-            })
-            .mapEmpty();
-        });
+      if (cache != null) {
+        final Set<Authorization> authorizations = cache.get(username);
+        if (authorizations != null) {
+          user.authorizations().add(getId(), authorizations);
+          return Future.succeededFuture();
+        }
+      }
+
+      final long loadGeneration = generation.get();
+
+      return load(username)
+        .onSuccess(authorizations -> {
+          if (cache != null) {
+            cache.put(username, Collections.unmodifiableSet(authorizations), System.currentTimeMillis() + options.getCacheTtlInSeconds() * 1000L);
+            if (generation.get() != loadGeneration) {
+              // invalidated while loading, the result may be stale
+              cache.remove(username);
+            }
+          }
+          user.authorizations().add(getId(), authorizations);
+        })
+        .mapEmpty();
     } else {
       return Future.failedFuture("Couldn't get the username from the principal");
     }
   }
+
+  @Override
+  public SqlAuthorization invalidate(String username) {
+    generation.incrementAndGet();
+    if (cache != null) {
+      cache.remove(username);
+    }
+    return this;
+  }
+
+  @Override
+  public SqlAuthorization invalidateAll() {
+    generation.incrementAndGet();
+    if (cache != null) {
+      cache.clear();
+    }
+    return this;
+  }
 }
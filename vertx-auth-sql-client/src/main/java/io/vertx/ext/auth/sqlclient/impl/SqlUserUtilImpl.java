@@ -17,11 +17,14 @@ package io.vertx.ext.auth.sqlclient.impl;
 
 import io.vertx.core.Future;
 import io.vertx.ext.auth.HashingStrategy;
+import io.vertx.ext.auth.sqlclient.SqlAuthorization;
 import io.vertx.ext.auth.sqlclient.SqlUserUtil;
 import io.vertx.sqlclient.SqlClient;
 import io.vertx.sqlclient.Tuple;
 
 import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static io.vertx.ext.auth.impl.Codec.base64Encode;
 
@@ -34,6 +37,7 @@ public class SqlUserUtilImpl implements SqlUserUtil {
   private final SqlClient client;
   private final HashingStrategy strategy = HashingStrategy.load();
   private final SecureRandom random = new SecureRandom();
+  private final List<SqlAuthorization> authorizations = new CopyOnWriteArrayList<>();
 
   private final String insertUser;
   private final String insertUserRole;
@@ -50,6 +54,12 @@ public class SqlUserUtilImpl implements SqlUserUtil {
     this.insertRolePermission = insertRolePermission;
   }
 
+  @Override
+  public SqlUserUtil invalidates(SqlAuthorization authorization) {
+    authorizations.add(authorization);
+    return this;
+  }
+
   @Override
   public Future<Void> createUser(String username, String password) {
     if (username == null || password == null) {
@@ -88,6 +98,11 @@ public class SqlUserUtilImpl implements SqlUserUtil {
     return client
       .preparedQuery(insertUserRole)
       .execute(Tuple.of(username, role))
+      .onSuccess(rows -> {
+        for (SqlAuthorization authorization : authorizations) {
+          authorization.invalidate(username);
+        }
+      })
       .mapEmpty();
   }
 
@@ -100,6 +115,12 @@ public class SqlUserUtilImpl implements SqlUserUtil {
     return client
       .preparedQuery(insertRolePermission)
       .execute(Tuple.of(role, permission))
+      .onSuccess(rows -> {
+        // any user may have the role
+        for (SqlAuthorization authorization : authorizations) {
+          authorization.invalidateAll();
+        }
+      })
       .mapEmpty();
   }
 }
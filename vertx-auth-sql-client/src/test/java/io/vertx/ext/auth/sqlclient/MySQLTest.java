@@ -1,5 +1,6 @@
 package io.vertx.ext.auth.sqlclient;
 
+import io.vertx.core.Future;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -204,4 +205,56 @@ public class MySQLTest {
           });
       });
   }
+
+  @Test
+  public void testAuthoriseCombinedQueryAndCache(TestContext should) {
+    final Async test = should.async();
+
+    SqlAuthorization authz = SqlAuthorization.create(mysql, new SqlAuthorizationOptions()
+      .setAuthorizationsQuery("SELECT UR.role, RP.perm FROM users_roles UR LEFT JOIN roles_perms RP ON UR.role = RP.role WHERE UR.username = ?")
+      .setCacheMaxSize(10));
+
+    SqlUserUtil util = SqlUserUtil.create(
+        mysql,
+        "INSERT INTO users (username, password) VALUES (?, ?)",
+        "INSERT INTO users_roles (username, role) VALUES (?, ?)",
+        "INSERT INTO roles_perms (role, perm) VALUES (?, ?)")
+      .invalidates(authz);
+
+    final User first = User.fromName("lopus");
+    final User second = User.fromName("lopus");
+    final User third = User.fromName("lopus");
+
+    authz.getAuthorizations(first)
+      .compose(v -> {
+        should.assertTrue(RoleBasedAuthorization.create("dev").match(first));
+        should.assertTrue(PermissionBasedAuthorization.create("commit_code").match(first));
+        should.assertTrue(PermissionBasedAuthorization.create("merge_pr").match(first));
+        // changed behind the provider's back
+        return mysql.preparedQuery("INSERT INTO users_roles (username, role) VALUES (?, ?)")
+          .execute(io.vertx.sqlclient.Tuple.of("lopus", "ops"));
+      })
+      .compose(v -> authz.getAuthorizations(second))
+      .compose(v -> {
+        // served from the cache
+        should.assertFalse(RoleBasedAuthorization.create("ops").match(second));
+        return util.createRolePermission("ops", "deploy");
+      })
+      .compose(v -> authz.getAuthorizations(third))
+      .compose(v -> {
+        // the cache was invalidated by the user util
+        should.assertTrue(RoleBasedAuthorization.create("ops").match(third));
+        should.assertTrue(PermissionBasedAuthorization.create("deploy").match(third));
+        return Future.<Void>succeededFuture();
+      })
+      // the container is shared by all tests, leave the fixture as it was
+      .compose(v -> deleteOpsRole(), err -> deleteOpsRole().compose(v -> Future.failedFuture(err)))
+      .onComplete(should.asyncAssertSuccess(v -> test.complete()));
+  }
+
+  private Future<Void> deleteOpsRole() {
+    return mysql.query("DELETE FROM users_roles WHERE username = 'lopus' AND role = 'ops'").execute()
+      .compose(rows -> mysql.query("DELETE FROM roles_perms WHERE role = 'ops' AND perm = 'deploy'").execute())
+      .mapEmpty();
+  }
 }
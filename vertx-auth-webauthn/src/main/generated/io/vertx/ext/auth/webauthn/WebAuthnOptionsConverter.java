@@ -35,11 +35,26 @@ public class WebAuthnOptionsConverter {
             obj.setChallengeLength(((Number)member.getValue()).intValue());
           }
           break;
+        case "credentialCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setCredentialCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
         case "extensions":
           if (member.getValue() instanceof JsonObject) {
             obj.setExtensions(((JsonObject)member.getValue()).copy());
           }
           break;
+        case "mdsConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setMdsConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "mdsSnapshotPath":
+          if (member.getValue() instanceof String) {
+            obj.setMdsSnapshotPath((String)member.getValue());
+          }
+          break;
         case "pubKeyCredParams":
           if (member.getValue() instanceof JsonArray) {
             java.util.ArrayList<io.vertx.ext.auth.webauthn.PublicKeyCredential> list =  new java.util.ArrayList<>();
@@ -121,9 +136,14 @@ public class WebAuthnOptionsConverter {
       json.put("authenticatorAttachment", obj.getAuthenticatorAttachment().name());
     }
     json.put("challengeLength", obj.getChallengeLength());
+    json.put("credentialCacheMaxSize", obj.getCredentialCacheMaxSize());
     if (obj.getExtensions() != null) {
       json.put("extensions", obj.getExtensions());
     }
+    json.put("mdsConcurrency", obj.getMdsConcurrency());
+    if (obj.getMdsSnapshotPath() != null) {
+      json.put("mdsSnapshotPath", obj.getMdsSnapshotPath());
+    }
     if (obj.getPubKeyCredParams() != null) {
       JsonArray array = new JsonArray();
       obj.getPubKeyCredParams().forEach(item -> array.add(item.name()));
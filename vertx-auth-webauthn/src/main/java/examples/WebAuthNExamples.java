@@ -202,4 +202,23 @@ public class WebAuthNExamples {
       // updated google root certificate from (https://pki.goog/repository/)
       .putRootCertificate("android-safetynet", "MIIDvDCCAqSgAwIBAgINAgPk9GHs...");
   }
+
+  public void example7(Vertx vertx, JsonObject body) {
+    WebAuthn webAuthN = WebAuthn.create(
+        vertx,
+        new WebAuthnOptions()
+          .setRelyingParty(new RelyingParty().setName("ACME Corporation"))
+          // challenges expire after this time
+          .setTimeoutInMilliseconds(60_000L))
+      // issued challenges are kept in memory until used or expired
+      .challengeStore(ChallengeStore.create());
+
+    // the challenge does not need to be kept in the session anymore
+    webAuthN.authenticate(new WebAuthnCredentials()
+        .setOrigin("https://192.168.178.206.xip.io:8443")
+        .setWebauthn(body))
+      .onSuccess(user -> {
+        // success!
+      });
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.webauthn;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.webauthn.impl.InMemoryChallengeStore;
+
+/**
+ * Storage for the challenges issued by {@link WebAuthn#createCredentialsOptions(io.vertx.core.json.JsonObject)} and
+ * {@link WebAuthn#getCredentialsOptions(String)}. When a store is configured, the challenge of a response is checked
+ * against it and consumed, so it can only be used once and the application does not need to keep it in the session.
+ * <p>
+ * Each challenge is stored with the context it was issued for: the ceremony {@code type} ({@code webauthn.create} or
+ * {@code webauthn.get}) and, when known, the {@code username}. A response is only accepted for the same context.
+ */
+@VertxGen
+public interface ChallengeStore {
+
+  /**
+   * Create an in memory store. Challenges are local to the process, so all the requests of a ceremony must reach the
+   * same instance.
+   *
+   * @return the store.
+   */
+  static ChallengeStore create() {
+    return new InMemoryChallengeStore();
+  }
+
+  /**
+   * Store an issued challenge.
+   *
+   * @param challenge             the base64url encoded challenge.
+   * @param context               the context the challenge was issued for, returned as is by {@link #consume(String)}.
+   * @param timeoutInMilliseconds the time after which the challenge is no longer valid.
+   * @return future result of the operation.
+   */
+  Future<Void> put(String challenge, JsonObject context, long timeoutInMilliseconds);
+
+  /**
+   * Remove a challenge, if present. The operation must be atomic, when the same challenge is consumed concurrently
+   * only one caller may get its context.
+   *
+   * @param challenge the base64url encoded challenge.
+   * @return the context the challenge was stored with, or {@code null} if it was not stored or expired.
+   */
+  Future<@Nullable JsonObject> consume(String challenge);
+}
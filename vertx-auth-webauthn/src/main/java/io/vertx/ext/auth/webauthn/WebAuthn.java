@@ -158,6 +158,21 @@ public interface WebAuthn extends AuthenticationProvider {
   @Fluent
   WebAuthn authenticatorUpdater(Function<Authenticator, Future<Void>> updater);
 
+  /**
+   * Provide a {@link ChallengeStore} where the challenges issued by {@link #createCredentialsOptions(JsonObject)} and
+   * {@link #getCredentialsOptions(String)} are kept until they are used or expire, after
+   * {@link WebAuthnOptions#getTimeoutInMilliseconds()}. A response is then only accepted if its challenge was issued
+   * and not used yet, for the same ceremony and user, and {@link WebAuthnCredentials#setChallenge(String)} becomes
+   * optional.
+   *
+   * @param challengeStore the store, or {@code null} to leave the challenge handling to the application.
+   * @return fluent self.
+   */
+  @Fluent
+  default WebAuthn challengeStore(@Nullable ChallengeStore challengeStore) {
+    throw new UnsupportedOperationException("This implementation does not support a challenge store");
+  }
+
   /**
    * Getter to the instance FIDO2 Meta Data Service.
    *
@@ -81,9 +81,15 @@ public class WebAuthnCredentials implements Credentials {
     return this;
   }
 
+  /**
+   * Validate the credentials.
+   *
+   * @param arg the {@link ChallengeStore} the challenge is verified against, if any. When present the challenge may be
+   *            omitted.
+   */
   @Override
   public <V> void checkValid(V arg) throws CredentialValidationException {
-    if (challenge == null || challenge.length() == 0) {
+    if (!(arg instanceof ChallengeStore) && (challenge == null || challenge.length() == 0)) {
       throw new CredentialValidationException("Challenge cannot be null or empty");
     }
 
@@ -207,6 +207,11 @@ public class WebAuthnOptions {
 
   private boolean relaxedSafetyNetIntegrityVeridict;
 
+  private int credentialCacheMaxSize;
+
+  private int mdsConcurrency;
+  private String mdsSnapshotPath;
+
   public WebAuthnOptions() {
     init();
   }
@@ -226,6 +231,8 @@ public class WebAuthnOptions {
 
     timeout = 60_000L;
     challengeLength = 64;
+    credentialCacheMaxSize = 1000;
+    mdsConcurrency = 8;
     // Support FIDO2 devices, MACOSX, default
     addPubKeyCredParam(ES256);
     // Support Windows devices (Hello)
@@ -409,6 +416,61 @@ public class WebAuthnOptions {
     return this;
   }
 
+  public int getCredentialCacheMaxSize() {
+    return credentialCacheMaxSize;
+  }
+
+  /**
+   * The maximum number of stored credential public keys kept decoded and ready to verify assertions. Without it, each
+   * {@code webauthn.get} decodes the stored COSE key and sets up a new verifier. An entry is only used while the
+   * stored public key of the credential is unchanged.
+   *
+   * @param credentialCacheMaxSize the number of credentials, {@code 0} disables the cache. Default to 1000.
+   * @return self.
+   */
+  public WebAuthnOptions setCredentialCacheMaxSize(int credentialCacheMaxSize) {
+    if (credentialCacheMaxSize < 0) {
+      throw new IllegalArgumentException("Credential cache max size must be >= 0");
+    }
+    this.credentialCacheMaxSize = credentialCacheMaxSize;
+    return this;
+  }
+
+  public int getMdsConcurrency() {
+    return mdsConcurrency;
+  }
+
+  /**
+   * The maximum number of metadata statements downloaded at the same time while processing a FIDO2 MDS TOC.
+   *
+   * @param mdsConcurrency the number of concurrent downloads. Default to 8.
+   * @return self.
+   */
+  public WebAuthnOptions setMdsConcurrency(int mdsConcurrency) {
+    if (mdsConcurrency <= 0) {
+      throw new IllegalArgumentException("MDS concurrency must be > 0");
+    }
+    this.mdsConcurrency = mdsConcurrency;
+    return this;
+  }
+
+  public String getMdsSnapshotPath() {
+    return mdsSnapshotPath;
+  }
+
+  /**
+   * A file where the last FIDO2 MDS TOC and its statements are kept. Until the TOC {@code nextUpdate} date is reached
+   * the metadata is loaded from this file instead of the network, and it is used as a fallback when the MDS cannot be
+   * reached. The snapshot is verified like a downloaded TOC on every load.
+   *
+   * @param mdsSnapshotPath the file path, {@code null} to always download the TOC.
+   * @return self.
+   */
+  public WebAuthnOptions setMdsSnapshotPath(String mdsSnapshotPath) {
+    this.mdsSnapshotPath = mdsSnapshotPath;
+    return this;
+  }
+
   public JsonObject getExtensions() {
     return extensions;
   }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.webauthn.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.webauthn.ChallengeStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free in memory challenge store.
+ * <p>
+ * Challenges are kept in a map with their expiration time and are also queued in the slot of a time wheel matching
+ * that time. Expiry needs no timer nor full scan: the caller that first observes a new tick drains the slots that
+ * elapsed since the previous one, other callers go on without waiting.
+ */
+public class InMemoryChallengeStore implements ChallengeStore {
+
+  // must be a power of two
+  private static final int WHEEL_SIZE = 64;
+  private static final long TICK = 1000;
+
+  private static final class Entry {
+    final JsonObject context;
+    final long expiresAt;
+
+    Entry(JsonObject context, long expiresAt) {
+      this.context = context;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final ConcurrentMap<String, Entry> challenges = new ConcurrentHashMap<>();
+  private final List<Queue<String>> wheel = new ArrayList<>(WHEEL_SIZE);
+  // the last drained tick
+  private final AtomicLong cursor = new AtomicLong(System.currentTimeMillis() / TICK);
+
+  public InMemoryChallengeStore() {
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel.add(new ConcurrentLinkedQueue<>());
+    }
+  }
+
+  @Override
+  public Future<Void> put(String challenge, JsonObject context, long timeoutInMilliseconds) {
+    final long now = System.currentTimeMillis();
+    final long expiresAt = now + timeoutInMilliseconds;
+
+    advance(now);
+    challenges.put(challenge, new Entry(context, expiresAt));
+    slot(expiresAt).add(challenge);
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public Future<JsonObject> consume(String challenge) {
+    final long now = System.currentTimeMillis();
+
+    advance(now);
+    // the removal makes the challenge single use, even for concurrent callers
+    final Entry entry = challenges.remove(challenge);
+    return Future.succeededFuture(entry != null && entry.expiresAt > now ? entry.context : null);
+  }
+
+  /**
+   * @return the number of live challenges, expired challenges may be counted until their slot is drained.
+   */
+  public int size() {
+    return challenges.size();
+  }
+
+  private Queue<String> slot(long time) {
+    return wheel.get((int) (time / TICK) & (WHEEL_SIZE - 1));
+  }
+
+  private void advance(long now) {
+    final long current = now / TICK;
+    final long last = cursor.get();
+
+    if (current <= last || !cursor.compareAndSet(last, current)) {
+      // nothing elapsed, or another caller is draining
+      return;
+    }
+
+    // after a long idle period, a single turn of the wheel covers everything
+    final long from = Math.max(last, current - WHEEL_SIZE);
+    for (long tick = from; tick < current; tick++) {
+      final Queue<String> slot = wheel.get((int) tick & (WHEEL_SIZE - 1));
+      final List<String> later = new ArrayList<>();
+      String challenge;
+      while ((challenge = slot.poll()) != null) {
+        final Entry entry = challenges.get(challenge);
+        if (entry == null) {
+          // already consumed
+          continue;
+        }
+        if (entry.expiresAt <= now) {
+          challenges.remove(challenge, entry);
+        } else {
+          // expires in a later turn of the wheel
+          later.add(challenge);
+        }
+      }
+      slot.addAll(later);
+    }
+  }
+}
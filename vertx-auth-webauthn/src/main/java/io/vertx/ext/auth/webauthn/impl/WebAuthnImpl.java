@@ -27,8 +27,8 @@ import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.impl.cache.ExpiringCache;
 import io.vertx.ext.auth.impl.cose.CWK;
-import io.vertx.ext.auth.impl.jose.JWK;
 import io.vertx.ext.auth.impl.jose.JWS;
 import io.vertx.ext.auth.webauthn.*;
 import io.vertx.ext.auth.webauthn.impl.attestation.Attestation;
@@ -49,15 +49,30 @@ import static io.vertx.ext.auth.webauthn.impl.attestation.Attestation.hash;
 public class WebAuthnImpl implements WebAuthn {
 
   private static final Logger LOG = LoggerFactory.getLogger(WebAuthn.class);
+  // used to expire stored challenges when no timeout is configured
+  private static final long DEFAULT_CHALLENGE_TIMEOUT = 60_000L;
+
+  private static final class CachedVerifier {
+    final String publicKey;
+    final JWS jws;
+
+    CachedVerifier(String publicKey, JWS jws) {
+      this.publicKey = publicKey;
+      this.jws = jws;
+    }
+  }
 
   private final Map<String, Attestation> attestations = new HashMap<>();
 
   private final VertxContextPRNG random;
   private final WebAuthnOptions options;
   private final MetaDataServiceImpl mds;
+  // decoded public keys by credential id, null when disabled
+  private final ExpiringCache<String, CachedVerifier> verifiers;
 
   private Function<Authenticator, Future<List<Authenticator>>> fetcher = authr -> Future.failedFuture("Fetcher function not available");
   private Function<Authenticator, Future<Void>> updater = authr -> Future.failedFuture("Updater function not available");
+  private ChallengeStore challengeStore;
 
   public WebAuthnImpl(Vertx vertx, WebAuthnOptions options) {
     random = VertxContextPRNG.current(vertx);
@@ -78,6 +93,9 @@ public class WebAuthnImpl implements WebAuthn {
     }
 
     this.mds = new MetaDataServiceImpl(vertx, options);
+    this.verifiers = options.getCredentialCacheMaxSize() > 0 ?
+      new ExpiringCache<>(options.getCredentialCacheMaxSize()) :
+      null;
     ServiceLoader<Attestation> attestationServiceLoader = ServiceLoader.load(Attestation.class);
 
     for (Attestation att : attestationServiceLoader) {
@@ -156,6 +174,12 @@ public class WebAuthnImpl implements WebAuthn {
     return this;
   }
 
+  @Override
+  public WebAuthn challengeStore(ChallengeStore challengeStore) {
+    this.challengeStore = challengeStore;
+    return this;
+  }
+
   @Override
   public Future<JsonObject> createCredentialsOptions(JsonObject user) {
 
@@ -221,7 +245,8 @@ public class WebAuthnImpl implements WebAuthn {
         putOpt(json, "extensions", options.getExtensions());
 
         return json;
-      });
+      })
+      .compose(json -> storeChallenge(json, "webauthn.create", user.getString("name")));
   }
 
   @Override
@@ -240,8 +265,8 @@ public class WebAuthnImpl implements WebAuthn {
     switch (options.getResidentKey()) {
       case REQUIRED:
       case PREFERRED:
-        // we prefer RK, so we don't need a name
-        return Future.succeededFuture(json);
+        // we prefer RK, so we don't need a name, the user is only known from the response
+        return storeChallenge(json, "webauthn.get", null);
       case DISCOURAGED:
         // we don't want RK, so we need a name
         if (name == null) {
@@ -284,7 +309,22 @@ public class WebAuthnImpl implements WebAuthn {
         putOpt(json, "allowCredentials", allowCredentials);
 
         return json;
-      });
+      })
+      .compose(json -> storeChallenge(json, "webauthn.get", name));
+  }
+
+  private Future<JsonObject> storeChallenge(JsonObject json, String type, String username) {
+    if (challengeStore == null) {
+      return Future.succeededFuture(json);
+    }
+    final JsonObject context = new JsonObject()
+      .put("type", type);
+    putOpt(context, "username", username);
+
+    final Long timeout = options.getTimeoutInMilliseconds();
+    return challengeStore
+      .put(json.getString("challenge"), context, timeout == null ? DEFAULT_CHALLENGE_TIMEOUT : timeout)
+      .map(json);
   }
 
   @Override
@@ -298,7 +338,7 @@ public class WebAuthnImpl implements WebAuthn {
         throw new CredentialValidationException("Invalid credentials type", e);
       }
       // check
-      authInfo.checkValid(null);
+      authInfo.checkValid(challengeStore);
       // The basic data supplied with any kind of validation is:
       //    {
       //      "rawId": "base64url",
@@ -329,10 +369,43 @@ public class WebAuthnImpl implements WebAuthn {
 
       // Step #2
       // Verify challenge is match with session
-      if (!authInfo.getChallenge().equals(clientData.getString("challenge"))) {
+      final String challenge = clientData.getString("challenge");
+      if (challenge == null) {
+        return Future.failedFuture("Missing challenge on client data");
+      }
+      if (authInfo.getChallenge() != null && !authInfo.getChallenge().equals(challenge)) {
         return Future.failedFuture("Challenges don't match!");
       }
 
+      if (challengeStore == null) {
+        return verify(authInfo, webauthn, clientDataJSON, clientData);
+      }
+
+      // the challenge must have been issued by this provider, not used before, and for this ceremony and user
+      return challengeStore.consume(challenge)
+        .compose(issued -> {
+          if (issued == null) {
+            return Future.failedFuture("Unknown or expired challenge");
+          }
+          if (!Objects.equals(issued.getString("type"), clientData.getString("type"))) {
+            return Future.failedFuture("Challenge was issued for another ceremony");
+          }
+          final String username = issued.getString("username");
+          if (username != null && !username.equals(authInfo.getUsername())) {
+            return Future.failedFuture("Challenge was issued for another user");
+          }
+          return verify(authInfo, webauthn, clientDataJSON, clientData);
+        });
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Verify the response once the challenge is validated, steps #3 to #6 and the ceremony specific steps.
+   */
+  private Future<User> verify(WebAuthnCredentials authInfo, JsonObject webauthn, byte[] clientDataJSON, JsonObject clientData) {
+    try {
       // Step #3
       // If the auth info object contains an Origin we can verify it:
       if (authInfo.getOrigin() != null) {
@@ -384,6 +457,10 @@ public class WebAuthnImpl implements WebAuthn {
             // new authenticator to the storage
             return updater.apply(authrInfo)
               .compose(stored -> {
+                // a (re)registered credential may carry a new key
+                if (verifiers != null) {
+                  verifiers.remove(authrInfo.getCredID());
+                }
                 User user = User.create(authrInfo.toJson());
                 // metadata "amr"
                 if ((authrInfo.getFlags() & AuthData.USER_PRESENT) != 0) {
@@ -620,38 +697,62 @@ public class WebAuthnImpl implements WebAuthn {
 
     // Step webauthn.get#3
     // Using previously saved public key, verify signature over signatureBase.
-    try (CBOR decoder = new CBOR(base64UrlDecode(credential.getString("publicKey")))) {
-      // the decoded credential primary as a JWK
-      JWK publicKey = CWK.toJWK(decoder.read());
-      // convert signature to buffer
-      byte[] signature = base64UrlDecode(response.getString("signature"));
-      // verify signature
-      JWS jws = new JWS(publicKey);
-      if (!jws.verify(signature, signatureBase.getBytes())) {
-        // Step webauthn.get#4
-        // If you can’t verify signature multiple times, potentially raise the
-        // alarm as phishing attempt most likely is occurring.
-        LOG.warn("Failed to verify signature for key: " + credential.getString("publicKey"));
-        throw new AttestationException("Failed to verify the signature!");
+    final JWS jws = verifier(credential.getString("credID"), credential.getString("publicKey"));
+    // convert signature to buffer
+    byte[] signature = base64UrlDecode(response.getString("signature"));
+    // verify signature
+    if (!jws.verify(signature, signatureBase.getBytes())) {
+      // Step webauthn.get#4
+      // If you can’t verify signature multiple times, potentially raise the
+      // alarm as phishing attempt most likely is occurring.
+      LOG.warn("Failed to verify signature for key: " + credential.getString("publicKey"));
+      throw new AttestationException("Failed to verify the signature!");
+    }
+
+    // Step webauthn.get#5
+    // If counter in DB is 0, and response counter is 0, then authData does not support counter,
+    // and this step should be skipped
+    if (authData.getSignCounter() != 0 || credential.getLong("counter") != 0) {
+      // Step webauthn.get#6
+      // If response counter is not 0, check that it’s bigger than stored counter.
+      // If it’s not, potentially raise the alarm as replay attack may have occurred.
+      if (authData.getSignCounter() != 0 && authData.getSignCounter() <= credential.getLong("counter", 0L)) {
+        throw new AttestationException("Authenticator counter did not increase!");
       }
+    }
 
-      // Step webauthn.get#5
-      // If counter in DB is 0, and response counter is 0, then authData does not support counter,
-      // and this step should be skipped
-      if (authData.getSignCounter() != 0 || credential.getLong("counter") != 0) {
-        // Step webauthn.get#6
-        // If response counter is not 0, check that it’s bigger than stored counter.
-        // If it’s not, potentially raise the alarm as replay attack may have occurred.
-        if (authData.getSignCounter() != 0 && authData.getSignCounter() <= credential.getLong("counter", 0L)) {
-          throw new AttestationException("Authenticator counter did not increase!");
-        }
+    // Step webauthn.get#7
+    // Update counter value in database
+    // return the counter so it can be updated on the store
+    return authData.getSignCounter();
+  }
+
+  /**
+   * Get a verifier for a stored credential public key. Decoding the COSE key and setting up the verifier is done once
+   * per credential, as long as the stored key does not change.
+   *
+   * @param credID    - The credential id
+   * @param publicKey - The stored public key, COSE encoded in base64url
+   */
+  private JWS verifier(String credID, String publicKey) throws IOException {
+    if (verifiers != null) {
+      final CachedVerifier cached = verifiers.get(credID);
+      // the stored key is compared, so an authenticator updated behind our back is never verified with a stale key
+      if (cached != null && cached.publicKey.equals(publicKey)) {
+        return cached.jws;
       }
+    }
+
+    final JWS jws;
+    try (CBOR decoder = new CBOR(base64UrlDecode(publicKey))) {
+      // the decoded credential primary as a JWK
+      jws = new JWS(CWK.toJWK(decoder.read()));
+    }
 
-      // Step webauthn.get#7
-      // Update counter value in database
-      // return the counter so it can be updated on the store
-      return authData.getSignCounter();
+    if (verifiers != null) {
+      verifiers.put(credID, new CachedVerifier(publicKey, jws), Long.MAX_VALUE);
     }
+    return jws;
   }
 
   /**
@@ -21,7 +21,6 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.auth.impl.CertificateHelper;
-import io.vertx.ext.auth.impl.jose.JWS;
 import io.vertx.ext.auth.webauthn.PublicKeyCredential;
 import io.vertx.ext.auth.webauthn.WebAuthnOptions;
 import io.vertx.ext.auth.webauthn.impl.attestation.AttestationException;
@@ -231,15 +230,20 @@ public final class MetaData {
           }
           CertificateHelper.checkValidity(x5c, includesRoot, options.getRootCrls());
         } else {
+          // only a root whose subject is the issuer of the chain can complete it, an empty chain may use any root
+          final List<X509Certificate> roots = entry.attestationRoots(
+            x5c.isEmpty() ? null : x5c.get(x5c.size() - 1).getIssuerX500Principal());
+
           boolean chainValid = false;
-          for (int i = 0; i < attestationRootCertificates.size(); i++) {
+          for (X509Certificate root : roots) {
             try {
               // add the metadata root certificate
-              x5c.add(JWS.parseX5c(attestationRootCertificates.getString(i)));
+              x5c.add(root);
               CertificateHelper.checkValidity(x5c, options.getRootCrls());
               chainValid = true;
               break;
-            } catch (CertificateException e) {
+            } catch (CertificateException | SignatureException | InvalidKeyException e) {
+              // a root with the right subject but another key fails the signature check
               // remove the previously added certificate
               x5c.remove(x5c.size() - 1);
               // continue
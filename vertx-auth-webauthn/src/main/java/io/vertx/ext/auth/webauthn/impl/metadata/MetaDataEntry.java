@@ -21,16 +21,23 @@ import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.Shareable;
+import io.vertx.ext.auth.impl.jose.JWS;
 
+import javax.security.auth.x500.X500Principal;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static io.vertx.ext.auth.impl.Codec.base64Decode;
 import static io.vertx.ext.auth.impl.Codec.base64UrlDecode;
@@ -55,6 +62,8 @@ public class MetaDataEntry implements Shareable {
   private final JsonObject entry;
   private final JsonObject statement;
   private final String error;
+  // attestation root certificates by subject, parsed once when the entry is loaded
+  private final Map<X500Principal, List<X509Certificate>> attestationRoots;
 
   public MetaDataEntry(JsonObject statement) {
     if (statement == null) {
@@ -64,6 +73,7 @@ public class MetaDataEntry implements Shareable {
     this.statement = new JsonObject(Collections.unmodifiableMap(statement.getMap()));
     this.error = null;
     this.version = statement.getInteger("schema", 2);
+    this.attestationRoots = parseAttestationRoots(this.statement);
   }
 
   public MetaDataEntry(JsonObject tocEntry, JsonObject statement, String error) {
@@ -75,6 +85,7 @@ public class MetaDataEntry implements Shareable {
     this.error = error;
     this.statement = new JsonObject(Collections.unmodifiableMap(statement.getMap()));
     this.version = statement.getInteger("schema", 2);
+    this.attestationRoots = parseAttestationRoots(this.statement);
 
     // convert status report effective date to a Instant
     for (Object o : entry.getJsonArray("statusReports")) {
@@ -93,6 +104,7 @@ public class MetaDataEntry implements Shareable {
     this.entry = new JsonObject(Collections.unmodifiableMap(tocEntry.getMap()));
     this.statement = new JsonObject(Collections.unmodifiableMap(new JsonObject(Buffer.buffer(base64Decode(rawStatement))).getMap()));
     this.version = statement.getInteger("schema", 2);
+    this.attestationRoots = parseAttestationRoots(this.statement);
 
     // convert status report effective date to a Instant
     for (Object o : entry.getJsonArray("statusReports")) {
@@ -151,4 +163,41 @@ public class MetaDataEntry implements Shareable {
   int version() {
     return version;
   }
+
+  /**
+   * Get the attestation root certificates that can have issued a certificate.
+   *
+   * @param issuer the issuer of the last certificate of the attestation chain, or {@code null} for all the roots.
+   * @return the matching roots, possibly empty.
+   */
+  List<X509Certificate> attestationRoots(X500Principal issuer) {
+    if (issuer == null) {
+      final List<X509Certificate> all = new ArrayList<>();
+      attestationRoots.values().forEach(all::addAll);
+      return all;
+    }
+    return attestationRoots.getOrDefault(issuer, Collections.emptyList());
+  }
+
+  private static Map<X500Principal, List<X509Certificate>> parseAttestationRoots(JsonObject statement) {
+    final JsonArray certificates = statement.getJsonArray("attestationRootCertificates");
+
+    if (certificates == null || certificates.size() == 0) {
+      return Collections.emptyMap();
+    }
+
+    final Map<X500Principal, List<X509Certificate>> roots = new HashMap<>();
+    for (int i = 0; i < certificates.size(); i++) {
+      try {
+        final X509Certificate root = JWS.parseX5c(certificates.getString(i));
+        roots
+          .computeIfAbsent(root.getSubjectX500Principal(), k -> new ArrayList<>(1))
+          .add(root);
+      } catch (CertificateException | RuntimeException e) {
+        // an unparseable root can't anchor any chain
+        LOG.warn("Ignoring attestation root certificate of: " + statement.getString("description"), e);
+      }
+    }
+    return Collections.unmodifiableMap(roots);
+  }
 }
@@ -1,12 +1,12 @@
 package io.vertx.ext.auth.webauthn.impl.metadata;
 
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.json.JsonArray;
@@ -20,23 +20,34 @@ import io.vertx.ext.auth.webauthn.MetaDataService;
 import io.vertx.ext.auth.webauthn.WebAuthnOptions;
 import io.vertx.ext.auth.webauthn.impl.attestation.AttestationException;
 
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.SignatureException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.vertx.core.json.impl.JsonUtil.BASE64_DECODER;
 import static io.vertx.ext.auth.impl.Codec.base64Decode;
+import static io.vertx.ext.auth.impl.Codec.base64UrlDecode;
 
 public class MetaDataServiceImpl implements MetaDataService {
 
   private static final Logger LOG = LoggerFactory.getLogger(MetaDataServiceImpl.class);
 
+  private final Vertx vertx;
   private final WebAuthnOptions options;
   private final SimpleHttpClient httpClient;
   private final JWT jwt;
@@ -44,7 +55,7 @@ public class MetaDataServiceImpl implements MetaDataService {
   private final MetaData metadata;
 
   public MetaDataServiceImpl(Vertx vertx, WebAuthnOptions options) {
-    VertxInternal vertx1 = (VertxInternal) vertx;
+    this.vertx = vertx;
     this.options = options;
     this.httpClient = new SimpleHttpClient(vertx, "vertx-auth", new HttpClientOptions());
     this.jwt = new JWT().allowEmbeddedKey(true);
@@ -53,97 +64,207 @@ public class MetaDataServiceImpl implements MetaDataService {
 
   @Override
   public Future<Boolean> fetchTOC(String toc) {
+    final String path = options.getMdsSnapshotPath();
+
+    if (path == null) {
+      return download(toc)
+        .compose(body -> load(toc, body, null));
+    }
+
+    return readSnapshot(path, toc)
+      .compose(snapshot -> {
+        if (snapshot != null && snapshot.toc.error == null && snapshot.toc.isCurrent()) {
+          // the snapshot is verified and the MDS has nothing newer to offer yet
+          return process(snapshot.toc, snapshot.statements, null);
+        }
+
+        return download(toc)
+          .compose(
+            body -> load(toc, body, snapshot),
+            err -> {
+              if (snapshot == null) {
+                return Future.failedFuture(err);
+              }
+              // keep working while the MDS is offline, but report that the metadata may be stale
+              LOG.warn("Failed to fetch MDS TOC, using snapshot: " + err.getMessage());
+              return process(snapshot.toc, snapshot.statements, null)
+                .map(false);
+            });
+      });
+  }
+
+  private Future<String> download(String toc) {
     return httpClient
       .fetch(HttpMethod.GET, toc, null, null)
       .compose(res -> {
-
-        JsonObject payload;
-        String error = null;
-
         Buffer body = res.body();
 
         if (body == null) {
           return Future.failedFuture("null JWT");
         }
+        return Future.succeededFuture(body.toString());
+      });
+  }
 
-        try {
-          // verify jwt
-          JsonObject json = jwt.decode(body.toString(), true, options.getRootCrls());
-          // verify cert chain
-          JsonArray chain = json.getJsonObject("header").getJsonArray("x5c");
-          List<X509Certificate> certChain = new ArrayList<>();
-
-          for (int i = 0; i < chain.size(); i++) {
-            // "x5c" (X.509 Certificate Chain) Header Parameter
-            // https://tools.ietf.org/html/rfc7515#section-4.1.6
-            // states:
-            // Each string in the array is a base64-encoded (Section 4 of [RFC4648] -- not base64url-encoded) DER
-            // [ITU.X690.2008] PKIX certificate value.
-            certChain.add(JWS.parseX5c(base64Decode(chain.getString(i))));
-          }
-          // add the root certificate
-          certChain.add(options.getRootCertificate("mds"));
-          List<X509CRL> crls = options.getRootCrls();
-          if (crls == null || crls.size() == 0) {
-            // warning: we don't have CRLs loaded
-            LOG.warn("No CRLs loaded for MDS Certificate");
-          }
-          CertificateHelper.checkValidity(certChain, crls);
+  private Future<Boolean> load(String url, String body, Snapshot snapshot) {
+    final Toc toc;
+    try {
+      toc = decode(body);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
 
-          payload = json.getJsonObject("payload");
+    final JsonObject cachedStatements = snapshot == null ? null : snapshot.statements;
 
-        } catch (RuntimeException | CertificateException | NoSuchAlgorithmException | InvalidKeyException |
-                 SignatureException | NoSuchProviderException e) {
-          // the toc signature is not valid.
-          // decode it anyway but don't trust any of it's entries
-          try {
-            error = e.getMessage();
-            payload = JWT.parse(body.toString()).getJsonObject("payload");
-          } catch (RuntimeException re) {
-            return Future.failedFuture(re);
-          }
+    // only a trusted TOC replaces the snapshot, and only when it changed
+    final JsonObject statements;
+    if (toc.error == null && options.getMdsSnapshotPath() != null && (snapshot == null || !toc.sameAs(snapshot.toc))) {
+      statements = new JsonObject(new ConcurrentHashMap<>());
+    } else {
+      statements = null;
+    }
+
+    return process(toc, cachedStatements, statements)
+      .compose(allOk -> {
+        if (statements == null || !allOk) {
+          return Future.succeededFuture(allOk);
         }
+        return writeSnapshot(new JsonObject()
+          .put("url", url)
+          .put("toc", body)
+          .put("statements", statements))
+          .map(allOk);
+      });
+  }
 
-        try {
-          if (payload == null) {
-            return Future.failedFuture("Could not parse TOC");
-          } else {
-            if (payload.containsKey("legalHeader")) {
-              LOG.info(payload.getString("legalHeader"));
-            }
+  /**
+   * Verify the TOC JWT and its certificate chain. An invalid TOC is still decoded, but none of its entries will be
+   * trusted.
+   */
+  private Toc decode(String body) {
+    try {
+      // verify jwt
+      JsonObject json = jwt.decode(body, true, options.getRootCrls());
+      // verify cert chain
+      JsonArray chain = json.getJsonObject("header").getJsonArray("x5c");
+      List<X509Certificate> certChain = new ArrayList<>();
+
+      for (int i = 0; i < chain.size(); i++) {
+        // "x5c" (X.509 Certificate Chain) Header Parameter
+        // https://tools.ietf.org/html/rfc7515#section-4.1.6
+        // states:
+        // Each string in the array is a base64-encoded (Section 4 of [RFC4648] -- not base64url-encoded) DER
+        // [ITU.X690.2008] PKIX certificate value.
+        certChain.add(JWS.parseX5c(base64Decode(chain.getString(i))));
+      }
+      // add the root certificate
+      certChain.add(options.getRootCertificate("mds"));
+      List<X509CRL> crls = options.getRootCrls();
+      if (crls == null || crls.size() == 0) {
+        // warning: we don't have CRLs loaded
+        LOG.warn("No CRLs loaded for MDS Certificate");
+      }
+      CertificateHelper.checkValidity(certChain, crls);
 
-            JsonArray entries = payload.getJsonArray("entries");
+      return new Toc(json.getJsonObject("payload"), null);
 
-            final List<Future> futures = new ArrayList<>(entries.size());
-            final String e = error;
+    } catch (RuntimeException | CertificateException | NoSuchAlgorithmException | InvalidKeyException |
+             SignatureException | NoSuchProviderException e) {
+      // the toc signature is not valid.
+      // decode it anyway but don't trust any of it's entries
+      return new Toc(JWT.parse(body).getJsonObject("payload"), e.getMessage());
+    }
+  }
 
-            entries.forEach(el -> futures.add(addEntry(e, (JsonObject) el)));
+  /**
+   * Load the entries of a TOC into the metadata store.
+   *
+   * @param toc              the decoded TOC
+   * @param cachedStatements raw statements from a snapshot, by url, used when their hash matches the TOC entry
+   * @param statements       collects the raw statements for a new snapshot, may be {@code null}
+   */
+  private Future<Boolean> process(Toc toc, JsonObject cachedStatements, JsonObject statements) {
+    final JsonObject payload = toc.payload;
 
-            return CompositeFuture
-              .all(futures)
-              .map(true)
-              .otherwise(false);
-          }
-        } catch (RuntimeException e) {
-          return Future.failedFuture(e);
+    try {
+      if (payload == null) {
+        return Future.failedFuture("Could not parse TOC");
+      } else {
+        if (payload.containsKey("legalHeader")) {
+          LOG.info(payload.getString("legalHeader"));
         }
-      });
+
+        final JsonArray entries = payload.getJsonArray("entries");
+        final AtomicInteger next = new AtomicInteger();
+        final int concurrency = Math.min(options.getMdsConcurrency(), entries.size());
+        final List<Future<Boolean>> workers = new ArrayList<>(concurrency);
+
+        // a fixed number of workers share the entries, so the MDS never sees more than that many requests at once
+        for (int i = 0; i < concurrency; i++) {
+          workers.add(addEntries(toc.error, entries, next, cachedStatements, statements, true));
+        }
+
+        return Future.all(workers)
+          .map(all -> {
+            for (Future<Boolean> worker : workers) {
+              if (!worker.result()) {
+                return false;
+              }
+            }
+            return true;
+          });
+      }
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
   }
 
-  private Future<Void> addEntry(String error, JsonObject entry) {
+  private Future<Boolean> addEntries(String error, JsonArray entries, AtomicInteger next, JsonObject cachedStatements, JsonObject statements, boolean ok) {
+    int i;
+    // entries that need no download are processed in this loop, to avoid a deep chain of completed futures
+    while ((i = next.getAndIncrement()) < entries.size()) {
+      final Future<Void> fut = addEntry(error, entries.getJsonObject(i), cachedStatements, statements);
+      if (!fut.isComplete()) {
+        final boolean okSoFar = ok;
+        return fut.compose(
+          v -> addEntries(error, entries, next, cachedStatements, statements, okSoFar),
+          err -> addEntries(error, entries, next, cachedStatements, statements, false));
+      }
+      ok &= fut.succeeded();
+    }
+    return Future.succeededFuture(ok);
+  }
+
+  private Future<Void> addEntry(String error, JsonObject entry, JsonObject cachedStatements, JsonObject statements) {
     if (entry.containsKey("url")) {
       // MDSv2
-      return httpClient.
-        fetch(HttpMethod.GET, entry.getString("url"), null, null)
-        .compose(res -> {
-          Buffer body = res.body();
-
-          if (body == null) {
-            return Future.failedFuture("null JWT");
-          }
+      final String url = entry.getString("url");
+      final String cached = cachedStatements == null ? null : cachedStatements.getString(url);
+
+      final Future<String> rawStatement;
+      if (cached != null && matchesHash(entry, cached)) {
+        // unchanged since the snapshot
+        rawStatement = Future.succeededFuture(cached);
+      } else {
+        rawStatement = httpClient.
+          fetch(HttpMethod.GET, url, null, null)
+          .compose(res -> {
+            Buffer body = res.body();
+
+            if (body == null) {
+              return Future.failedFuture("null JWT");
+            }
+            return Future.succeededFuture(body.toString());
+          });
+      }
 
+      return rawStatement
+        .compose(raw -> {
           try {
-            metadata.loadMetadata(new MetaDataEntry(entry, body.getBytes(), error));
+            metadata.loadMetadata(new MetaDataEntry(entry, raw.getBytes(StandardCharsets.US_ASCII), error));
+            if (statements != null) {
+              statements.put(url, raw);
+            }
             return Future.succeededFuture();
           } catch (RuntimeException | NoSuchAlgorithmException e) {
             return Future.failedFuture(e);
@@ -163,6 +284,101 @@ public class MetaDataServiceImpl implements MetaDataService {
     }
   }
 
+  private static boolean matchesHash(JsonObject entry, String rawStatement) {
+    try {
+      return MessageDigest.isEqual(
+        MessageDigest.getInstance("SHA-256").digest(rawStatement.getBytes(StandardCharsets.US_ASCII)),
+        base64UrlDecode(entry.getString("hash")));
+    } catch (RuntimeException | NoSuchAlgorithmException e) {
+      return false;
+    }
+  }
+
+  private Future<Snapshot> readSnapshot(String path, String url) {
+    final FileSystem fs = vertx.fileSystem();
+
+    return fs.exists(path)
+      .compose(exists -> exists ? fs.readFile(path).map(JsonObject::new) : Future.<JsonObject>succeededFuture())
+      .map(json -> {
+        // a snapshot of another TOC is useless
+        if (json == null || !url.equals(json.getString("url"))) {
+          return null;
+        }
+        final String toc = json.getString("toc");
+        final JsonObject statements = json.getJsonObject("statements");
+        if (toc == null || statements == null) {
+          LOG.warn("Ignoring incomplete MDS snapshot: " + path);
+          return null;
+        }
+        // verified once, the result is reused for the whole fetch
+        final Toc decoded = decode(toc);
+        if (decoded.payload == null || decoded.payload.getJsonArray("entries") == null) {
+          LOG.warn("Ignoring incomplete MDS snapshot: " + path);
+          return null;
+        }
+        return new Snapshot(decoded, statements);
+      })
+      .otherwise(err -> {
+        LOG.warn("Ignoring unreadable MDS snapshot: " + path, err);
+        return null;
+      });
+  }
+
+  private Future<Void> writeSnapshot(JsonObject snapshot) {
+    final FileSystem fs = vertx.fileSystem();
+    final String path = options.getMdsSnapshotPath();
+    final String tmp = path + ".tmp";
+
+    // readers never see a partially written snapshot
+    return fs.writeFile(tmp, snapshot.toBuffer())
+      .compose(v -> fs.move(tmp, path, new CopyOptions().setReplaceExisting(true).setAtomicMove(true)))
+      .otherwise(err -> {
+        LOG.warn("Failed to write MDS snapshot: " + path, err);
+        return null;
+      });
+  }
+
+  private static final class Snapshot {
+    final Toc toc;
+    final JsonObject statements;
+
+    Snapshot(Toc toc, JsonObject statements) {
+      this.toc = toc;
+      this.statements = statements;
+    }
+  }
+
+  private static final class Toc {
+    final JsonObject payload;
+    final String error;
+
+    Toc(JsonObject payload, String error) {
+      this.payload = payload;
+      this.error = error;
+    }
+
+    /**
+     * @return {@code true} until the date the MDS announced for the next TOC.
+     */
+    boolean isCurrent() {
+      final String nextUpdate = payload == null ? null : payload.getString("nextUpdate");
+      if (nextUpdate == null) {
+        return false;
+      }
+      try {
+        return LocalDate.now(ZoneOffset.UTC).isBefore(LocalDate.parse(nextUpdate, DateTimeFormatter.ISO_DATE));
+      } catch (DateTimeParseException e) {
+        return false;
+      }
+    }
+
+    boolean sameAs(Toc other) {
+      return other.payload != null && payload != null &&
+        Objects.equals(payload.getValue("no"), other.payload.getValue("no")) &&
+        Objects.equals(payload.getValue("nextUpdate"), other.payload.getValue("nextUpdate"));
+    }
+  }
+
   @Override
   public MetaDataService addStatement(JsonObject statement) {
     metadata.loadMetadata(new MetaDataEntry(statement));
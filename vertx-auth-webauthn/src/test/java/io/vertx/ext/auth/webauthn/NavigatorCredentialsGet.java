@@ -97,4 +97,122 @@ public class NavigatorCredentialsGet {
         test.complete();
       });
   }
+
+  @Test
+  public void testCachedKeyIsNotUsedAfterKeyChange(TestContext should) {
+    final Async test = should.async();
+
+    WebAuthn webAuthN = WebAuthn.create(
+        rule.vertx(),
+        new WebAuthnOptions().setRelyingParty(new RelyingParty().setName("ACME Corporation")))
+      .authenticatorFetcher(database::fetch)
+      .authenticatorUpdater(database::store);
+
+    final Authenticator authenticator = new Authenticator()
+      .setUserName("paulo")
+      .setCredID("rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg")
+      .setPublicKey("pQECAyYgASFYILBNcdWmiMsmjA1QkNpG91GpEbhMIOqWLieDP6mLnGETIlggGMiqXz8BuSiPa0ovGVxxxbdUbJVm6THKNhUCifFhJCE")
+      .setCounter(4);
+
+    database.add(authenticator);
+
+    JsonObject body = new JsonObject()
+      .put("id", "rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg")
+      .put("rawId", "rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg")
+      .put("type", "public-key")
+      .put("response", new JsonObject()
+        .put("authenticatorData", "fxV8VVBPmz66RLzscHpg5yjRhO28Y_fPwYO5AVwzBEIBAAAACA")
+        .put("clientDataJSON", "eyJ0eXBlIjoid2ViYXV0aG4uZ2V0IiwiY2hhbGxlbmdlIjoiek5hSVduQ213VkY3QTVhWkRGMDRfanRoUG1aVGR6aUk3c1hEa1lFSnhMREgxZDFFeWNjNmtFX1JmMUxaaVNEMEZHQ3JqenJZcTlObVlyQm1jREZGX2ciLCJvcmlnaW4iOiJodHRwczovLzE5Mi4xNjguMTc4LjIwNi54aXAuaW86ODQ0MyIsImNyb3NzT3JpZ2luIjpmYWxzZX0")
+        .put("signature", "MEUCIFXjL0ONRuLP1hkdlRJ8d0ofuRAS12c6w8WgByr-0yQZAiEAw-C6UZ8U8pi8irAcD6jXXaZMtezbzVwZXLGqY3sbFyA")
+        .put("userHandle", ""));
+
+    final WebAuthnCredentials credentials = new WebAuthnCredentials()
+      .setWebauthn(body)
+      .setUsername("paulo")
+      .setOrigin("https://192.168.178.206.xip.io:8443")
+      .setChallenge("zNaIWnCmwVF7A5aZDF04_jthPmZTdziI7sXDkYEJxLDH1d1Eycc6kE_Rf1LZiSD0FGCrjzrYq9NmYrBmcDFF_g");
+
+    webAuthN.authenticate(credentials)
+      .compose(user -> {
+        // the stored key is replaced, the key verified on the previous login must not be used
+        authenticator
+          .setPublicKey("pQECAyYgASFYIBl0C67nFN_OwbODu_iE0hI5nM0ppUkqjhU9NhQvBaiLIlggffUTx8E6OM85huU3DcadeuaBBh8kGI8vdm3zesf3YRc")
+          .setCounter(4);
+        return webAuthN.authenticate(credentials);
+      })
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("Failed to verify the signature!", err.getMessage());
+        test.complete();
+      }));
+  }
+
+  @Test
+  public void testChallengeStore(TestContext should) {
+    final Async test = should.async();
+    final ChallengeStore store = ChallengeStore.create();
+
+    WebAuthn webAuthN = WebAuthn.create(
+        rule.vertx(),
+        new WebAuthnOptions().setRelyingParty(new RelyingParty().setName("ACME Corporation")))
+      .authenticatorFetcher(database::fetch)
+      .authenticatorUpdater(database::store)
+      .challengeStore(store);
+
+    database.add(
+      new Authenticator()
+        .setUserName("paulo")
+        .setCredID("rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg")
+        .setPublicKey("pQECAyYgASFYILBNcdWmiMsmjA1QkNpG91GpEbhMIOqWLieDP6mLnGETIlggGMiqXz8BuSiPa0ovGVxxxbdUbJVm6THKNhUCifFhJCE")
+        .setCounter(4)
+    );
+
+    JsonObject body = new JsonObject()
+      .put("id", "rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg")
+      .put("rawId", "rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg")
+      .put("type", "public-key")
+      .put("response", new JsonObject()
+        .put("authenticatorData", "fxV8VVBPmz66RLzscHpg5yjRhO28Y_fPwYO5AVwzBEIBAAAACA")
+        .put("clientDataJSON", "eyJ0eXBlIjoid2ViYXV0aG4uZ2V0IiwiY2hhbGxlbmdlIjoiek5hSVduQ213VkY3QTVhWkRGMDRfanRoUG1aVGR6aUk3c1hEa1lFSnhMREgxZDFFeWNjNmtFX1JmMUxaaVNEMEZHQ3JqenJZcTlObVlyQm1jREZGX2ciLCJvcmlnaW4iOiJodHRwczovLzE5Mi4xNjguMTc4LjIwNi54aXAuaW86ODQ0MyIsImNyb3NzT3JpZ2luIjpmYWxzZX0")
+        .put("signature", "MEUCIFXjL0ONRuLP1hkdlRJ8d0ofuRAS12c6w8WgByr-0yQZAiEAw-C6UZ8U8pi8irAcD6jXXaZMtezbzVwZXLGqY3sbFyA")
+        .put("userHandle", ""));
+
+    final WebAuthnCredentials credentials = new WebAuthnCredentials()
+      .setWebauthn(body)
+      .setUsername("paulo")
+      .setOrigin("https://192.168.178.206.xip.io:8443");
+
+    final String challenge = "zNaIWnCmwVF7A5aZDF04_jthPmZTdziI7sXDkYEJxLDH1d1Eycc6kE_Rf1LZiSD0FGCrjzrYq9NmYrBmcDFF_g";
+
+    // the challenge of this (recorded) response was not issued yet
+    webAuthN.authenticate(credentials)
+      .onSuccess(user -> should.fail("Challenge was not issued"))
+      .recover(err -> {
+        should.assertEquals("Unknown or expired challenge", err.getMessage());
+        // issued for a registration
+        return store.put(challenge, new JsonObject().put("type", "webauthn.create").put("username", "paulo"), 60_000);
+      })
+      .compose(v -> webAuthN.authenticate(credentials))
+      .onSuccess(user -> should.fail("Challenge was issued for another ceremony"))
+      .recover(err -> {
+        should.assertEquals("Challenge was issued for another ceremony", err.getMessage());
+        // issued for another user
+        return store.put(challenge, new JsonObject().put("type", "webauthn.get").put("username", "pmlopes"), 60_000);
+      })
+      .compose(v -> webAuthN.authenticate(credentials))
+      .onSuccess(user -> should.fail("Challenge was issued for another user"))
+      .recover(err -> {
+        should.assertEquals("Challenge was issued for another user", err.getMessage());
+        return store.put(challenge, new JsonObject().put("type", "webauthn.get").put("username", "paulo"), 60_000);
+      })
+      .compose(v -> webAuthN.authenticate(credentials))
+      .compose(user -> {
+        assertNotNull(user);
+        // a challenge can only be used once
+        return webAuthN.authenticate(credentials);
+      })
+      .onComplete(should.asyncAssertFailure(err -> {
+        should.assertEquals("Unknown or expired challenge", err.getMessage());
+        test.complete();
+      }));
+  }
 }
@@ -0,0 +1,47 @@
+package io.vertx.ext.auth.webauthn.impl;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InMemoryChallengeStoreTest {
+
+  private static final JsonObject GET = new JsonObject()
+    .put("type", "webauthn.get")
+    .put("username", "paulo");
+
+  @Test
+  public void testSingleUse() {
+    InMemoryChallengeStore store = new InMemoryChallengeStore();
+
+    store.put("abc", GET, 60_000);
+    assertEquals(GET, store.consume("abc").result());
+    assertNull(store.consume("abc").result());
+    // never issued
+    assertNull(store.consume("def").result());
+  }
+
+  @Test
+  public void testExpired() throws InterruptedException {
+    InMemoryChallengeStore store = new InMemoryChallengeStore();
+
+    store.put("abc", GET, 10);
+    Thread.sleep(20);
+    assertNull(store.consume("abc").result());
+  }
+
+  @Test
+  public void testEvicted() throws InterruptedException {
+    InMemoryChallengeStore store = new InMemoryChallengeStore();
+
+    store.put("abc", GET, 10);
+    store.put("def", GET, 60_000);
+    assertEquals(2, store.size());
+    // past the next tick of the wheel, any access drains the expired challenges
+    Thread.sleep(2100);
+    store.put("ghi", GET, 60_000);
+    assertEquals(2, store.size());
+    assertEquals(GET, store.consume("def").result());
+  }
+}
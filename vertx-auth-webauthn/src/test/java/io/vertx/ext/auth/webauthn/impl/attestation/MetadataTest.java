@@ -1,7 +1,10 @@
 package io.vertx.ext.auth.webauthn.impl.attestation;
 
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.impl.jose.JWS;
+import io.vertx.ext.auth.webauthn.PublicKeyCredential;
 import io.vertx.ext.auth.webauthn.WebAuthnOptions;
 import io.vertx.ext.auth.webauthn.impl.metadata.MetaData;
 import io.vertx.ext.auth.webauthn.impl.metadata.MetaDataEntry;
@@ -11,9 +14,45 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
 @RunWith(VertxUnitRunner.class)
 public class MetadataTest {
 
+  // an attestation certificate issued by ATTESTATION_ROOT, a root with the same subject but another key, and an
+  // unrelated root
+  private static final String ATTESTATION_ROOT =
+    "MIIBZzCCAQygAwIBAgIBATAKBggqhkjOPQQDAjAxMR4wHAYDVQQDDBVUZXN0IEF0dGVzdGF0aW9uIFJvb3QxDzANBgNVBAoMBlZl" +
+    "cnQueDAgFw0yMDAxMDEwMDAwMDBaGA8yMDk5MDEwMTAwMDAwMFowMTEeMBwGA1UEAwwVVGVzdCBBdHRlc3RhdGlvbiBSb290MQ8w" +
+    "DQYDVQQKDAZWZXJ0LngwWTATBgcqhkjOPQIBBggqhkjOPQMBBwNCAATPAV4Or7IngwluMeJypyehxb6VnOD00TERph8tCl/2l3Dt" +
+    "DQgi6vMt4FUzId2Zr2YdK0lpt7WjVv3qmMPYbyyfoxMwETAPBgNVHRMBAf8EBTADAQH/MAoGCCqGSM49BAMCA0kAMEYCIQClHfUy" +
+    "wzzjq/RNik9G6TltbbPGeEWReiGzUgAzf+RytQIhAOtBe1rUmOpNk2LMIETrOsFOEJ/4qqVdi89rp5wNyOyx";
+
+  private static final String ATTESTATION_ROOT_OTHER_KEY =
+    "MIIBZTCCAQygAwIBAgIBAjAKBggqhkjOPQQDAjAxMR4wHAYDVQQDDBVUZXN0IEF0dGVzdGF0aW9uIFJvb3QxDzANBgNVBAoMBlZl" +
+    "cnQueDAgFw0yMDAxMDEwMDAwMDBaGA8yMDk5MDEwMTAwMDAwMFowMTEeMBwGA1UEAwwVVGVzdCBBdHRlc3RhdGlvbiBSb290MQ8w" +
+    "DQYDVQQKDAZWZXJ0LngwWTATBgcqhkjOPQIBBggqhkjOPQMBBwNCAASogrzjTdXaRZm6JpC/K/3jHvp1dYvrR15X16P78yntTR5F" +
+    "k3d8Vf7GUrr21SOs1AY1a8scUmdc8dmsBXUPBX2poxMwETAPBgNVHRMBAf8EBTADAQH/MAoGCCqGSM49BAMCA0cAMEQCIFGM0HPb" +
+    "fFJY45l+8MnxMISOe+sNGf89hlYYxJku6RmDAiA+JdiTooSS+w9UL1+msy4a2xXCtlRIOT8rUD966vI40w==";
+
+  private static final String OTHER_ROOT =
+    "MIIBWTCCAQCgAwIBAgIBAzAKBggqhkjOPQQDAjArMRgwFgYDVQQDDA9UZXN0IE90aGVyIFJvb3QxDzANBgNVBAoMBlZlcnQueDAg" +
+    "Fw0yMDAxMDEwMDAwMDBaGA8yMDk5MDEwMTAwMDAwMFowKzEYMBYGA1UEAwwPVGVzdCBPdGhlciBSb290MQ8wDQYDVQQKDAZWZXJ0" +
+    "LngwWTATBgcqhkjOPQIBBggqhkjOPQMBBwNCAAQW7DaAq7o8zhtDdcozGhQnpb4IR1+3ToXDcwYmpvetPS6ZGShx1Rhj0+f+xUaq" +
+    "SDH9MMdejxIhPjRLY8zCneG7oxMwETAPBgNVHRMBAf8EBTADAQH/MAoGCCqGSM49BAMCA0cAMEQCID6IrZT8x3/E4n6EwA4DH/HY" +
+    "grJy3038fZs40wxizp5LAiAAp5KUDcIimm7/4pha8Jm+8GBX+evtVv/U2TqUb2NmHQ==";
+
+  private static final String ATTESTATION =
+    "MIIBXTCCAQSgAwIBAgIBBDAKBggqhkjOPQQDAjAxMR4wHAYDVQQDDBVUZXN0IEF0dGVzdGF0aW9uIFJvb3QxDzANBgNVBAoMBlZl" +
+    "cnQueDAgFw0yMDAxMDEwMDAwMDBaGA8yMDk5MDEwMTAwMDAwMFowLDEZMBcGA1UEAwwQVGVzdCBBdHRlc3RhdGlvbjEPMA0GA1UE" +
+    "CgwGVmVydC54MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEzxv2iSZPfeZMXq9du8xius7u6DupEZO7ih8RZhGA5gZQmmqmEE7S" +
+    "j8ekOsln2NJjaEk1Vb7YTqtzGi8rrWKGx6MQMA4wDAYDVR0TAQH/BAIwADAKBggqhkjOPQQDAgNHADBEAiBUan/8NnfhYK6STjdk" +
+    "iIVGUYGgEzI3Z+GtjJmpHhUaXgIgTblnm5gRBEmQvDpI0ufC9Ry0BazBXpHsvuZCDxX/zHc=";
+
   @Rule
   public final RunTestOnContext rule = new RunTestOnContext();
 
@@ -28,4 +67,45 @@ public class MetadataTest {
       metadata.loadMetadata(new MetaDataEntry(new JsonObject(fs.readFileBlocking(f))));
     }
   }
+
+  private MetaData metadata(String... roots) {
+    MetaData metadata = new MetaData(rule.vertx(), new WebAuthnOptions());
+
+    JsonArray attestationRootCertificates = new JsonArray();
+    for (String root : roots) {
+      attestationRootCertificates.add(root);
+    }
+
+    metadata.loadMetadata(new MetaDataEntry(new JsonObject()
+      .put("schema", 3)
+      .put("aaguid", "00000000-0000-0000-0000-000000000001")
+      .put("protocolFamily", "fido2")
+      .put("description", "Test Authenticator")
+      .put("authenticationAlgorithms", new JsonArray().add("secp256r1_ecdsa_sha256_raw"))
+      .put("attestationRootCertificates", attestationRootCertificates)));
+
+    return metadata;
+  }
+
+  @Test
+  public void testAttestationRootNotFirst() throws Exception {
+    List<X509Certificate> x5c = Collections.singletonList(JWS.parseX5c(ATTESTATION));
+    // the matching root comes after an unrelated one and one with the same subject but another key
+    MetaData metadata = metadata(OTHER_ROOT, ATTESTATION_ROOT_OTHER_KEY, ATTESTATION_ROOT);
+
+    assertNotNull(metadata.verifyMetadata("00000000-0000-0000-0000-000000000001", PublicKeyCredential.ES256, x5c));
+  }
+
+  @Test
+  public void testNoMatchingAttestationRoot() throws Exception {
+    List<X509Certificate> x5c = Collections.singletonList(JWS.parseX5c(ATTESTATION));
+    MetaData metadata = metadata(OTHER_ROOT, ATTESTATION_ROOT_OTHER_KEY);
+
+    try {
+      metadata.verifyMetadata("00000000-0000-0000-0000-000000000001", PublicKeyCredential.ES256, x5c);
+      fail("Should have failed");
+    } catch (AttestationException e) {
+      assertEquals("Certificate Chain not valid for metadata", e.getMessage());
+    }
+  }
 }